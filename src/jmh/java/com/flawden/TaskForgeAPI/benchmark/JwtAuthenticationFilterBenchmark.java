@@ -0,0 +1,77 @@
+package com.flawden.TaskForgeAPI.benchmark;
+
+import com.flawden.TaskForgeAPI.config.filter.JwtAuthenticationFilter;
+import com.flawden.TaskForgeAPI.config.security.JwtService;
+import com.flawden.TaskForgeAPI.config.security.PersonDetails;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время аутентификации запроса с JWT-токеном в {@link JwtAuthenticationFilter}.
+ *
+ * <p>{@link UserDetailsService} заменен заглушкой, поэтому измеряется только работа фильтра и {@link JwtService}
+ * без обращения к базе данных. Параметр {@code principalFromToken} переключает восстановление пользователя
+ * из claims токена, {@code cacheSize} — размер кэша проверенных токенов.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"false", "true"})
+    private boolean principalFromToken;
+
+    @Param({"0", "10000"})
+    private int cacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = JwtServiceBenchmark.jwtService(cacheSize);
+        UserDetails userDetails = new PersonDetails("user@example.com", "password", Role.USER);
+        UserDetailsService userDetailsService = username -> userDetails;
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalFromToken", principalFromToken);
+        request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(userDetails));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication doFilterInternal() throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        filter.doFilterInternal(request, response, NOOP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,75 @@
+package com.flawden.TaskForgeAPI.benchmark;
+
+import com.flawden.TaskForgeAPI.config.security.JwtClaimsCache;
+import com.flawden.TaskForgeAPI.config.security.JwtService;
+import com.flawden.TaskForgeAPI.config.security.PersonDetails;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время генерации, разбора и проверки JWT-токенов в {@link JwtService}.
+ *
+ * <p>Параметр {@code cacheSize} задает размер {@link JwtClaimsCache}: при {@code 0} каждая операция разбирает
+ * токен и проверяет подпись, при {@code 10000} повторные операции с тем же токеном обслуживаются из кэша.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "YmVuY2htYXJrLXNlY3JldC1rZXktZm9yLXRhc2tmb3JnZS0zMi1ieXRlcw==";
+
+    @Param({"0", "10000"})
+    private int cacheSize;
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = jwtService(cacheSize);
+        userDetails = new PersonDetails("user@example.com", null, Role.USER);
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(token, userDetails);
+    }
+
+    static JwtService jwtService(int cacheSize) {
+        JwtService jwtService = new JwtService(new JwtClaimsCache(cacheSize, Duration.ofMinutes(5)));
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        jwtService.init();
+        return jwtService;
+    }
+}
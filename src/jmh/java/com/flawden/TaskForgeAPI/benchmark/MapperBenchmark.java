@@ -0,0 +1,101 @@
+package com.flawden.TaskForgeAPI.benchmark;
+
+import com.flawden.TaskForgeAPI.dto.Comment;
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import com.flawden.TaskForgeAPI.dto.user.User;
+import com.flawden.TaskForgeAPI.mapper.CommentMapper;
+import com.flawden.TaskForgeAPI.mapper.TaskMapper;
+import com.flawden.TaskForgeAPI.mapper.UserMapper;
+import com.flawden.TaskForgeAPI.model.CommentEntity;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.model.UserEntity;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время преобразования сущностей в DTO мапперами MapStruct.
+ *
+ * <p>{@link TaskMapper#mapTaskEntityToTask(TaskEntity)} измеряется на задаче с {@code size} исполнителями
+ * и {@code size} комментариями: стоимость растет с размером вложенных коллекций, и именно она определяет
+ * время ответа на получение задачи.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+    private final TaskMapper taskMapper = Mappers.getMapper(TaskMapper.class);
+
+    private final UserEntity user = user(1);
+    private final CommentEntity comment = new CommentEntity(1L, "Комментарий", user, new TaskEntity());
+
+    @Setup
+    public void setUp() {
+        ReflectionTestUtils.setField(taskMapper, "commentMapper", commentMapper);
+    }
+
+    @Benchmark
+    public Task mapTaskEntityToTask(TaskState state) {
+        return taskMapper.mapTaskEntityToTask(state.task);
+    }
+
+    @Benchmark
+    public User mapUserEntityToUser() {
+        return userMapper.mapUserEntityToUser(user);
+    }
+
+    @Benchmark
+    public Comment mapCommentEntityToComment() {
+        return commentMapper.mapCommentEntityToComment(comment);
+    }
+
+    private static UserEntity user(long id) {
+        return new UserEntity(id, "user" + id + "@example.com", "password", "John", "Doe", Role.USER, new ArrayList<>());
+    }
+
+    /**
+     * Задача с {@code size} исполнителями и {@code size} комментариями.
+     */
+    @State(Scope.Benchmark)
+    public static class TaskState {
+
+        @Param({"0", "10", "100"})
+        private int size;
+
+        private TaskEntity task;
+
+        @Setup
+        public void setUp() {
+            List<UserEntity> executors = new ArrayList<>();
+            List<CommentEntity> comments = new ArrayList<>();
+            task = new TaskEntity(1L, "Задача", "Описание задачи", Status.IN_PROGRESS, Priority.HIGH, executors, comments);
+            for (int i = 0; i < size; i++) {
+                executors.add(user(i));
+                comments.add(new CommentEntity((long) i, "Комментарий " + i, executors.get(0), task));
+            }
+        }
+    }
+}
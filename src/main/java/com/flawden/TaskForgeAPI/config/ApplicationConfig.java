@@ -7,6 +7,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -34,6 +35,7 @@ public class ApplicationConfig {
 
     private final PasswordEncoder passwordEncoder;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
 
     /**
      * Создает и настраивает {@link AuthenticationManager} для обработки аутентификации.
@@ -56,7 +58,9 @@ public class ApplicationConfig {
      * и {@link PasswordEncoder}.
      *
      * <p>Этот метод создает и настраивает {@link DaoAuthenticationProvider}, который будет использоваться для аутентификации
-     * пользователей с их данными из базы данных через {@link UserDetailsService} и проверку пароля с использованием {@link PasswordEncoder}.</p>
+     * пользователей с их данными из базы данных через {@link UserDetailsService} и проверку пароля с использованием {@link PasswordEncoder}.
+     * Если хеш пароля устарел, после успешной аутентификации он пересчитывается и сохраняется через
+     * {@link UserDetailsPasswordService}.</p>
      *
      * @return объект {@link AuthenticationProvider}, настроенный для использования в аутентификации.
      */
@@ -65,6 +69,7 @@ public class ApplicationConfig {
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
         daoAuthenticationProvider.setUserDetailsService(userDetailsService);
         daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+        daoAuthenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return daoAuthenticationProvider;
     }
 
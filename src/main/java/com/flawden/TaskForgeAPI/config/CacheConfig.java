@@ -0,0 +1,57 @@
+package com.flawden.TaskForgeAPI.config;
+
+import com.flawden.TaskForgeAPI.service.cache.EntityCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Конфигурация кэша задач, пользователей и комментариев.
+ *
+ * <p>Сервисы работают с кэшем только через абстракцию {@link CacheManager}, поэтому хранилище выбирается
+ * свойством {@code spring.cache.type}. По умолчанию используется Caffeine: размер ограничен, а при переполнении
+ * вытесняются записи с наименьшей частотой обращений (W-TinyLFU). Каждая запись живет не дольше заданного TTL
+ * после записи.</p>
+ *
+ * <p>Кэши создаются при старте, поэтому Actuator публикует их статистику (попадания, промахи, вытеснения)
+ * как метрики {@code cache.*} с тегом {@code cache} по имени кэша.</p>
+ *
+ * <p>Конфигурация:
+ * <ul>
+ *     <li>{@code cache.entities.max-size} — максимальное количество записей в каждом кэше (по умолчанию 10000).</li>
+ *     <li>{@code cache.entities.ttl} — время жизни записи (по умолчанию 5 минут).</li>
+ * </ul>
+ * </p>
+ *
+ * @see EntityCache
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Настраивает кэши Caffeine, если выбрано это хранилище.
+     *
+     * @param maxSize максимальное количество записей в каждом кэше.
+     * @param ttl     время жизни записи.
+     * @return настройка {@link CaffeineCacheManager}.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> entityCacheCustomizer(@Value("${cache.entities.max-size:10000}") long maxSize,
+                                                                              @Value("${cache.entities.ttl:PT5M}") Duration ttl) {
+        return cacheManager -> {
+            cacheManager.setCaffeine(Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats());
+            cacheManager.setCacheNames(EntityCache.CACHE_NAMES);
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.flawden.TaskForgeAPI.config;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация метрик приложения.
+ *
+ * <p>Метрики публикуются через Actuator в формате Prometheus ({@code /actuator/prometheus}). Кроме собственных
+ * метрик {@code taskforge.*} экспортируются метрики HTTP-запросов ({@code http.server.requests}), пула соединений
+ * Hikari ({@code hikaricp.*}), статистики Hibernate ({@code hibernate.*}, при
+ * {@code spring.jpa.properties.hibernate.generate_statistics=true}) и кэшей ({@code cache.*}).</p>
+ *
+ * <p>Включает обработку {@link Timed}: сервисы, отмеченные {@code @Timed(SERVICE_TIMER)}, публикуют время
+ * выполнения каждого публичного метода как таймер {@value #SERVICE_TIMER} с тегами {@code class},
+ * {@code method} и {@code exception} и гистограммой для расчета процентилей.</p>
+ *
+ * <p>Конфигурация:
+ * <ul>
+ *     <li>{@code management.server.port} — отдельный порт для Actuator.</li>
+ *     <li>{@code management.endpoints.web.exposure.include} — доступные конечные точки Actuator.</li>
+ * </ul>
+ * </p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Имя таймера методов сервисов.
+     */
+    public static final String SERVICE_TIMER = "taskforge.service";
+
+    /**
+     * Регистрирует аспект, измеряющий время выполнения методов, отмеченных {@link Timed}.
+     *
+     * @param registry реестр метрик.
+     * @return аспект {@link TimedAspect}.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,15 @@
+package com.flawden.TaskForgeAPI.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Конфигурация фоновых задач по расписанию.
+ *
+ * <p>Включает обработку {@link org.springframework.scheduling.annotation.Scheduled}, например для периодической
+ * сверки счетчиков задач.</p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,12 +1,16 @@
 package com.flawden.TaskForgeAPI.config.filter;
 
 import com.flawden.TaskForgeAPI.config.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +20,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JwtAuthenticationFilter — это кастомная реализация {@link OncePerRequestFilter}, которая перехватывает входящие HTTP-запросы
@@ -28,12 +35,22 @@ import java.io.IOException;
  * <ul>
  *     <li>Проверка наличия заголовка "Authorization" с токеном "Bearer".</li>
  *     <li>Извлечение и проверка JWT-токена с использованием {@link JwtService}.</li>
- *     <li>Загрузка данных пользователя через {@link UserDetailsService} на основе имени пользователя, извлеченного из токена.</li>
+ *     <li>Загрузка данных пользователя через {@link UserDetailsService} на основе имени пользователя, извлеченного из токена,
+ *     либо, если включен параметр {@code security.principal.from-token}, восстановление их из claims токена
+ *     без обращения к базе данных.</li>
  *     <li>Создание {@link UsernamePasswordAuthenticationToken} и установка его в контекст безопасности.</li>
  * </ul>
  *
  * <p>Если токен недействителен или отсутствует, фильтр продолжает выполнение без установки аутентификации.
  *
+ * <p>В режиме {@code security.principal.from-token=true} изменения роли или удаление пользователя вступают в силу
+ * только после истечения срока действия уже выданных токенов. Токены без claim роли обрабатываются как обычно.
+ *
+ * <p>Время аутентификации запроса с заголовком "Authorization" (без выполнения остальной цепочки фильтров)
+ * публикуется как таймер {@code taskforge.jwt.filter} с тегом {@code outcome}: {@code authenticated},
+ * {@code rejected} (токен не прошел проверку), {@code skipped} (пользователь уже аутентифицирован)
+ * или {@code error} (токен не удалось разобрать).
+ *
  * <p>Этот фильтр должен быть зарегистрирован в цепочке фильтров безопасности.
  *
  * <p>Зависимости:
@@ -48,11 +65,16 @@ import java.io.IOException;
  */
 @Component
 @RequiredArgsConstructor
-public class JwtAuthenticationFilter extends OncePerRequestFilter {
+public class JwtAuthenticationFilter extends OncePerRequestFilter implements MeterBinder {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
 
+    @Value("${security.principal.from-token:false}")
+    private boolean principalFromToken;
+
+    private volatile Map<Outcome, Timer> timers = Map.of();
+
     @Override
     public void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -60,26 +82,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String token;
-        final String email;
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
-        token = authHeader.substring(7);
-        email = jwtService.extractUsername(token);
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
-            if (jwtService.validateToken(token, userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            outcome = authenticate(request, authHeader.substring(7));
+        } finally {
+            Timer timer = timers.get(outcome);
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private Outcome authenticate(HttpServletRequest request, String token) {
+        String email = jwtService.extractUsername(token);
+        if (email == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return Outcome.SKIPPED;
+        }
+        UserDetails userDetails = principalFromToken ? jwtService.extractPrincipal(token) : null;
+        if (userDetails == null) {
+            userDetails = this.userDetailsService.loadUserByUsername(email);
+        }
+        if (!jwtService.validateToken(token, userDetails)) {
+            return Outcome.REJECTED;
+        }
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        return Outcome.AUTHENTICATED;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Map<Outcome, Timer> bound = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            bound.put(outcome, Timer.builder("taskforge.jwt.filter")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .description("Время аутентификации запроса по JWT-токену")
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        timers = bound;
+    }
+
+    private enum Outcome {
+        AUTHENTICATED, REJECTED, SKIPPED, ERROR
+    }
 }
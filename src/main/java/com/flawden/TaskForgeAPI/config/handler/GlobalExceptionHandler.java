@@ -1,13 +1,17 @@
 package com.flawden.TaskForgeAPI.config.handler;
 
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -33,4 +37,47 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
+
+    /**
+     * Обрабатывает нехватку соединений с базой данных.
+     * <p>
+     * В режиме виртуальных потоков число одновременно обрабатываемых запросов ограничено не пулом потоков Tomcat,
+     * а пулом соединений Hikari. Запрос, не получивший соединение за {@code spring.datasource.hikari.connection-timeout},
+     * завершается ответом 503, чтобы клиент повторил его позже, а не ждал в растущей очереди.
+     * </p>
+     *
+     * @param ex Исключение, возникшее при открытии транзакции.
+     * @return Ответ со статусом 503.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<String> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        return serviceUnavailable();
+    }
+
+    /**
+     * Обрабатывает нехватку соединений с базой данных при чтении вне транзакции.
+     * <p>
+     * Методы чтения без транзакции (например, проверка версии задачи для {@code If-None-Match}) получают соединение
+     * в репозитории, и таймаут Hikari приходит как {@link DataAccessResourceFailureException} с причиной
+     * {@link SQLTransientConnectionException}. Такой отказ завершается ответом 503, как и при открытии транзакции;
+     * остальные ошибки доступа к ресурсам базы данных не обрабатываются.
+     * </p>
+     *
+     * @param ex Исключение, возникшее при получении соединения.
+     * @return Ответ со статусом 503.
+     * @throws DataAccessResourceFailureException если причина не в нехватке соединений.
+     */
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    public ResponseEntity<String> handleDataAccessResourceFailureException(DataAccessResourceFailureException ex) {
+        if (!ex.contains(SQLTransientConnectionException.class)) {
+            throw ex;
+        }
+        return serviceUnavailable();
+    }
+
+    private static ResponseEntity<String> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Сервис перегружен, повторите запрос позже");
+    }
 }
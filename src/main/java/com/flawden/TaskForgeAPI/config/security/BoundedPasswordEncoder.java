@@ -0,0 +1,189 @@
+package com.flawden.TaskForgeAPI.config.security;
+
+import com.flawden.TaskForgeAPI.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BoundedPasswordEncoder — обертка над {@link PasswordEncoder}, выполняющая хеширование и проверку паролей
+ * в отдельном пуле потоков ограниченного размера.
+ *
+ * <p>Хеширование BCrypt с высокой сложностью занимает секунды процессорного времени. Выполнение его в потоках
+ * Tomcat приводит к тому, что всплеск запросов на вход занимает весь пул обработчиков и замедляет остальные
+ * эндпоинты. Эта обертка ограничивает число одновременных операций размером пула, а число ожидающих — размером
+ * очереди. Если очередь заполнена или операция не дождалась свободного потока за отведенное время, вызывающий
+ * поток получает {@link PasswordHashingOverloadedException}, которое контроллер превращает в ответ 503. Начатая
+ * операция не прерывается: ее результат ожидается до завершения.</p>
+ *
+ * <p>Метрики:
+ * <ul>
+ *     <li>{@code taskforge.password.hashing.queue} — количество операций в очереди.</li>
+ *     <li>{@code taskforge.password.hashing.active} — количество выполняющихся операций.</li>
+ *     <li>{@code taskforge.password.hashing.rejections} — количество отклоненных операций.</li>
+ *     <li>{@code taskforge.password.hashing.wait} — время ожидания операции в очереди.</li>
+ *     <li>{@code taskforge.password.hashing.time} — время выполнения операции (тег {@code operation}).</li>
+ * </ul>
+ *
+ * @see PasswordEncoderConfig
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder, AutoCloseable {
+
+    private static final String OVERLOADED_MESSAGE = "Сервис аутентификации перегружен, повторите запрос позже";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder rejections = new LongAdder();
+    private volatile MeterRegistry registry;
+
+    /**
+     * @param delegate      кодировщик, выполняющий фактическое хеширование.
+     * @param threads       количество потоков пула.
+     * @param queueCapacity максимальное количество операций, ожидающих выполнения.
+     * @param timeout       максимальное время ожидания операции в очереди.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeout.toMillis();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(String operation, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                record("taskforge.password.hashing.wait", null, startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    record("taskforge.password.hashing.time", operation, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingOverloadedException(OVERLOADED_MESSAGE);
+        }
+        try {
+            return await(future, timeoutMillis);
+        } catch (TimeoutException e) {
+            if (executor.remove((Runnable) future)) {
+                rejections.increment();
+                throw new PasswordHashingOverloadedException(OVERLOADED_MESSAGE);
+            }
+        }
+        try {
+            return await(future, Long.MAX_VALUE);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Ожидает результат операции.
+     *
+     * @param future        операция.
+     * @param timeoutMillis максимальное время ожидания.
+     * @return результат операции.
+     * @throws TimeoutException если операция не завершилась за отведенное время.
+     */
+    private static <T> T await(Future<T> future, long timeoutMillis) throws TimeoutException {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingOverloadedException(OVERLOADED_MESSAGE);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void record(String name, String operation, long nanos) {
+        MeterRegistry registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+        Timer.Builder builder = Timer.builder(name);
+        if (operation != null) {
+            builder.tag("operation", operation);
+        }
+        builder.register(registry).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taskforge.password.hashing.queue", executor, e -> e.getQueue().size())
+                .description("Количество операций с паролями, ожидающих выполнения")
+                .register(registry);
+        Gauge.builder("taskforge.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Количество выполняющихся операций с паролями")
+                .register(registry);
+        FunctionCounter.builder("taskforge.password.hashing.rejections", rejections, LongAdder::doubleValue)
+                .description("Количество операций с паролями, отклоненных из-за перегрузки")
+                .register(registry);
+        this.registry = registry;
+    }
+
+    /**
+     * Останавливает пул потоков при закрытии контекста приложения.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
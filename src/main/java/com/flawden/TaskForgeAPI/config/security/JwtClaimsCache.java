@@ -0,0 +1,177 @@
+package com.flawden.TaskForgeAPI.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JwtClaimsCache — ограниченный по размеру кэш уже проверенных JWT-токенов.
+ *
+ * <p>Ключом служит SHA-256 хэш токена (сам токен в памяти не хранится), значением — {@link Claims},
+ * полученные после проверки подписи. Благодаря кэшу каждый запрос выполняет не более одной проверки подписи,
+ * а повторные запросы с тем же токеном обходятся без разбора и HMAC.</p>
+ *
+ * <p>Особенности:
+ * <ul>
+ *     <li>Размер кэша ограничен, при переполнении вытесняется давно не использовавшаяся запись (LRU).</li>
+ *     <li>Запись живет не дольше заданного TTL и никогда не переживает срок действия самого токена.</li>
+ *     <li>Попадания, промахи и вытеснения публикуются как метрики через {@link MeterBinder}.</li>
+ * </ul>
+ *
+ * <p>Конфигурация:
+ * <ul>
+ *     <li>{@code security.jwt.cache.max-size} — максимальное количество записей (по умолчанию 10000).</li>
+ *     <li>{@code security.jwt.cache.ttl} — максимальное время жизни записи (по умолчанию 5 минут).</li>
+ * </ul>
+ *
+ * @see JwtService
+ */
+@Component
+public class JwtClaimsCache implements MeterBinder {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<String, CachedClaims> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public JwtClaimsCache(@Value("${security.jwt.cache.max-size:10000}") int maxSize,
+                          @Value("${security.jwt.cache.ttl:PT5M}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedClaims> eldest) {
+                if (size() > JwtClaimsCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Возвращает проверенные данные токена из кэша.
+     *
+     * @param token JWT-токен.
+     * @return {@link Claims} токена или {@code null}, если токена нет в кэше или запись устарела.
+     */
+    public Claims get(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            CachedClaims cached = entries.get(key);
+            if (cached == null) {
+                misses.increment();
+                return null;
+            }
+            if (cached.expiresAt() <= now) {
+                entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return cached.claims();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Сохраняет проверенные данные токена в кэш.
+     *
+     * @param token  JWT-токен, подпись которого уже проверена.
+     * @param claims данные (claims) токена.
+     */
+    public void put(String token, Claims claims) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        String key = hash(token);
+        lock.lock();
+        try {
+            entries.put(key, new CachedClaims(claims, expiresAt));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Очищает кэш, например, при смене секретного ключа.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Возвращает текущее количество записей в кэше.
+     *
+     * @return количество записей.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("taskforge.jwt.cache.gets", hits, LongAdder::doubleValue)
+                .tag("result", "hit")
+                .description("Количество обращений к кэшу проверенных JWT, завершившихся попаданием")
+                .register(registry);
+        FunctionCounter.builder("taskforge.jwt.cache.gets", misses, LongAdder::doubleValue)
+                .tag("result", "miss")
+                .description("Количество обращений к кэшу проверенных JWT, завершившихся промахом")
+                .register(registry);
+        FunctionCounter.builder("taskforge.jwt.cache.evictions", evictions, LongAdder::doubleValue)
+                .description("Количество записей, вытесненных из кэша проверенных JWT")
+                .register(registry);
+        Gauge.builder("taskforge.jwt.cache.size", this, JwtClaimsCache::size)
+                .description("Текущее количество записей в кэше проверенных JWT")
+                .register(registry);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен в текущей JVM", e);
+        }
+    }
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
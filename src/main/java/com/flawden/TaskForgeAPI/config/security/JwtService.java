@@ -1,19 +1,23 @@
 package com.flawden.TaskForgeAPI.config.security;
 
+import com.flawden.TaskForgeAPI.dto.user.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.function.Function;
 
 /**
@@ -29,14 +33,17 @@ import java.util.function.Function;
  * <p>Основной механизм безопасности реализован через HMAC с использованием секретного ключа, который хранится в конфигурации
  * приложения (с помощью аннотации {@link Value}).
  *
- * <p>Использует библиотеку {@link Jwts} для создания, парсинга и проверки JWT.
+ * <p>Использует библиотеку {@link Jwts} для создания, парсинга и проверки JWT. Ключ подписи и парсер создаются
+ * один раз при старте приложения, а уже проверенные токены хранятся в {@link JwtClaimsCache}, поэтому повторное
+ * извлечение данных из того же токена не требует повторной проверки подписи.
  *
  * <p>Методы:
  * <ul>
- *     <li>{@link #generateToken(UserDetails)} — генерирует JWT-токен для пользователя, без дополнительных данных.</li>
+ *     <li>{@link #generateToken(UserDetails)} — генерирует JWT-токен для пользователя с ролью в claim {@code role}.</li>
  *     <li>{@link #generateToken(Map, UserDetails)} — генерирует JWT-токен с дополнительными данными (например, claims).</li>
  *     <li>{@link #validateToken(String, UserDetails)} — проверяет валидность токена (не истек и соответствует пользователю).</li>
  *     <li>{@link #extractUsername(String)} — извлекает имя пользователя из токена.</li>
+ *     <li>{@link #extractPrincipal(String)} — создает {@link PersonDetails} из данных токена без обращения к базе данных.</li>
  *     <li>{@link #extractAllClaims(String)} — извлекает все данные (claims) из токена.</li>
  * </ul>
  *
@@ -48,30 +55,53 @@ import java.util.function.Function;
  * @see Jwts
  * @see UserDetails
  * @see Claims
+ * @see JwtClaimsCache
  */
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    private static final String ROLE_CLAIM = "role";
+
+    private final JwtClaimsCache claimsCache;
+
     @Value("${secret.key}")
     private String secretKey;
 
+    private SecretKey signingKey;
+    private JwtParser parser;
+
     /**
-     * Получает ключ для подписи токенов.
+     * Создает ключ подписи и парсер токенов один раз при старте приложения.
      *
-     * @return ключ для подписи токенов.
+     * <p>Декодирование секретного ключа из Base64 и построение {@link SecretKey} выполняются однократно,
+     * а не при каждой генерации или проверке токена. {@link JwtParser} потокобезопасен и переиспользуется.</p>
      */
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        claimsCache.invalidateAll();
     }
 
     /**
      * Генерирует JWT-токен для пользователя.
      *
+     * <p>Роль пользователя сохраняется в claim {@value #ROLE_CLAIM}, что позволяет восстановить данные пользователя
+     * из токена через {@link #extractPrincipal(String)} без обращения к базе данных.</p>
+     *
      * @param userDetails объект, содержащий информацию о пользователе.
      * @return сгенерированный JWT-токен.
      */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .ifPresent(role -> claims.put(ROLE_CLAIM, role));
+        return generateToken(claims, userDetails);
     }
 
     /**
@@ -82,7 +112,7 @@ public class JwtService {
      * @return сгенерированный JWT-токен.
      */
     public String generateToken(
-            Map<String, Objects> extraClaims,
+            Map<String, Object> extraClaims,
             UserDetails userDetails
     ) {
         return Jwts.builder()
@@ -90,7 +120,7 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -136,6 +166,29 @@ public class JwtService {
         return extractClaim(token, Claims::getSubject);
     }
 
+    /**
+     * Создает данные пользователя из claims JWT-токена без обращения к базе данных.
+     *
+     * <p>Возвращаемый {@link PersonDetails} не содержит пароля. Если в токене нет claim {@value #ROLE_CLAIM}
+     * (например, токен выпущен до его появления) или роль неизвестна, возвращается {@code null}, и вызывающая
+     * сторона должна загрузить пользователя обычным способом.</p>
+     *
+     * @param token JWT-токен.
+     * @return данные пользователя или {@code null}, если их нельзя восстановить из токена.
+     */
+    public UserDetails extractPrincipal(String token) {
+        Claims claims = extractAllClaims(token);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (claims.getSubject() == null || role == null) {
+            return null;
+        }
+        try {
+            return new PersonDetails(claims.getSubject(), null, Role.valueOf(role));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     /**
      * Извлекает данные (claims) из JWT-токена.
      *
@@ -152,24 +205,20 @@ public class JwtService {
     /**
      * Извлекает все данные (claims) из JWT-токена.
      *
+     * <p>Сначала проверяется {@link JwtClaimsCache}. При промахе токен разбирается, его подпись проверяется,
+     * и результат сохраняется в кэш, поэтому подпись одного и того же токена проверяется не более одного раза
+     * за время жизни записи в кэше.</p>
+     *
      * @param token JWT-токен.
      * @return все данные (claims) из токена.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    /**
-     * Получает ключ для подписи токенов.
-     *
-     * @return ключ для подписи токенов.
-     */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Claims cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        claimsCache.put(token, claims);
+        return claims;
     }
 }
@@ -0,0 +1,164 @@
+package com.flawden.TaskForgeAPI.config.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Конфигурация кодировщика паролей.
+ *
+ * <p>Хеши паролей хранятся с префиксом алгоритма ({@code {bcrypt}}, {@code {argon2}}), поэтому алгоритм и его
+ * параметры можно менять без сброса паролей: старые хеши продолжают проверяться, а при успешном входе
+ * пароль пересчитывается с текущими параметрами (см. {@link PersonDetailService#updatePassword}). Хеши без
+ * префикса, созданные до появления префиксов, считаются BCrypt-хешами.</p>
+ *
+ * <p>Хеширование и проверка паролей выполняются в отдельном ограниченном пуле потоков
+ * ({@link BoundedPasswordEncoder}), чтобы дорогие операции не занимали потоки обработки запросов.</p>
+ *
+ * <p>Конфигурация:
+ * <ul>
+ *     <li>{@code security.password.encoder} — алгоритм для новых хешей: {@code bcrypt} (по умолчанию) или {@code argon2}.</li>
+ *     <li>{@code security.password.bcrypt.strength} — сложность BCrypt (по умолчанию 16). Значение 0 включает
+ *     режим замера: выбирается наибольшая сложность, при которой хеширование укладывается в
+ *     {@code security.password.bcrypt.target-time} на текущем оборудовании.</li>
+ *     <li>{@code security.password.argon2.memory}, {@code security.password.argon2.iterations},
+ *     {@code security.password.argon2.parallelism} — параметры Argon2 (память в КиБ).</li>
+ *     <li>{@code security.password.hashing.threads} — количество потоков пула (0 — по числу процессоров).</li>
+ *     <li>{@code security.password.hashing.queue-capacity} — размер очереди ожидающих операций (по умолчанию 16).</li>
+ *     <li>{@code security.password.hashing.timeout} — максимальное время ожидания операции в очереди
+ *     (по умолчанию 1 секунда).</li>
+ * </ul>
+ *
+ * @see BoundedPasswordEncoder
+ * @see DelegatingPasswordEncoder
+ */
+@Slf4j
+@Configuration
+public class PasswordEncoderConfig {
+
+    static final String BCRYPT = "bcrypt";
+    static final String ARGON2 = "argon2";
+
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 20;
+
+    @Value("${security.password.encoder:bcrypt}")
+    private String encoderId;
+
+    @Value("${security.password.bcrypt.strength:16}")
+    private int bcryptStrength;
+
+    @Value("${security.password.bcrypt.target-time:PT0.5S}")
+    private Duration bcryptTargetTime;
+
+    @Value("${security.password.argon2.memory:19456}")
+    private int argon2Memory;
+
+    @Value("${security.password.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    @Value("${security.password.argon2.parallelism:1}")
+    private int argon2Parallelism;
+
+    /**
+     * Создает {@link PasswordEncoder} для кодирования паролей.
+     *
+     * <p>Используется для хеширования паролей при регистрации и для их проверки при аутентификации.</p>
+     *
+     * @return экземпляр {@link BoundedPasswordEncoder} поверх {@link DelegatingPasswordEncoder}.
+     */
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(@Value("${security.password.hashing.threads:0}") int threads,
+                                                 @Value("${security.password.hashing.queue-capacity:16}") int queueCapacity,
+                                                 @Value("${security.password.hashing.timeout:PT1S}") Duration timeout) {
+        int strength = bcryptStrength > 0 ? bcryptStrength : benchmarkBcryptStrength(bcryptTargetTime);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        PasswordEncoder delegate = delegatingPasswordEncoder(encoderId, strength,
+                new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2Memory, argon2Iterations));
+        return new BoundedPasswordEncoder(delegate, poolSize, queueCapacity, timeout);
+    }
+
+    /**
+     * Создает кодировщик, выбирающий алгоритм по префиксу хеша.
+     *
+     * @param encoderId      идентификатор алгоритма для новых хешей.
+     * @param bcryptStrength текущая сложность BCrypt.
+     * @param argon2         кодировщик Argon2 с текущими параметрами.
+     * @return кодировщик {@link DelegatingPasswordEncoder}.
+     */
+    public static PasswordEncoder delegatingPasswordEncoder(String encoderId, int bcryptStrength, Argon2PasswordEncoder argon2) {
+        BCryptPasswordEncoder bcrypt = new CurrentStrengthBCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, argon2);
+        if (!encoders.containsKey(encoderId)) {
+            throw new IllegalArgumentException("Неизвестный алгоритм хеширования паролей: " + encoderId);
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoderId, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    /**
+     * Подбирает наибольшую сложность BCrypt, при которой одно хеширование занимает не больше {@code targetTime}.
+     *
+     * <p>Каждое увеличение сложности на единицу удваивает время хеширования, поэтому замер останавливается
+     * на первой сложности, превысившей целевое время.</p>
+     *
+     * @param targetTime целевое время хеширования одного пароля.
+     * @return подобранная сложность, не меньше {@value #MIN_BCRYPT_STRENGTH}.
+     */
+    public static int benchmarkBcryptStrength(Duration targetTime) {
+        long targetNanos = targetTime.toNanos();
+        int strength = MIN_BCRYPT_STRENGTH;
+        for (int candidate = MIN_BCRYPT_STRENGTH; candidate <= MAX_BCRYPT_STRENGTH; candidate++) {
+            long startedAt = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode("benchmark");
+            long elapsed = System.nanoTime() - startedAt;
+            if (elapsed > targetNanos) {
+                break;
+            }
+            strength = candidate;
+            if (elapsed * 2 > targetNanos) {
+                break;
+            }
+        }
+        log.info("Выбрана сложность BCrypt {} для целевого времени хеширования {}", strength, targetTime);
+        return strength;
+    }
+
+    /**
+     * BCrypt-кодировщик, требующий пересчета хеша при любом отличии сложности от текущей, а не только при
+     * более слабой, чтобы снижение сложности тоже применялось к существующим пользователям.
+     */
+    private static final class CurrentStrengthBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private final int strength;
+
+        private CurrentStrengthBCryptPasswordEncoder(int strength) {
+            super(strength);
+            this.strength = strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+                return false;
+            }
+            try {
+                return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -2,13 +2,12 @@ package com.flawden.TaskForgeAPI.config.security;
 
 import com.flawden.TaskForgeAPI.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.annotation.Bean;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Сервис для загрузки данных о пользователе по имени пользователя (email).
@@ -19,20 +18,23 @@ import org.springframework.stereotype.Service;
  *
  * <p>Основные функции:
  * <ul>
- *     <li>{@link #loadUserByUsername(String)} — находит пользователя по его email и возвращает {@link PersonDetails}.</li>
- *     <li>{@link #passwordEncoder()} — предоставляет экземпляр {@link PasswordEncoder} для работы с паролями.</li>
+ *     <li>{@link #loadUserByUsername(String)} — находит пользователя по его email и возвращает {@link PersonDetails}.
+ *     Результат кэшируется в {@link PrincipalCache}, поэтому повторные запросы с тем же пользователем не обращаются
+ *     к базе данных до истечения времени жизни записи.</li>
  * </ul>
  * </p>
  *
  * @see UserDetailsService
+ * @see UserDetailsPasswordService
  * @see PersonDetails
- * @see PasswordEncoder
+ * @see PrincipalCache
  */
 @Service
 @RequiredArgsConstructor
-public class PersonDetailService implements UserDetailsService {
+public class PersonDetailService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     /**
      * Загружает данные о пользователе по его имени пользователя (email).
@@ -43,18 +45,31 @@ public class PersonDetailService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return new PersonDetails(userRepository.findByEmail(username).orElseThrow(() -> new UsernameNotFoundException("Bad credentional")));
+        return principalCache.get(username, () -> new PersonDetails(userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("Bad credentional"))));
     }
 
     /**
-     * Создает и возвращает {@link PasswordEncoder} для кодирования паролей.
+     * Сохраняет новый хеш пароля пользователя.
      *
-     * <p>Используется для хеширования паролей, например, при регистрации или смене пароля.</p>
+     * <p>Вызывается {@link org.springframework.security.authentication.dao.DaoAuthenticationProvider} после успешной
+     * аутентификации, если {@link org.springframework.security.crypto.password.PasswordEncoder#upgradeEncoding(String)}
+     * сообщил, что хранимый хеш устарел. Запись пользователя в {@link PrincipalCache} удаляется.</p>
      *
-     * @return экземпляр {@link BCryptPasswordEncoder} с параметром сложности 16.
+     * @param user        данные пользователя, прошедшего аутентификацию.
+     * @param newPassword пароль, захешированный текущим алгоритмом.
+     * @return данные пользователя с обновленным хешем пароля.
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(16);
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserDetails updated = userRepository.findByEmail(user.getUsername())
+                .map(entity -> {
+                    entity.setPassword(newPassword);
+                    return (UserDetails) new PersonDetails(userRepository.save(entity));
+                })
+                .orElse(user);
+        principalCache.evict(user.getUsername());
+        return updated;
     }
 }
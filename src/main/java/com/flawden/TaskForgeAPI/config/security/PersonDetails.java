@@ -1,5 +1,6 @@
 package com.flawden.TaskForgeAPI.config.security;
 
+import com.flawden.TaskForgeAPI.dto.user.Role;
 import com.flawden.TaskForgeAPI.model.UserEntity;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -27,31 +28,41 @@ import java.util.Collections;
  * </p>
  *
  * <p>Этот класс обычно используется для передачи информации о пользователе, хранящемся в базе данных,
- * в контексте Spring Security.</p>
+ * в контексте Spring Security. Объект неизменяем и не хранит ссылку на {@link UserEntity}, поэтому его можно
+ * безопасно кэшировать в {@link PrincipalCache} или создавать из данных JWT-токена без обращения к базе данных
+ * (в этом случае пароль отсутствует).</p>
  *
  * @see UserDetails
  */
 public class PersonDetails implements UserDetails {
 
-    private final UserEntity user;
+    private final String email;
+    private final String password;
+    private final Role role;
 
     public PersonDetails(UserEntity user) {
-        this.user = user;
+        this(user.getEmail(), user.getPassword(), user.getRole());
+    }
+
+    public PersonDetails(String email, String password, Role role) {
+        this.email = email;
+        this.password = password;
+        this.role = role;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority(user.getRole().name()));
+        return Collections.singletonList(new SimpleGrantedAuthority(role.name()));
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
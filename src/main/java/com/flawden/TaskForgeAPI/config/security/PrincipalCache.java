@@ -0,0 +1,116 @@
+package com.flawden.TaskForgeAPI.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * PrincipalCache — кэш данных пользователя ({@link UserDetails}) с ограниченным временем жизни записей.
+ *
+ * <p>Используется {@link PersonDetailService}, чтобы не выполнять запрос к базе данных на каждый запрос
+ * с JWT-токеном. Запись живет не дольше {@code security.principal.cache.ttl} (по умолчанию 1 минута) и
+ * удаляется явно при изменении или удалении пользователя. Нулевой TTL отключает кэширование.</p>
+ *
+ * <p>Записи хранятся в кэше Caffeine ограниченного размера: при переполнении вытесняются по одной редко
+ * используемые записи, а не весь кэш, поэтому всплеск новых пользователей не сбрасывает кэш остальных.</p>
+ *
+ * <p>Инвалидация выполняется сразу и повторно после фиксации текущей транзакции, чтобы параллельный запрос
+ * не успел вернуть в кэш данные, прочитанные до фиксации изменений.</p>
+ *
+ * <p>Конфигурация:
+ * <ul>
+ *     <li>{@code security.principal.cache.ttl} — время жизни записи.</li>
+ *     <li>{@code security.principal.cache.max-size} — максимальное количество записей (по умолчанию 10000).</li>
+ * </ul>
+ *
+ * @see PersonDetailService
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<String, UserDetails> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PrincipalCache(@Value("${security.principal.cache.ttl:PT1M}") Duration ttl,
+                          @Value("${security.principal.cache.max-size:10000}") int maxSize) {
+        this.enabled = ttl.isPositive();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(enabled ? ttl : Duration.ZERO)
+                .build();
+    }
+
+    /**
+     * Возвращает данные пользователя из кэша или загружает их с помощью {@code loader}.
+     *
+     * @param username имя пользователя (email).
+     * @param loader   функция загрузки данных пользователя при промахе.
+     * @return данные пользователя.
+     */
+    public UserDetails get(String username, Supplier<UserDetails> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        UserDetails cached = entries.getIfPresent(username);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        UserDetails userDetails = loader.get();
+        entries.put(username, userDetails);
+        return userDetails;
+    }
+
+    /**
+     * Удаляет данные пользователя из кэша.
+     *
+     * <p>Если вызов выполняется внутри транзакции, запись удаляется еще раз после ее фиксации.</p>
+     *
+     * @param username имя пользователя (email).
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        entries.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.invalidate(username);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("taskforge.principal.cache.gets", hits, LongAdder::doubleValue)
+                .tag("result", "hit")
+                .description("Количество обращений к кэшу пользователей, завершившихся попаданием")
+                .register(registry);
+        FunctionCounter.builder("taskforge.principal.cache.gets", misses, LongAdder::doubleValue)
+                .tag("result", "miss")
+                .description("Количество обращений к кэшу пользователей, завершившихся промахом")
+                .register(registry);
+        Gauge.builder("taskforge.principal.cache.size", entries, Cache::estimatedSize)
+                .description("Текущее количество записей в кэше пользователей")
+                .register(registry);
+    }
+}
@@ -1,7 +1,9 @@
 package com.flawden.TaskForgeAPI.config.security;
 
 import com.flawden.TaskForgeAPI.config.filter.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -48,7 +50,13 @@ public class SecurityConfig {
      * Конфигурирует фильтры безопасности для HTTP-запросов.
      *
      * <p>Этот метод настраивает политику безопасности для всех HTTP запросов. В частности, он отключает защиту CSRF,
-     * разрешает доступ к эндпоинтам аутентификации и настраивает управление сессиями с использованием stateless-сессий.</p>
+     * разрешает доступ к эндпоинтам аутентификации и настраивает управление сессиями с использованием stateless-сессий.
+     * Конечные точки Actuator {@code health} и {@code prometheus} доступны без токена: они предназначены для отдельного
+     * порта управления ({@code management.server.port}), закрытого от внешних клиентов.</p>
+     *
+     * <p>Асинхронные и ошибочные диспетчеризации пропускаются без проверки: они продолжают уже авторизованный запрос
+     * (потоковые выгрузки, SSE), а {@link JwtAuthenticationFilter} выполняется один раз на запрос и повторно
+     * контекст безопасности для них не заполняет.</p>
      *
      * @param http объект {@link HttpSecurity}, используемый для настройки безопасности запросов.
      * @return объект {@link SecurityFilterChain}, содержащий всю конфигурацию безопасности.
@@ -60,12 +68,14 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers(
                                 "/api-docs/**",
                                 "/api/v1/auth/**",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**"
                         ).permitAll()
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -74,12 +84,22 @@ public class SecurityConfig {
                 .build();
     }
 
+    /**
+     * Настройки CORS для браузерного клиента.
+     *
+     * <p>Клиенту разрешены условные запросы ({@code If-Match}, {@code If-None-Match}) и частичное обновление
+     * ({@code PATCH}), а заголовки {@code ETag} и {@code X-Next-Cursor} открыты для чтения из скриптов:
+     * без этого браузер не передаст их коду клиента.</p>
+     *
+     * @return источник настроек CORS для всех путей.
+     */
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:3000"));
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type", "If-Match", "If-None-Match"));
+        configuration.setExposedHeaders(List.of("ETag", "X-Next-Cursor"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -1,17 +1,21 @@
 package com.flawden.TaskForgeAPI.controller;
 
 import com.flawden.TaskForgeAPI.dto.Comment;
+import com.flawden.TaskForgeAPI.dto.ExportFormat;
 import com.flawden.TaskForgeAPI.dto.user.Role;
 import com.flawden.TaskForgeAPI.exception.CommentNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -40,17 +44,33 @@ public interface CommentController {
     @Operation(summary = "Получить все комментарии", description = "Возвращает все комментарии с возможностью пагинации.")
     ResponseEntity<List<Comment>> getAllComments(@RequestParam(value = "page", required = false) Integer page, @RequestParam(value = "limit", required = false) Integer limit);
 
+    /**
+     * Выгрузка всех комментариев.
+     * <p>
+     * Этот метод выгружает все комментарии файлом в формате NDJSON (по одному комментарию в строке) или CSV.
+     * Комментарии передаются клиенту по мере чтения из базы данных, поэтому выгрузка не ограничена памятью сервера.
+     * </p>
+     *
+     * @param format формат выгрузки (опционально, по умолчанию NDJSON).
+     * @return поток с выгрузкой комментариев.
+     */
+    @Operation(summary = "Выгрузить комментарии", description = "Потоково выгружает все комментарии в формате NDJSON или CSV.")
+    ResponseEntity<StreamingResponseBody> exportComments(@RequestParam(value = "format", required = false, defaultValue = "NDJSON") ExportFormat format);
+
     /**
      * Получение комментария по его ID.
      * <p>
-     * Этот метод возвращает комментарий с указанным идентификатором.
+     * Этот метод возвращает комментарий с указанным идентификатором и его версию в заголовке {@code ETag}.
+     * Если версия совпадает с заголовком {@code If-None-Match}, возвращается 304 без тела.
      * </p>
      *
-     * @param id идентификатор комментария.
+     * @param id          идентификатор комментария.
+     * @param ifNoneMatch ETag комментария, уже полученного клиентом (опционально).
      * @return комментарий с заданным ID.
      */
     @Operation(summary = "Получить комментарий по идентификатору", description = "Возвращает комментарий по его ID.")
-    ResponseEntity<Comment> getCommentById(@PathVariable Long id);
+    ResponseEntity<Comment> getCommentById(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     /**
      * Добавление нового комментария.
@@ -95,27 +115,44 @@ public interface CommentController {
     ResponseEntity<HttpStatus> deleteComment(@PathVariable Long id, UserDetails userDetails);
 
     /**
-     * Получение комментария по идентификатору задачи.
+     * Получение комментариев к задаче.
+     * <p>
+     * Этот метод возвращает комментарии к задаче с указанным идентификатором в порядке их создания. Если
+     * комментариев больше, чем помещается на странице, курсор следующей страницы передается в заголовке
+     * {@code X-Next-Cursor}; его нужно передать в параметре {@code cursor} следующего запроса.
+     * </p>
      * <p>
-     * Этот метод возвращает комментарий, связанный с задачей с заданным идентификатором.
+     * Ответ содержит слабый ETag страницы. Если он совпадает с заголовком {@code If-None-Match}, возвращается
+     * 304 без тела.
      * </p>
      *
-     * @param id идентификатор задачи.
-     * @return комментарий, связанный с указанной задачей.
+     * @param id          идентификатор задачи.
+     * @param cursor      курсор страницы (опционально).
+     * @param limit       количество комментариев на странице (опционально, по умолчанию 20).
+     * @param ifNoneMatch ETag страницы, уже полученной клиентом (опционально).
+     * @return комментарии к задаче.
      */
-    @Operation(summary = "Получить комментарий по ID задачи", description = "Возвращает комментарий, связанный с конкретной задачей.")
-    ResponseEntity<Comment> getCommentByTaskId(@PathVariable Long id);
+    @Operation(summary = "Получить комментарии к задаче", description = "Возвращает комментарии к задаче постранично по курсору.")
+    ResponseEntity<List<Comment>> getCommentsByTaskId(@PathVariable Long id,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "limit", required = false, defaultValue = "20") Integer limit,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     /**
-     * Получение комментария по идентификатору пользователя.
+     * Получение комментариев пользователя.
      * <p>
-     * Этот метод возвращает комментарий, созданный пользователем с указанным идентификатором.
+     * Этот метод возвращает комментарии, созданные пользователем с указанным идентификатором, в порядке их
+     * создания. Курсор следующей страницы передается в заголовке {@code X-Next-Cursor}.
      * </p>
      *
-     * @param id идентификатор пользователя.
-     * @return комментарий, созданный указанным пользователем.
+     * @param id     идентификатор пользователя.
+     * @param cursor курсор страницы (опционально).
+     * @param limit  количество комментариев на странице (опционально, по умолчанию 20).
+     * @return комментарии пользователя.
      */
-    @Operation(summary = "Получить комментарий по ID пользователя", description = "Возвращает комментарий, связанный с пользователем.")
-    ResponseEntity<Comment> getCommentByUserId(@PathVariable Long id);
+    @Operation(summary = "Получить комментарии пользователя", description = "Возвращает комментарии пользователя постранично по курсору.")
+    ResponseEntity<List<Comment>> getCommentsByUserId(@PathVariable Long id,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "limit", required = false, defaultValue = "20") Integer limit);
 
 }
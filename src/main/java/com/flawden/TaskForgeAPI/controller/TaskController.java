@@ -1,18 +1,37 @@
 package com.flawden.TaskForgeAPI.controller;
 
+import com.flawden.TaskForgeAPI.dto.ExportFormat;
 import com.flawden.TaskForgeAPI.dto.task.Status;
 import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignment;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignmentResult;
+import com.flawden.TaskForgeAPI.dto.task.TaskBatchItemResult;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeEvent;
+import com.flawden.TaskForgeAPI.dto.task.TaskChanges;
+import com.flawden.TaskForgeAPI.dto.task.TaskSort;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
 import com.flawden.TaskForgeAPI.dto.task.Priority;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -32,33 +51,95 @@ public interface TaskController {
      * используются для ограничения количества возвращаемых задач. Если параметры не указаны,
      * то количество задач по умолчанию будет равно 5.
      * </p>
+     * <p>
+     * Если передан параметр {@code cursor}, задачи возвращаются по курсору: пустое значение запрашивает первую
+     * страницу, а курсор следующей страницы передается в заголовке {@code X-Next-Cursor}. Заголовок отсутствует
+     * на последней странице. Время получения страницы по курсору не зависит от ее глубины.
+     * </p>
+     * <p>
+     * Фильтры {@code title} (подстрока названия), {@code status} и {@code priority} необязательны и применяются
+     * в любом сочетании во всех режимах пагинации.
+     * </p>
+     * <p>
+     * Ответ содержит слабый ETag страницы. Если он совпадает с заголовком {@code If-None-Match}, возвращается
+     * 304 без тела.
+     * </p>
      *
-     * @param page  номер страницы (опционально).
-     * @param limit количество задач на странице (опционально, по умолчанию 5).
+     * @param page        номер страницы (опционально).
+     * @param limit       количество задач на странице (опционально, по умолчанию 5).
+     * @param title       подстрока названия задачи (опционально).
+     * @param status      статус задачи (опционально).
+     * @param priority    приоритет задачи (опционально).
+     * @param cursor      курсор страницы (опционально).
+     * @param sort        порядок сортировки при выборке по курсору (опционально, по умолчанию по идентификатору).
+     * @param ifNoneMatch ETag страницы, уже полученной клиентом (опционально).
      * @return список задач с учетом пагинации.
      */
     @Operation(summary = "Получить все задачи", description = "Получить все задачи с возможностью пагинации.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Задачи успешно получены"),
-            @ApiResponse(responseCode = "400", description = "Неверный запрос")
+            @ApiResponse(responseCode = "304", description = "Страница не изменилась"),
+            @ApiResponse(responseCode = "400", description = "Неверный запрос или некорректный курсор")
     })
     ResponseEntity<List<Task>> getAllTasks(@RequestParam(value = "page", required = false) Integer page,
                                            @RequestParam(value = "limit", required = false, defaultValue = "5") Integer limit,
                                            @RequestParam(value = "title", required = false) String title,
                                            @RequestParam(value = "status", required = false) Status status,
-                                           @RequestParam(value = "priority", required = false) Priority priority);
+                                           @RequestParam(value = "priority", required = false) Priority priority,
+                                           @RequestParam(value = "cursor", required = false) String cursor,
+                                           @RequestParam(value = "sort", required = false, defaultValue = "ID") TaskSort sort,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    /**
+     * Получение краткого списка задач.
+     * <p>
+     * Вызывается при запросе {@code GET /api/v1/tasks?view=summary}. Возвращает только идентификатор, название,
+     * статус и приоритет задач, без исполнителей и комментариев. Поддерживает те же режимы пагинации, что и
+     * {@link #getAllTasks}: по номеру страницы, по курсору и без пагинации, и те же фильтры.
+     * </p>
+     *
+     * @param page     номер страницы (опционально).
+     * @param limit    количество задач на странице (опционально, по умолчанию 5).
+     * @param title    подстрока названия задачи (опционально).
+     * @param status   статус задачи (опционально).
+     * @param priority приоритет задачи (опционально).
+     * @param cursor   курсор страницы (опционально).
+     * @param sort     порядок сортировки при выборке по курсору (опционально, по умолчанию по идентификатору).
+     * @return список кратких представлений задач.
+     */
+    @Operation(summary = "Получить краткий список задач",
+            description = "Возвращает задачи без исполнителей и комментариев. Выбирается параметром view=summary.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задачи успешно получены"),
+            @ApiResponse(responseCode = "400", description = "Неверный запрос или некорректный курсор")
+    })
+    ResponseEntity<List<TaskSummary>> getTaskSummaries(@RequestParam(value = "page", required = false) Integer page,
+                                                       @RequestParam(value = "limit", required = false, defaultValue = "5") Integer limit,
+                                                       @RequestParam(value = "title", required = false) String title,
+                                                       @RequestParam(value = "status", required = false) Status status,
+                                                       @RequestParam(value = "priority", required = false) Priority priority,
+                                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "sort", required = false, defaultValue = "ID") TaskSort sort);
 
     /**
      * Получение задачи по её ID.
      * <p>
-     * Этот метод возвращает задачу с указанным идентификатором.
+     * Этот метод возвращает задачу с указанным идентификатором и ее версию в заголовке {@code ETag}. Если версия
+     * совпадает с заголовком {@code If-None-Match}, возвращается 304 без тела.
      * </p>
      *
-     * @param id идентификатор задачи.
+     * @param id          идентификатор задачи.
+     * @param ifNoneMatch ETag задачи, уже полученной клиентом (опционально).
      * @return задача с заданным ID.
      */
     @Operation(summary = "Получить задачу по идентификатору", description = "Возвращает задачу по переданному идентификатору.")
-    ResponseEntity<Task> getTaskById(@PathVariable Long id);
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задача найдена"),
+            @ApiResponse(responseCode = "304", description = "Задача не изменилась"),
+            @ApiResponse(responseCode = "404", description = "Задача не найдена")
+    })
+    ResponseEntity<Task> getTaskById(@PathVariable Long id,
+                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     /**
      * Добавление новой задачи.
@@ -76,18 +157,52 @@ public interface TaskController {
     })
     ResponseEntity<Task> addTask(@RequestBody Task task);
 
+    /**
+     * Пакетное создание задач.
+     * <p>
+     * Этот метод принимает массив задач ({@code application/json}) или поток задач по одной в строке
+     * ({@code application/x-ndjson}). Задачи читаются и сохраняются порциями, поэтому размер пакета не ограничен
+     * памятью сервера. Некорректные задачи не создаются, остальные создаются; в ответе для каждого элемента пакета
+     * возвращается идентификатор созданной задачи или список ошибок.
+     * </p>
+     *
+     * @param body тело запроса с задачами.
+     * @return результаты по каждому элементу пакета.
+     * @throws IOException если тело запроса не удалось прочитать.
+     */
+    @Operation(summary = "Создать задачи пакетом",
+            description = "Создает задачи из JSON-массива или NDJSON-потока и возвращает результат по каждому элементу.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Task.class))),
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = Task.class))
+            }))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Пакет обработан"),
+            @ApiResponse(responseCode = "400", description = "Тело запроса не является JSON-массивом или NDJSON")
+    })
+    ResponseEntity<List<TaskBatchItemResult>> addTasks(@Parameter(hidden = true) InputStream body) throws IOException;
+
     /**
      * Обновление существующей задачи.
      * <p>
-     * Этот метод обрабатывает запрос на обновление существующей задачи.
+     * Этот метод обрабатывает запрос на обновление существующей задачи. Если передан заголовок {@code If-Match},
+     * задача обновляется, только если ее текущий ETag совпадает с переданным.
      * </p>
      *
-     * @param task   объект {@link Task}, содержащий обновленные данные задачи.
-     * @param taskId идентификатор задачи, которую необходимо обновить.
+     * @param task    объект {@link Task}, содержащий обновленные данные задачи.
+     * @param taskId  идентификатор задачи, которую необходимо обновить.
+     * @param ifMatch ETag задачи, на основе которой сделаны изменения (опционально).
      * @return статус выполнения операции.
      */
     @Operation(summary = "Обновить задачу", description = "Обновляет задачу с указанным идентификатором.")
-    ResponseEntity<HttpStatus> updateTask(@RequestBody Task task, @PathVariable Long taskId);
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задача обновлена"),
+            @ApiResponse(responseCode = "404", description = "Задача не найдена"),
+            @ApiResponse(responseCode = "409", description = "Задача изменена параллельным запросом"),
+            @ApiResponse(responseCode = "412", description = "ETag задачи не совпадает с If-Match")
+    })
+    ResponseEntity<HttpStatus> updateTask(@RequestBody Task task, @PathVariable("id") Long taskId,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch);
 
     /**
      * Удаление задачи по её ID.
@@ -99,6 +214,10 @@ public interface TaskController {
      * @return статус выполнения операции.
      */
     @Operation(summary = "Удалить задачу", description = "Удаляет задачу по переданному идентификатору.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Задача удалена"),
+            @ApiResponse(responseCode = "404", description = "Задача не найдена")
+    })
     ResponseEntity<HttpStatus> deleteTask(@PathVariable Long id);
 
     /**
@@ -113,6 +232,94 @@ public interface TaskController {
     @Operation(summary = "Получить задачу по названию", description = "Возвращает задачу по переданному названию")
     ResponseEntity<Task> getTaskByName(@PathVariable String name);
 
+    /**
+     * Выгрузка всех задач.
+     * <p>
+     * Этот метод выгружает все задачи файлом в формате NDJSON (по одной задаче в строке) или CSV. Задачи
+     * передаются клиенту по мере чтения из базы данных, поэтому выгрузка не ограничена памятью сервера.
+     * Если клиент закрывает соединение, чтение задач прекращается.
+     * </p>
+     *
+     * @param format формат выгрузки (опционально, по умолчанию NDJSON).
+     * @return поток с выгрузкой задач.
+     */
+    @Operation(summary = "Выгрузить задачи", description = "Потоково выгружает все задачи в формате NDJSON или CSV.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Выгрузка начата"),
+            @ApiResponse(responseCode = "400", description = "Неизвестный формат выгрузки")
+    })
+    ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(value = "format", required = false, defaultValue = "NDJSON") ExportFormat format);
+
+    /**
+     * Полнотекстовый поиск задач.
+     * <p>
+     * Этот метод ищет задачи по словам из названия и описания. Каждое слово запроса должно встретиться в задаче
+     * целиком или как начало слова, поэтому запрос {@code "отч"} находит задачи со словом «отчет».
+     * Результаты упорядочены по релевантности.
+     * </p>
+     *
+     * @param query строка запроса.
+     * @param limit максимальное количество результатов (опционально, по умолчанию 20, не больше 100).
+     * @return краткие представления найденных задач.
+     */
+    @Operation(summary = "Поиск задач", description = "Ищет задачи по словам из названия и описания с учетом префиксов.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Поиск выполнен"),
+            @ApiResponse(responseCode = "400", description = "Не указана строка запроса")
+    })
+    ResponseEntity<List<TaskSummary>> searchTasks(@RequestParam(value = "q") String query,
+                                                  @RequestParam(value = "limit", required = false, defaultValue = "20") Integer limit);
+
+    /**
+     * Получение изменений задач для синхронизации.
+     * <p>
+     * Этот метод возвращает задачи, созданные или измененные после позиции {@code since}, и идентификаторы
+     * удаленных после нее задач. Без {@code since} возвращаются все задачи (полная синхронизация). Следующая
+     * позиция передается в поле {@code next}; пока {@code hasMore} истинно, изменения запрашиваются сразу,
+     * иначе — при следующей синхронизации. Изменения последних нескольких секунд выдаются при следующем запросе.
+     * </p>
+     * <p>
+     * Если позиция старше срока хранения отметок об удалении, возвращается 410, и клиенту нужна полная
+     * синхронизация.
+     * </p>
+     *
+     * @param since позиция из предыдущего ответа (опционально).
+     * @param limit максимальное количество изменений (опционально, по умолчанию 100, не больше 1000).
+     * @return изменения задач и следующая позиция.
+     */
+    @Operation(summary = "Получить изменения задач", description = "Возвращает задачи, измененные и удаленные после позиции синхронизации.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Изменения получены"),
+            @ApiResponse(responseCode = "400", description = "Некорректная позиция"),
+            @ApiResponse(responseCode = "410", description = "Позиция устарела, требуется полная синхронизация")
+    })
+    ResponseEntity<TaskChanges> getTaskChanges(@RequestParam(value = "since", required = false) String since,
+                                               @RequestParam(value = "limit", required = false, defaultValue = "100") Integer limit);
+
+    /**
+     * Подписка на события изменения задач.
+     * <p>
+     * Этот метод открывает поток Server-Sent Events, в который после фиксации изменений передаются события
+     * создания, изменения и удаления задач и их комментариев. События содержат только идентификаторы.
+     * Фильтры {@code taskId}, {@code assigneeId} и {@code status} необязательны и применяются в любом сочетании.
+     * Если клиент не успевает читать события, поток закрывается событием {@code OVERFLOW}: клиенту нужно
+     * переподключиться и догрузить изменения через {@code /api/v1/tasks/changes}.
+     * </p>
+     *
+     * @param taskId     идентификатор задачи (опционально).
+     * @param assigneeId идентификатор исполнителя (опционально).
+     * @param status     статус задачи (опционально).
+     * @return поток событий.
+     */
+    @Operation(summary = "Подписаться на изменения задач", description = "Открывает поток Server-Sent Events с событиями изменения задач и комментариев.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Поток событий открыт",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = TaskChangeEvent.class)))
+    })
+    ResponseEntity<SseEmitter> subscribeToTaskEvents(@RequestParam(value = "taskId", required = false) Long taskId,
+                                                     @RequestParam(value = "assigneeId", required = false) Long assigneeId,
+                                                     @RequestParam(value = "status", required = false) Status status);
+
     /**
      * Назначение задачи пользователю.
      * <p>
@@ -126,5 +333,22 @@ public interface TaskController {
     @Operation(summary = "Назначить задачу пользователю", description = "Связывает задачу с пользователем, назначая исполнителя.")
     ResponseEntity<HttpStatus> assignTaskToUser(@PathVariable Long userId, @PathVariable Long taskId);
 
+    /**
+     * Пакетное назначение задач пользователям.
+     * <p>
+     * Этот метод принимает список пар пользователь — задача и возвращает результат для каждой пары:
+     * назначена, уже была назначена, задача не найдена или пользователь не найден.
+     * </p>
+     *
+     * @param assignments пары пользователь — задача.
+     * @return результаты назначения в порядке пар запроса.
+     */
+    @Operation(summary = "Назначить задачи пользователям", description = "Назначает задачи по списку пар пользователь — задача.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Пары обработаны"),
+            @ApiResponse(responseCode = "400", description = "Неверные данные")
+    })
+    ResponseEntity<List<TaskAssignmentResult>> assignTasksToUsers(@RequestBody List<TaskAssignment> assignments);
+
 }
 
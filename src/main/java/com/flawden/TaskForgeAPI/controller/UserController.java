@@ -2,16 +2,20 @@ package com.flawden.TaskForgeAPI.controller;
 
 import com.flawden.TaskForgeAPI.dto.user.UpdateUser;
 import com.flawden.TaskForgeAPI.dto.user.User;
+import com.flawden.TaskForgeAPI.dto.user.UserSort;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
@@ -33,9 +37,18 @@ public interface UserController {
      * используются для ограничения количества возвращаемых пользователей. Если параметры не указаны,
      * то количество пользователей по умолчанию будет равно 5.
      * </p>
+     * <p>
+     * Если передан параметр {@code cursor}, пользователи возвращаются по курсору в порядке идентификаторов
+     * (пустое значение запрашивает первую страницу). Без номера страницы и курсора возвращается не больше
+     * {@code users.list.max-size} пользователей. В обоих случаях курсор следующей страницы передается
+     * в заголовке {@code X-Next-Cursor}.
+     * </p>
      *
-     * @param page  номер страницы (опционально).
-     * @param limit количество пользователей на странице (опционально, по умолчанию 5).
+     * @param page      номер страницы (опционально).
+     * @param limit     количество пользователей на странице (опционально, по умолчанию 5).
+     * @param sort      поле сортировки при выборке по номеру страницы (опционально, по умолчанию по идентификатору).
+     * @param direction направление сортировки (опционально, по умолчанию по возрастанию).
+     * @param cursor    курсор страницы (опционально).
      * @return список пользователей с учетом пагинации.
      */
     @Operation(
@@ -43,7 +56,10 @@ public interface UserController {
             description = "Метод для получения списка всех пользователей с возможностью пагинации.",
             parameters = {
                     @Parameter(name = "page", description = "Номер страницы", required = false),
-                    @Parameter(name = "size", description = "Количество пользователей на странице", required = false)
+                    @Parameter(name = "limit", description = "Количество пользователей на странице", required = false),
+                    @Parameter(name = "sort", description = "Поле сортировки: ID, EMAIL, FIRST_NAME, LAST_NAME", required = false),
+                    @Parameter(name = "direction", description = "Направление сортировки: ASC или DESC", required = false),
+                    @Parameter(name = "cursor", description = "Курсор страницы из заголовка X-Next-Cursor", required = false)
             },
             responses = {
                     @ApiResponse(
@@ -55,15 +71,21 @@ public interface UserController {
                     )
             }
     )
-    ResponseEntity<List<User>> getAllUsers(@RequestParam(value = "page", required = false) Integer page, @RequestParam(value = "limit", required = false) Integer limit);
+    ResponseEntity<List<User>> getAllUsers(@RequestParam(value = "page", required = false) Integer page,
+                                           @RequestParam(value = "limit", required = false, defaultValue = "5") Integer limit,
+                                           @RequestParam(value = "sort", required = false, defaultValue = "ID") UserSort sort,
+                                           @RequestParam(value = "direction", required = false, defaultValue = "ASC") Sort.Direction direction,
+                                           @RequestParam(value = "cursor", required = false) String cursor);
 
     /**
      * Получение пользователя по его ID.
      * <p>
-     * Этот метод возвращает пользователя с указанным идентификатором.
+     * Этот метод возвращает пользователя с указанным идентификатором и его версию в заголовке {@code ETag}.
+     * Если версия совпадает с заголовком {@code If-None-Match}, возвращается 304 без тела.
      * </p>
      *
-     * @param id идентификатор пользователя.
+     * @param id          идентификатор пользователя.
+     * @param ifNoneMatch ETag пользователя, уже полученного клиентом (опционально).
      * @return пользователь с заданным ID.
      */
     @Operation(
@@ -78,6 +100,11 @@ public interface UserController {
                                     schema = @Schema(implementation = User.class)
                             )
                     ),
+                    @ApiResponse(
+                            description = "Пользователь не изменился",
+                            responseCode = "304",
+                            content = @Content
+                    ),
                     @ApiResponse(
                             description = "Пользователь не найден",
                             responseCode = "404",
@@ -85,7 +112,8 @@ public interface UserController {
                     )
             }
     )
-    ResponseEntity<User> getUserById(@PathVariable Long id);
+    ResponseEntity<User> getUserById(@PathVariable Long id,
+                                     @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     /**
      * Обновление данных пользователя.
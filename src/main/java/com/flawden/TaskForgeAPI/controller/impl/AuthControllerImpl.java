@@ -4,11 +4,13 @@ import com.flawden.TaskForgeAPI.controller.AuthController;
 import com.flawden.TaskForgeAPI.dto.AuthenticationResponse;
 import com.flawden.TaskForgeAPI.dto.user.Login;
 import com.flawden.TaskForgeAPI.dto.user.Register;
+import com.flawden.TaskForgeAPI.exception.PasswordHashingOverloadedException;
 import com.flawden.TaskForgeAPI.exception.UserIsAlreadyExistException;
 import com.flawden.TaskForgeAPI.exception.UserNotFoundException;
 import com.flawden.TaskForgeAPI.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -84,4 +86,21 @@ public class AuthControllerImpl implements AuthController {
     public ResponseEntity<String> handleUserNotFoundException(UserNotFoundException e) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
+
+    /**
+     * Обработчик исключения, когда пул хеширования паролей перегружен.
+     * <p>
+     * Возвращает ошибку с кодом 503 и заголовком {@code Retry-After}, чтобы клиент повторил запрос позже,
+     * не занимая поток обработки запросов в ожидании освобождения пула.
+     * </p>
+     *
+     * @param e исключение типа {@link PasswordHashingOverloadedException}.
+     * @return сообщение об ошибке с соответствующим статусом 503.
+     */
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<String> handlePasswordHashingOverloadedException(PasswordHashingOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
@@ -2,16 +2,23 @@ package com.flawden.TaskForgeAPI.controller.impl;
 
 import com.flawden.TaskForgeAPI.controller.CommentController;
 import com.flawden.TaskForgeAPI.dto.Comment;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
+import com.flawden.TaskForgeAPI.dto.ExportFormat;
 import com.flawden.TaskForgeAPI.dto.user.Role;
 import com.flawden.TaskForgeAPI.exception.CommentNotFoundException;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
 import com.flawden.TaskForgeAPI.service.CommentService;
+import com.flawden.TaskForgeAPI.service.ExportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -27,6 +34,7 @@ import java.util.List;
 public class CommentControllerImpl implements CommentController {
 
     private final CommentService commentService;
+    private final ExportService exportService;
 
     /**
      * Получить все комментарии с возможностью пагинации.
@@ -49,19 +57,44 @@ public class CommentControllerImpl implements CommentController {
         }
     }
 
+    /**
+     * Выгрузить все комментарии.
+     * <p>
+     * Комментарии записываются в ответ по мере чтения из базы данных в отдельном потоке обработки запроса.
+     * </p>
+     *
+     * @param format формат выгрузки.
+     * @return поток с выгрузкой комментариев.
+     */
+    @GetMapping("/export")
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportComments(ExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("comments." + format.getExtension()).build().toString())
+                .body(out -> exportService.exportComments(format, out));
+    }
+
     /**
      * Получить комментарий по идентификатору.
      * <p>
-     * Возвращает комментарий, соответствующий переданному идентификатору.
+     * Возвращает комментарий, соответствующий переданному идентификатору. Если версия комментария совпадает
+     * с {@code If-None-Match}, комментарий не загружается и возвращается 304.
      * </p>
      *
-     * @param id идентификатор комментария.
-     * @return комментарий с данным идентификатором.
+     * @param id          идентификатор комментария.
+     * @param ifNoneMatch ETag комментария, уже полученного клиентом.
+     * @return комментарий с данным идентификатором или 304, если он не изменился.
      */
     @GetMapping("/{id}")
     @Override
-    public ResponseEntity<Comment> getCommentById(Long id) {
-        return ResponseEntity.ok(commentService.getCommentById(id));
+    public ResponseEntity<Comment> getCommentById(Long id, String ifNoneMatch) {
+        String etag = EntityTags.strong(commentService.getCommentVersion(id));
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(commentService.getCommentById(id));
     }
 
     /**
@@ -118,33 +151,56 @@ public class CommentControllerImpl implements CommentController {
     }
 
     /**
-     * Получить комментарий по идентификатору задачи.
+     * Получить комментарии к задаче.
      * <p>
-     * Возвращает комментарий, связанный с конкретной задачей, если таковой имеется.
+     * Возвращает страницу комментариев к задаче, курсор следующей страницы передается в заголовке
+     * {@value TaskControllerImpl#NEXT_CURSOR_HEADER}. Слабый ETag страницы вычисляется по версиям комментариев
+     * до их загрузки.
      * </p>
      *
-     * @param id идентификатор задачи.
-     * @return комментарий, привязанный к задаче.
+     * @param id          идентификатор задачи.
+     * @param cursor      курсор страницы (необязательный параметр).
+     * @param limit       количество комментариев на странице.
+     * @param ifNoneMatch ETag страницы, уже полученной клиентом (необязательный параметр).
+     * @return комментарии к задаче или 304, если страница не изменилась.
      */
     @GetMapping("/task/{id}")
     @Override
-    public ResponseEntity<Comment> getCommentByTaskId(Long id) {
-        return ResponseEntity.ok(commentService.getCommentByTaskId(id));
+    public ResponseEntity<List<Comment>> getCommentsByTaskId(Long id, String cursor, Integer limit, String ifNoneMatch) {
+        String etag = EntityTags.weak(commentService.getCommentVersionsByTaskId(id, cursor, limit));
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return toResponse(commentService.getCommentsByTaskId(id, cursor, limit), etag);
     }
 
     /**
-     * Получить комментарий по идентификатору пользователя.
+     * Получить комментарии пользователя.
      * <p>
-     * Возвращает комментарий, связанный с конкретным пользователем.
+     * Возвращает страницу комментариев пользователя, курсор следующей страницы передается в заголовке
+     * {@value TaskControllerImpl#NEXT_CURSOR_HEADER}.
      * </p>
      *
-     * @param id идентификатор пользователя.
-     * @return комментарий, принадлежащий пользователю.
+     * @param id     идентификатор пользователя.
+     * @param cursor курсор страницы (необязательный параметр).
+     * @param limit  количество комментариев на странице.
+     * @return комментарии пользователя.
      */
     @GetMapping("/user/{id}")
     @Override
-    public ResponseEntity<Comment> getCommentByUserId(Long id) {
-        return ResponseEntity.ok(commentService.getCommentByUserId(id));
+    public ResponseEntity<List<Comment>> getCommentsByUserId(Long id, String cursor, Integer limit) {
+        return toResponse(commentService.getCommentsByUserId(id, cursor, limit), null);
+    }
+
+    private static ResponseEntity<List<Comment>> toResponse(CursorPage<Comment> comments, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        if (comments.getNextCursor() != null) {
+            response.header(TaskControllerImpl.NEXT_CURSOR_HEADER, comments.getNextCursor());
+        }
+        return response.body(comments.getItems());
     }
 
     /**
@@ -160,4 +216,18 @@ public class CommentControllerImpl implements CommentController {
     public ResponseEntity<String> handleCommentNotFoundException(CommentNotFoundException e) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
+
+    /**
+     * Обработчик исключения, когда курсор страницы некорректен.
+     * <p>
+     * Возвращает ошибку с кодом 400, если курсор поврежден.
+     * </p>
+     *
+     * @param e исключение типа {@link InvalidCursorException}.
+     * @return сообщение об ошибке с соответствующим статусом 400.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
 }
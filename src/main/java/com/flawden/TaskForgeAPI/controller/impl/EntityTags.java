@@ -0,0 +1,111 @@
+package com.flawden.TaskForgeAPI.controller.impl;
+
+import com.flawden.TaskForgeAPI.dto.EntityVersion;
+import org.springframework.http.ETag;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * EntityTags — построение и сравнение ETag по версиям сущностей.
+ *
+ * <p>Отдельная сущность получает сильный ETag из своей версии ({@code "3"}). Список получает слабый ETag
+ * из хэша идентификаторов и версий всех сущностей страницы: по одной максимальной версии не видны удаление
+ * сущности и изменение сущности, версия которой остается меньше максимальной.</p>
+ *
+ * <p>Версии выбираются до загрузки самих данных. Если данные изменятся между этими запросами, клиент получит
+ * более новое тело со старым ETag и при следующем запросе просто загрузит данные заново.</p>
+ */
+final class EntityTags {
+
+    private static final int WEAK_TAG_BYTES = 16;
+
+    private EntityTags() {
+    }
+
+    /**
+     * Строит сильный ETag сущности.
+     *
+     * @param version версия сущности.
+     * @return ETag в кавычках.
+     */
+    static String strong(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Строит слабый ETag списка.
+     *
+     * @param versions идентификаторы и версии сущностей в порядке списка.
+     * @return слабый ETag.
+     */
+    static String weak(List<EntityVersion> versions) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+        for (EntityVersion version : versions) {
+            buffer.clear();
+            buffer.putLong(version.id()).putLong(version.version());
+            digest.update(buffer.array());
+        }
+        return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, WEAK_TAG_BYTES) + "\"";
+    }
+
+    /**
+     * Проверяет заголовок {@code If-None-Match} слабым сравнением.
+     *
+     * @param ifNoneMatch значение заголовка или {@code null}.
+     * @param etag        текущий ETag.
+     * @return {@code true}, если у клиента актуальное представление и можно ответить 304.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        for (ETag tag : ETag.parse(ifNoneMatch)) {
+            if (tag.isWildcard() || tag.compare(current, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Извлекает ожидаемую версию из заголовка {@code If-Match}.
+     *
+     * <p>Заголовок сравнивается сильным сравнением, поэтому слабый или посторонний ETag не совпадает
+     * ни с одной версией.</p>
+     *
+     * @param ifMatch значение заголовка или {@code null}.
+     * @return ожидаемая версия, {@code -1} для ETag, не совпадающего ни с одной версией, или {@code null},
+     * если заголовок не задан или равен {@code *}.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.stream().anyMatch(ETag::isWildcard)) {
+            return null;
+        }
+        if (tags.size() != 1 || tags.get(0).weak()) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(tags.get(0).tag());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+}
@@ -1,19 +1,46 @@
 package com.flawden.TaskForgeAPI.controller.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flawden.TaskForgeAPI.controller.TaskController;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
+import com.flawden.TaskForgeAPI.dto.ExportFormat;
 import com.flawden.TaskForgeAPI.dto.task.Priority;
 import com.flawden.TaskForgeAPI.dto.task.Status;
 import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignment;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignmentResult;
+import com.flawden.TaskForgeAPI.dto.task.TaskBatchItemResult;
+import com.flawden.TaskForgeAPI.dto.task.TaskChanges;
+import com.flawden.TaskForgeAPI.dto.task.TaskFilter;
+import com.flawden.TaskForgeAPI.dto.task.TaskSort;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
+import com.flawden.TaskForgeAPI.exception.ChangesExpiredException;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
 import com.flawden.TaskForgeAPI.exception.TaskNotFoundException;
+import com.flawden.TaskForgeAPI.exception.TaskVersionMismatchException;
 import com.flawden.TaskForgeAPI.exception.UserAlreadyHaveThisTaskException;
 import com.flawden.TaskForgeAPI.exception.UserNotFoundException;
+import com.flawden.TaskForgeAPI.service.ExportService;
+import com.flawden.TaskForgeAPI.service.TaskBatchService;
 import com.flawden.TaskForgeAPI.service.TaskService;
+import com.flawden.TaskForgeAPI.service.events.TaskEventBroadcaster;
+import com.flawden.TaskForgeAPI.service.events.TaskEventFilter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -29,45 +56,118 @@ import java.util.List;
 public class TaskControllerImpl implements TaskController {
 
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final ExportService exportService;
+    private final TaskEventBroadcaster taskEventBroadcaster;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Заголовок ответа с курсором следующей страницы.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     /**
      * Получить все задачи с возможностью пагинации.
      * <p>
-     * Если параметры пагинации не переданы, возвращаются все задачи. В противном случае, данные
-     * задачи возвращаются с учетом заданных значений страницы и размера страницы.
+     * Если передан курсор, задачи возвращаются по курсору, а курсор следующей страницы передается в заголовке
+     * {@value #NEXT_CURSOR_HEADER}. Если не передан номер страницы, возвращаются все задачи. В противном случае
+     * задачи возвращаются с учетом заданных значений страницы и размера страницы. Заданные фильтры применяются
+     * во всех режимах.
+     * </p>
+     * <p>
+     * Слабый ETag страницы вычисляется по версиям ее задач до загрузки самих задач, поэтому при совпадении
+     * с {@code If-None-Match} задачи не загружаются и не сериализуются.
      * </p>
      *
-     * @param page  номер страницы (необязательный параметр).
-     * @param limit количество задач на одной странице (необязательный параметр).
+     * @param page        номер страницы (необязательный параметр).
+     * @param limit       количество задач на одной странице (необязательный параметр).
+     * @param title       подстрока названия задачи (необязательный параметр).
+     * @param status      статус задачи (необязательный параметр).
+     * @param priority    приоритет задачи (необязательный параметр).
+     * @param cursor      курсор страницы (необязательный параметр).
+     * @param sort        порядок сортировки при выборке по курсору.
+     * @param ifNoneMatch ETag страницы, уже полученной клиентом (необязательный параметр).
      * @return список задач.
      */
     @GetMapping
     @Override
-    public ResponseEntity<List<Task>> getAllTasks(Integer page, Integer limit, String title, Status status, Priority priority) {
-        if (page == null && limit == null && title == null && status == null && priority == null) {
-            return ResponseEntity.ok(taskService.getAllTasks());
-        } if (page != null && limit != null) {
-            return ResponseEntity.ok(taskService.getTasksWithPagination(page, limit));
-        }  if (title != null || status != null || priority != null) {
-            return ResponseEntity.ok(taskService.getTasksWithFiltration(title, status, priority));
-        } else {
-            return ResponseEntity.ok(taskService.getTasksWithPaginationAndFiltration(page, limit, title, status, priority));
+    public ResponseEntity<List<Task>> getAllTasks(Integer page, Integer limit, String title, Status status, Priority priority,
+                                                  String cursor, TaskSort sort, String ifNoneMatch) {
+        TaskFilter filter = new TaskFilter(title, status, priority);
+        String etag = EntityTags.weak(taskService.getTaskVersions(page, limit, cursor, sort, filter));
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (cursor != null) {
+            CursorPage<Task> tasks = taskService.getTasksAfterCursor(cursor, limit, sort, filter);
+            if (tasks.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, tasks.getNextCursor());
+            }
+            return response.body(tasks.getItems());
+        }
+        boolean filtered = !filter.isEmpty();
+        if (page == null) {
+            return response.body(filtered
+                    ? taskService.getTasksWithFiltration(title, status, priority)
+                    : taskService.getAllTasks());
+        }
+        return response.body(filtered
+                ? taskService.getTasksWithPaginationAndFiltration(page, limit, title, status, priority)
+                : taskService.getTasksWithPagination(page, limit));
+    }
+
+    /**
+     * Получить краткий список задач.
+     * <p>
+     * Обрабатывает запросы с параметром {@code view=summary}. Курсор следующей страницы передается
+     * в заголовке {@value #NEXT_CURSOR_HEADER}.
+     * </p>
+     *
+     * @param page     номер страницы (необязательный параметр).
+     * @param limit    количество задач на одной странице.
+     * @param title    подстрока названия задачи (необязательный параметр).
+     * @param status   статус задачи (необязательный параметр).
+     * @param priority приоритет задачи (необязательный параметр).
+     * @param cursor   курсор страницы (необязательный параметр).
+     * @param sort     порядок сортировки при выборке по курсору.
+     * @return список кратких представлений задач.
+     */
+    @GetMapping(params = "view=summary")
+    @Override
+    public ResponseEntity<List<TaskSummary>> getTaskSummaries(Integer page, Integer limit, String title, Status status,
+                                                              Priority priority, String cursor, TaskSort sort) {
+        TaskFilter filter = new TaskFilter(title, status, priority);
+        if (cursor == null) {
+            return ResponseEntity.ok(taskService.getTaskSummaries(page, limit, filter));
+        }
+        CursorPage<TaskSummary> summaries = taskService.getTaskSummariesAfterCursor(cursor, limit, sort, filter);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (summaries.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, summaries.getNextCursor());
         }
+        return response.body(summaries.getItems());
     }
 
     /**
      * Получить задачу по идентификатору.
      * <p>
-     * Возвращает задачу, соответствующую переданному идентификатору.
+     * Возвращает задачу, соответствующую переданному идентификатору. Версия задачи выбирается до самой задачи:
+     * если она совпадает с {@code If-None-Match}, задача не загружается, не преобразуется и не сериализуется.
      * </p>
      *
-     * @param id идентификатор задачи.
-     * @return задача с данным идентификатором.
+     * @param id          идентификатор задачи.
+     * @param ifNoneMatch ETag задачи, уже полученной клиентом.
+     * @return задача с данным идентификатором или 304, если она не изменилась.
      */
     @GetMapping("/{id}")
     @Override
-    public ResponseEntity<Task> getTaskById(Long id) {
-        return ResponseEntity.ok(taskService.getTaskById(id));
+    public ResponseEntity<Task> getTaskById(Long id, String ifNoneMatch) {
+        String etag = EntityTags.strong(taskService.getTaskVersion(id));
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(taskService.getTaskById(id));
     }
 
     /**
@@ -85,20 +185,41 @@ public class TaskControllerImpl implements TaskController {
         return ResponseEntity.ok(taskService.addTask(task));
     }
 
+    /**
+     * Создать задачи пакетом.
+     * <p>
+     * Тело запроса читается потоково: JSON-массив разбирается поэлементно, NDJSON — построчно, поэтому
+     * в памяти одновременно находится только текущая порция задач.
+     * </p>
+     *
+     * @param body тело запроса с задачами.
+     * @return результаты по каждому элементу пакета.
+     * @throws IOException если тело запроса не удалось прочитать.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Override
+    public ResponseEntity<List<TaskBatchItemResult>> addTasks(InputStream body) throws IOException {
+        try (MappingIterator<Task> tasks = objectMapper.readerFor(Task.class).readValues(body)) {
+            return ResponseEntity.ok(taskBatchService.addTasks(tasks));
+        }
+    }
+
     /**
      * Обновить задачу.
      * <p>
-     * Обновляет задачу с указанным идентификатором.
+     * Обновляет задачу с указанным идентификатором. Если передан {@code If-Match}, версия задачи сверяется
+     * с ним перед обновлением.
      * </p>
      *
-     * @param task   обновленные данные задачи.
-     * @param taskId идентификатор задачи, которую нужно обновить.
+     * @param task    обновленные данные задачи.
+     * @param taskId  идентификатор задачи, которую нужно обновить.
+     * @param ifMatch ETag задачи, на основе которой сделаны изменения.
      * @return HTTP статус успешного обновления.
      */
     @PatchMapping("/{id}")
     @Override
-    public ResponseEntity<HttpStatus> updateTask(@Valid Task task, Long taskId) {
-        taskService.updateTask(task, taskId);
+    public ResponseEntity<HttpStatus> updateTask(@Valid Task task, Long taskId, String ifMatch) {
+        taskService.updateTask(task, taskId, EntityTags.expectedVersion(ifMatch));
         return ResponseEntity.ok().build();
     }
 
@@ -133,6 +254,65 @@ public class TaskControllerImpl implements TaskController {
         return ResponseEntity.ok(taskService.getTaskByName(name));
     }
 
+    /**
+     * Выгрузить все задачи.
+     * <p>
+     * Задачи записываются в ответ по мере чтения из базы данных в отдельном потоке обработки запроса.
+     * </p>
+     *
+     * @param format формат выгрузки.
+     * @return поток с выгрузкой задач.
+     */
+    @GetMapping("/export")
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportTasks(ExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + format.getExtension()).build().toString())
+                .body(out -> exportService.exportTasks(format, out));
+    }
+
+    /**
+     * Найти задачи по словам из названия и описания.
+     *
+     * @param query строка запроса.
+     * @param limit максимальное количество результатов.
+     * @return краткие представления найденных задач по убыванию релевантности.
+     */
+    @GetMapping("/search")
+    @Override
+    public ResponseEntity<List<TaskSummary>> searchTasks(String query, Integer limit) {
+        return ResponseEntity.ok(taskService.searchTasks(query, limit));
+    }
+
+    /**
+     * Получить задачи, измененные и удаленные после позиции синхронизации.
+     *
+     * @param since позиция из предыдущего ответа.
+     * @param limit максимальное количество изменений.
+     * @return изменения задач и следующая позиция.
+     */
+    @GetMapping("/changes")
+    @Override
+    public ResponseEntity<TaskChanges> getTaskChanges(String since, Integer limit) {
+        return ResponseEntity.ok(taskService.getTaskChanges(since, limit));
+    }
+
+    /**
+     * Подписаться на события изменения задач.
+     *
+     * @param taskId     идентификатор задачи.
+     * @param assigneeId идентификатор исполнителя.
+     * @param status     статус задачи.
+     * @return поток Server-Sent Events.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Override
+    public ResponseEntity<SseEmitter> subscribeToTaskEvents(Long taskId, Long assigneeId, Status status) {
+        return ResponseEntity.ok(taskEventBroadcaster.subscribe(new TaskEventFilter(taskId, assigneeId, status)));
+    }
+
     /**
      * Назначить задачу пользователю.
      * <p>
@@ -150,6 +330,18 @@ public class TaskControllerImpl implements TaskController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Назначить задачи пользователям пакетом.
+     *
+     * @param assignments пары пользователь — задача.
+     * @return результаты назначения в порядке пар запроса.
+     */
+    @PostMapping("/assignments")
+    @Override
+    public ResponseEntity<List<TaskAssignmentResult>> assignTasksToUsers(@Valid List<TaskAssignment> assignments) {
+        return ResponseEntity.ok(taskService.assignTasksToUsers(assignments));
+    }
+
     /**
      * Обработчик исключения, когда пользователь уже имеет эту задачу.
      * <p>
@@ -178,6 +370,48 @@ public class TaskControllerImpl implements TaskController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
 
+    /**
+     * Обработчик исключения, когда версия задачи не совпадает с {@code If-Match}.
+     * <p>
+     * Возвращает ошибку с кодом 412: клиент изменял устаревшее представление задачи.
+     * </p>
+     *
+     * @param e исключение типа {@link TaskVersionMismatchException}.
+     * @return сообщение об ошибке с соответствующим статусом 412.
+     */
+    @ExceptionHandler(TaskVersionMismatchException.class)
+    public ResponseEntity<String> handleTaskVersionMismatchException(TaskVersionMismatchException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Задача была изменена");
+    }
+
+    /**
+     * Обработчик исключения, когда позиция синхронизации устарела.
+     * <p>
+     * Возвращает ошибку с кодом 410: отметки об удалении задач после этой позиции уже удалены.
+     * </p>
+     *
+     * @param e исключение типа {@link ChangesExpiredException}.
+     * @return сообщение об ошибке с соответствующим статусом 410.
+     */
+    @ExceptionHandler(ChangesExpiredException.class)
+    public ResponseEntity<String> handleChangesExpiredException(ChangesExpiredException e) {
+        return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+    }
+
+    /**
+     * Обработчик исключения, когда задача изменена параллельной транзакцией.
+     * <p>
+     * Возвращает ошибку с кодом 409, если версия задачи изменилась между ее чтением и сохранением.
+     * </p>
+     *
+     * @param e исключение типа {@link ObjectOptimisticLockingFailureException}.
+     * @return сообщение об ошибке с соответствующим статусом 409.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Задача изменена параллельным запросом");
+    }
+
     /**
      * Обработчик исключения, когда пользователь не найден.
      * <p>
@@ -192,4 +426,33 @@ public class TaskControllerImpl implements TaskController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
 
+    /**
+     * Обработчик исключения, когда курсор страницы некорректен.
+     * <p>
+     * Возвращает ошибку с кодом 400, если курсор поврежден или выдан для другого порядка сортировки.
+     * </p>
+     *
+     * @param e исключение типа {@link InvalidCursorException}.
+     * @return сообщение об ошибке с соответствующим статусом 400.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    /**
+     * Обработчик исключения, когда тело пакетного запроса не является JSON-массивом или NDJSON.
+     * <p>
+     * Возвращает ошибку с кодом 400. Ошибки в отдельных элементах пакета сюда не попадают: они возвращаются
+     * в результатах соответствующих элементов.
+     * </p>
+     *
+     * @param e исключение типа {@link JsonProcessingException}.
+     * @return сообщение об ошибке с соответствующим статусом 400.
+     */
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<String> handleJsonProcessingException(JsonProcessingException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Некорректное тело пакетного запроса");
+    }
+
 }
@@ -1,13 +1,17 @@
 package com.flawden.TaskForgeAPI.controller.impl;
 
 import com.flawden.TaskForgeAPI.controller.UserController;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
 import com.flawden.TaskForgeAPI.dto.user.UpdateUser;
 import com.flawden.TaskForgeAPI.dto.user.User;
+import com.flawden.TaskForgeAPI.dto.user.UserSort;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
 import com.flawden.TaskForgeAPI.exception.UserIsAlreadyExistException;
 import com.flawden.TaskForgeAPI.exception.UserNotFoundException;
 import com.flawden.TaskForgeAPI.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -31,37 +35,52 @@ public class UserControllerImpl implements UserController {
     /**
      * Получить всех пользователей с возможностью пагинации.
      * <p>
-     * Если параметры пагинации не переданы, возвращаются все пользователи. В противном случае, данные
-     * пользователи возвращаются с учетом заданных значений страницы и размера страницы.
+     * Если передан номер страницы, пользователи возвращаются с учетом заданных значений страницы, размера
+     * страницы и сортировки. Если передан курсор, возвращается следующая страница после курсора. В противном
+     * случае возвращаются пользователи в пределах {@code users.list.max-size}. Курсор продолжения, если он
+     * есть, передается в заголовке {@value TaskControllerImpl#NEXT_CURSOR_HEADER}.
      * </p>
      *
-     * @param page номер страницы (необязательный параметр).
-     * @param size количество пользователей на одной странице (необязательный параметр).
+     * @param page      номер страницы (необязательный параметр).
+     * @param size      количество пользователей на одной странице (необязательный параметр).
+     * @param sort      поле сортировки.
+     * @param direction направление сортировки.
+     * @param cursor    курсор страницы (необязательный параметр).
      * @return список пользователей.
      */
     @GetMapping
     @Override
-    public ResponseEntity<List<User>> getAllUsers(Integer page, Integer size) {
-        if (page == null) {
-            return ResponseEntity.ok(userService.getAllUsers());
-        } else {
-            return ResponseEntity.ok(userService.getUsersWithPagination(page, size));
+    public ResponseEntity<List<User>> getAllUsers(Integer page, Integer size, UserSort sort, Sort.Direction direction, String cursor) {
+        if (page != null) {
+            return ResponseEntity.ok(userService.getUsersWithPagination(page, size, sort, direction));
         }
+        CursorPage<User> users = cursor != null ? userService.getUsersAfterCursor(cursor, size) : userService.getAllUsers();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (users.getNextCursor() != null) {
+            response.header(TaskControllerImpl.NEXT_CURSOR_HEADER, users.getNextCursor());
+        }
+        return response.body(users.getItems());
     }
 
     /**
      * Получить пользователя по идентификатору.
      * <p>
-     * Возвращает пользователя, соответствующего переданному идентификатору.
+     * Возвращает пользователя, соответствующего переданному идентификатору. Если версия пользователя совпадает
+     * с {@code If-None-Match}, пользователь не загружается и возвращается 304.
      * </p>
      *
-     * @param id идентификатор пользователя.
-     * @return пользователь с данным идентификатором.
+     * @param id          идентификатор пользователя.
+     * @param ifNoneMatch ETag пользователя, уже полученного клиентом.
+     * @return пользователь с данным идентификатором или 304, если он не изменился.
      */
     @GetMapping("/{id}")
     @Override
-    public ResponseEntity<User> getUserById(Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<User> getUserById(Long id, String ifNoneMatch) {
+        String etag = EntityTags.strong(userService.getUserVersion(id));
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(userService.getUserById(id));
     }
 
     /**
@@ -140,4 +159,18 @@ public class UserControllerImpl implements UserController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
 
+    /**
+     * Обработчик исключения, когда курсор страницы некорректен.
+     * <p>
+     * Возвращает ошибку с кодом 400, если курсор поврежден.
+     * </p>
+     *
+     * @param e исключение типа {@link InvalidCursorException}.
+     * @return сообщение об ошибке с соответствующим статусом 400.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
 }
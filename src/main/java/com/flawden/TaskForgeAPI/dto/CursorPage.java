@@ -0,0 +1,21 @@
+package com.flawden.TaskForgeAPI.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Страница данных, полученная по курсору")
+public class CursorPage<T> {
+
+    @Schema(description = "Элементы страницы")
+    private List<T> items;
+
+    @Schema(description = "Курсор следующей страницы, отсутствует на последней странице", example = "SUR8NDI")
+    private String nextCursor;
+}
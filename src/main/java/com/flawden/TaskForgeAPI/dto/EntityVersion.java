@@ -0,0 +1,13 @@
+package com.flawden.TaskForgeAPI.dto;
+
+/**
+ * Идентификатор и версия сущности, выбранные без загрузки самой сущности.
+ *
+ * <p>Используется для вычисления ETag списков: если версии страницы не изменились, страница не загружается
+ * и не сериализуется.</p>
+ *
+ * @param id      идентификатор сущности.
+ * @param version версия сущности.
+ */
+public record EntityVersion(Long id, long version) {
+}
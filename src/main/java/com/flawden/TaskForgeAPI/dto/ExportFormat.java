@@ -0,0 +1,41 @@
+package com.flawden.TaskForgeAPI.dto;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Формат выгрузки данных.
+ *
+ * <ul>
+ *     <li>{@link #NDJSON} — по одному JSON-объекту в строке.</li>
+ *     <li>{@link #CSV} — CSV (RFC 4180) с заголовком.</li>
+ * </ul>
+ */
+public enum ExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * @return тип содержимого ответа.
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return расширение файла выгрузки.
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,15 @@
+package com.flawden.TaskForgeAPI.dto.task;
+
+/**
+ * Результат назначения задачи пользователю.
+ *
+ * <ul>
+ *     <li>{@link #ASSIGNED} — задача назначена.</li>
+ *     <li>{@link #ALREADY_ASSIGNED} — задача уже была назначена пользователю.</li>
+ *     <li>{@link #TASK_NOT_FOUND} — задача не найдена.</li>
+ *     <li>{@link #USER_NOT_FOUND} — пользователь не найден.</li>
+ * </ul>
+ */
+public enum AssignmentStatus {
+    ASSIGNED, ALREADY_ASSIGNED, TASK_NOT_FOUND, USER_NOT_FOUND
+}
@@ -1,5 +1,15 @@
 package com.flawden.TaskForgeAPI.dto.task;
 
+/**
+ * Приоритет задачи. Значения объявлены по возрастанию важности.
+ */
 public enum Priority {
-    LOW, MEDIUM, HIGH
+    LOW, MEDIUM, HIGH;
+
+    /**
+     * @return ранг приоритета для сортировки: чем важнее приоритет, тем больше ранг.
+     */
+    public int rank() {
+        return ordinal();
+    }
 }
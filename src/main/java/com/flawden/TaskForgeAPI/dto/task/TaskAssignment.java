@@ -0,0 +1,22 @@
+package com.flawden.TaskForgeAPI.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Назначение задачи пользователю")
+public class TaskAssignment {
+
+    @NotNull(message = "Идентификатор пользователя не может быть пустым")
+    @Schema(description = "Идентификатор пользователя", example = "1")
+    private Long userId;
+
+    @NotNull(message = "Идентификатор задачи не может быть пустым")
+    @Schema(description = "Идентификатор задачи", example = "1")
+    private Long taskId;
+}
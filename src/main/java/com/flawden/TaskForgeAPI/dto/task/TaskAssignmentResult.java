@@ -0,0 +1,22 @@
+package com.flawden.TaskForgeAPI.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Результат назначения задачи пользователю")
+public class TaskAssignmentResult {
+
+    @Schema(description = "Идентификатор пользователя", example = "1")
+    private Long userId;
+
+    @Schema(description = "Идентификатор задачи", example = "1")
+    private Long taskId;
+
+    @Schema(description = "Результат назначения", example = "ASSIGNED")
+    private AssignmentStatus status;
+}
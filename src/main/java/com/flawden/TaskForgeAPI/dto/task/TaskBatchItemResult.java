@@ -0,0 +1,24 @@
+package com.flawden.TaskForgeAPI.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Результат создания одной задачи из пакета")
+public class TaskBatchItemResult {
+
+    @Schema(description = "Порядковый номер элемента в пакете (от 0)", example = "0")
+    private int index;
+
+    @Schema(description = "Идентификатор созданной задачи; отсутствует, если задача не создана", example = "1")
+    private Long id;
+
+    @Schema(description = "Причины, по которым задача не создана")
+    private List<String> errors;
+}
@@ -0,0 +1,24 @@
+package com.flawden.TaskForgeAPI.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Событие изменения задачи или ее комментария.
+ *
+ * <p>Событие содержит только идентификаторы: клиент загружает изменившиеся данные сам, при необходимости
+ * с условным запросом по ETag.</p>
+ *
+ * @param type      тип изменения.
+ * @param taskId    идентификатор задачи.
+ * @param commentId идентификатор комментария или {@code null} для событий задачи.
+ */
+@Schema(description = "Событие изменения задачи или комментария")
+public record TaskChangeEvent(
+        @Schema(description = "Тип изменения", example = "TASK_UPDATED") TaskChangeType type,
+        @Schema(description = "Идентификатор задачи", example = "1") Long taskId,
+        @Schema(description = "Идентификатор комментария; только для событий комментариев", example = "5") Long commentId) {
+
+    public static TaskChangeEvent task(TaskChangeType type, Long taskId) {
+        return new TaskChangeEvent(type, taskId, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.flawden.TaskForgeAPI.dto.task;
+
+/**
+ * Тип события изменения задачи.
+ *
+ * <ul>
+ *     <li>{@link #TASK_CREATED}, {@link #TASK_UPDATED}, {@link #TASK_DELETED} — задача создана, изменена
+ *     (в том числе назначен исполнитель) или удалена.</li>
+ *     <li>{@link #COMMENT_CREATED}, {@link #COMMENT_UPDATED}, {@link #COMMENT_DELETED} — комментарий к задаче
+ *     добавлен, изменен или удален.</li>
+ * </ul>
+ */
+public enum TaskChangeType {
+    TASK_CREATED, TASK_UPDATED, TASK_DELETED, COMMENT_CREATED, COMMENT_UPDATED, COMMENT_DELETED
+}
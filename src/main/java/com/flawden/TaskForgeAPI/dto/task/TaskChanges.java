@@ -0,0 +1,27 @@
+package com.flawden.TaskForgeAPI.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Изменения задач после позиции синхронизации")
+public class TaskChanges {
+
+    @Schema(description = "Задачи, созданные или измененные после позиции, в порядке изменения")
+    private List<Task> changed;
+
+    @Schema(description = "Идентификаторы задач, удаленных после позиции", example = "[3, 7]")
+    private List<Long> deleted;
+
+    @Schema(description = "Позиция для следующего запроса изменений", example = "MTcyOTE2MDAwMDAwMDAwMHw0Mnwx")
+    private String next;
+
+    @Schema(description = "Есть ли еще изменения, не поместившиеся в ответ", example = "false")
+    private boolean hasMore;
+}
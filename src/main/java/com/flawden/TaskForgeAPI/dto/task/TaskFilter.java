@@ -0,0 +1,34 @@
+package com.flawden.TaskForgeAPI.dto.task;
+
+/**
+ * Необязательные условия отбора задач.
+ *
+ * <p>Каждое условие применяется, только если оно задано: {@code null} (и пустое название) означает
+ * «без ограничения по этому полю», а не поиск задач с пустым значением.</p>
+ *
+ * @param title    подстрока названия задачи.
+ * @param status   статус задачи.
+ * @param priority приоритет задачи.
+ */
+public record TaskFilter(String title, Status status, Priority priority) {
+
+    /**
+     * Фильтр без условий.
+     */
+    public static final TaskFilter NONE = new TaskFilter(null, null, null);
+
+    public TaskFilter {
+        if (title != null && title.isEmpty()) {
+            title = null;
+        }
+    }
+
+    /**
+     * Проверяет, что не задано ни одно условие.
+     *
+     * @return {@code true}, если фильтр не ограничивает выборку.
+     */
+    public boolean isEmpty() {
+        return title == null && status == null && priority == null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.flawden.TaskForgeAPI.dto.task;
+
+/**
+ * Порядок сортировки задач при постраничном получении по курсору.
+ *
+ * <ul>
+ *     <li>{@link #ID} — по идентификатору задачи.</li>
+ *     <li>{@link #PRIORITY} — по приоритету от {@link Priority#LOW} к {@link Priority#HIGH}, затем по идентификатору.</li>
+ * </ul>
+ */
+public enum TaskSort {
+    ID, PRIORITY
+}
@@ -0,0 +1,31 @@
+package com.flawden.TaskForgeAPI.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Краткое представление задачи для списков, без исполнителей и комментариев")
+public class TaskSummary {
+
+    @Schema(description = "Уникальный идентификатор задачи", example = "1")
+    private Long id;
+
+    @Schema(description = "Название задачи", example = "Задача 1")
+    private String title;
+
+    @Schema(description = "Статус задачи", example = "PENDING")
+    private Status status;
+
+    @Schema(description = "Приоритет задачи", example = "MEDIUM")
+    private Priority priority;
+
+    @Schema(description = "Количество комментариев к задаче; отсутствует в результатах поиска", example = "3")
+    private Integer commentCount;
+
+    @Schema(description = "Количество исполнителей задачи; отсутствует в результатах поиска", example = "2")
+    private Integer executorCount;
+}
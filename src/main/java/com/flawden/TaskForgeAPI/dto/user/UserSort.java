@@ -0,0 +1,21 @@
+package com.flawden.TaskForgeAPI.dto.user;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Допустимые поля сортировки списка пользователей.
+ *
+ * <p>Сортировка разрешена только по перечисленным полям, чтобы клиент не мог упорядочить выборку
+ * по произвольному (в том числе неиндексированному или закрытому) полю.</p>
+ */
+@Getter
+@RequiredArgsConstructor
+public enum UserSort {
+    ID("id"),
+    EMAIL("email"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName");
+
+    private final String property;
+}
@@ -0,0 +1,11 @@
+package com.flawden.TaskForgeAPI.exception;
+
+public class ChangesExpiredException extends RuntimeException {
+
+    public ChangesExpiredException() {
+    }
+
+    public ChangesExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.flawden.TaskForgeAPI.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+    }
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
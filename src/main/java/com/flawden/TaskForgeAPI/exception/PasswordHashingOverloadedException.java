@@ -0,0 +1,11 @@
+package com.flawden.TaskForgeAPI.exception;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    public PasswordHashingOverloadedException() {
+    }
+
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
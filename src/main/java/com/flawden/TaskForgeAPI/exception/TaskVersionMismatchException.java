@@ -0,0 +1,11 @@
+package com.flawden.TaskForgeAPI.exception;
+
+public class TaskVersionMismatchException extends RuntimeException {
+
+    public TaskVersionMismatchException() {
+    }
+
+    public TaskVersionMismatchException(String message) {
+        super(message);
+    }
+}
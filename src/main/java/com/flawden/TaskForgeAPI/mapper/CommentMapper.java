@@ -20,6 +20,7 @@ public interface CommentMapper {
 
     @Mapping(target = "author", source = "author", qualifiedByName = "mapToUserEntity")
     @Mapping(target = "task", source = "task", qualifiedByName = "mapToTaskEntity")
+    @Mapping(target = "version", ignore = true)
     CommentEntity mapCommentToCommentEntity(Comment comment);
 
     @Named("mapToUserEntity")
@@ -3,7 +3,9 @@ package com.flawden.TaskForgeAPI.mapper;
 import com.flawden.TaskForgeAPI.dto.task.Priority;
 import com.flawden.TaskForgeAPI.dto.task.Status;
 import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.user.User;
 import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.model.UserEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -21,8 +23,15 @@ public interface TaskMapper {
     @Mapping(target = "priority", source = "priority", qualifiedByName = "stringToPriority")
     @Mapping(target = "executors", source = "executors")
     @Mapping(target = "comments", source = "comments")
+    @Mapping(target = "commentCount", ignore = true)
+    @Mapping(target = "executorCount", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     TaskEntity mapTaskToTaskEntity(Task task);
 
+    @Mapping(target = "version", ignore = true)
+    UserEntity mapUserToUserEntity(User user);
+
     @Named("enumToString")
     static String enumToString(Enum<?> value) {
         return value != null ? value.name() : null;
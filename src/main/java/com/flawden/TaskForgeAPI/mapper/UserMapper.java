@@ -15,6 +15,7 @@ public interface UserMapper {
     @Mapping(target = "password", ignore = true)
     @Mapping(target = "taskEntities", ignore = true)
     @Mapping(target = "role", source = "role", qualifiedByName = "stringToRole")
+    @Mapping(target = "version", ignore = true)
     UserEntity mapUserToUserEntity(User user);
 
     UpdateUser mapUserEntityToUpdateUser(UserEntity userEntity);
@@ -23,10 +24,12 @@ public interface UserMapper {
     @Mapping(target = "password", ignore = true)
     @Mapping(target = "role", ignore = true)
     @Mapping(target = "taskEntities", ignore = true)
+    @Mapping(target = "version", ignore = true)
     UserEntity mapUpdateUserToUserEntity(UpdateUser updateUser);
 
     @Mapping(target = "email", source = "username")
     @Mapping(target = "role", expression = "java(getRoleFromString(register.getRole()))")
+    @Mapping(target = "version", ignore = true)
     UserEntity mapRegisterToUserEntity(Register register);
 
     default Role getRoleFromString(String role) {
@@ -49,6 +52,7 @@ public interface UserMapper {
     @Mapping(target = "firstName", ignore = true)
     @Mapping(target = "lastName", ignore = true)
     @Mapping(target = "role", ignore = true)
+    @Mapping(target = "version", ignore = true)
     UserEntity mapLoginToUserEntity(Login login);
 
     @Named("roleToString")
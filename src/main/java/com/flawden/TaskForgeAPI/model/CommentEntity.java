@@ -3,10 +3,10 @@ package com.flawden.TaskForgeAPI.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
-@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
@@ -31,4 +31,19 @@ public class CommentEntity {
     @OnDelete(action = OnDeleteAction.CASCADE)
     @NotNull(message = "Задача не может быть пустой")
     private TaskEntity task;
+
+    /**
+     * Версия комментария для оптимистической блокировки и ETag.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    public CommentEntity(Long id, String text, UserEntity author, TaskEntity task) {
+        this.id = id;
+        this.text = text;
+        this.author = author;
+        this.task = task;
+    }
 }
@@ -0,0 +1,44 @@
+package com.flawden.TaskForgeAPI.model;
+
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+
+/**
+ * Событие изменения задачи, ожидающее передачи внешним потребителям.
+ *
+ * <p>Записывается в той же транзакции, что и изменение, и удаляется после передачи. Идентификаторы выдаются
+ * последовательностью блоками, поэтому вставки событий пакетной операции объединяются в пачки JDBC.</p>
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = "id")
+@Entity
+@Table(name = "outbox")
+public class OutboxEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private TaskChangeType type;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "comment_id")
+    private Long commentId;
+
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
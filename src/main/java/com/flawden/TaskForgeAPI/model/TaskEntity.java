@@ -6,10 +6,12 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.List;
 
-@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
@@ -20,7 +22,8 @@ import java.util.List;
 public class TaskEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_entity_seq")
+    @SequenceGenerator(name = "task_entity_seq", sequenceName = "task_entity_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Название задачи не может быть пустым")
@@ -39,7 +42,15 @@ public class TaskEntity {
     @NotNull(message = "Приоритет задачи не может быть пустым")
     private Priority priority;
 
-    @ManyToMany(cascade = CascadeType.ALL)
+    /**
+     * Ранг приоритета для сортировки и курсора по приоритету: строковые значения {@link #priority}
+     * упорядочиваются по алфавиту, а не по важности. Задается вместе с приоритетом.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "priority_rank", nullable = false)
+    private int priorityRank;
+
+    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
             name = "task_user",
             joinColumns = @JoinColumn(name = "task_id"),
@@ -49,4 +60,53 @@ public class TaskEntity {
 
     @OneToMany(mappedBy = "task")
     private List<CommentEntity> comments;
+
+    /**
+     * Количество комментариев к задаче. Изменяется только атомарными запросами репозитория
+     * и сверкой {@code TaskCounterReconciler}, поэтому не записывается при сохранении сущности.
+     */
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private int commentCount;
+
+    /**
+     * Количество исполнителей задачи. Изменяется так же, как {@link #commentCount}.
+     */
+    @ColumnDefault("0")
+    @Column(name = "executor_count", nullable = false, insertable = false, updatable = false)
+    private int executorCount;
+
+    /**
+     * Версия задачи для оптимистической блокировки и ETag. Увеличивается и при изменении комментариев
+     * и исполнителей, поскольку они входят в представление задачи.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Время последнего изменения представления задачи. Обновляется вместе с {@link #version} и служит
+     * водяным знаком выборки изменений для синхронизации клиентов.
+     */
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public TaskEntity(Long id, String title, String description, Status status, Priority priority,
+                      List<UserEntity> executors, List<CommentEntity> comments) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        setPriority(priority);
+        this.executors = executors;
+        this.comments = comments;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+        this.priorityRank = priority == null ? 0 : priority.rank();
+    }
 }
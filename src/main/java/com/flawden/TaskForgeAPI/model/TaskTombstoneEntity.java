@@ -0,0 +1,30 @@
+package com.flawden.TaskForgeAPI.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Отметка об удалении задачи.
+ *
+ * <p>Хранится, пока клиенты могут запросить изменения, начиная с момента до удаления, чтобы выборка
+ * изменений сообщила им об удаленной задаче.</p>
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = "taskId")
+@Entity
+@Table(name = "task_tombstone")
+public class TaskTombstoneEntity {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
@@ -6,10 +6,10 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
-@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
@@ -44,8 +44,27 @@ public class UserEntity {
     @JoinTable(
             name = "task_user",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "task_id")
+            inverseJoinColumns = @JoinColumn(name = "task_id"),
+            uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "task_id"})
     )
     private List<TaskEntity> taskEntities;
 
+    /**
+     * Версия пользователя для оптимистической блокировки и ETag.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    public UserEntity(Long id, String email, String password, String firstName, String lastName, Role role,
+                      List<TaskEntity> taskEntities) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.role = role;
+        this.taskEntities = taskEntities;
+    }
 }
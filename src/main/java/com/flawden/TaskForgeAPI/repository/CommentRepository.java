@@ -1,13 +1,30 @@
 package com.flawden.TaskForgeAPI.repository;
 
+import com.flawden.TaskForgeAPI.dto.Comment;
+import com.flawden.TaskForgeAPI.dto.EntityVersion;
 import com.flawden.TaskForgeAPI.model.CommentEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
 
-    Optional<CommentEntity> findCommentEntityByAuthorId(Long authorId);
-    Optional<CommentEntity> findCommentEntitiesByTaskId(Long taskId);
+    @Query("SELECT new com.flawden.TaskForgeAPI.dto.Comment(c.id, c.text, c.author.id, c.task.id) FROM CommentEntity c "
+            + "WHERE c.task.id = :taskId AND c.id > :afterId ORDER BY c.id")
+    List<Comment> findCommentsByTaskIdAfter(Long taskId, Long afterId, Limit limit);
+
+    @Query("SELECT new com.flawden.TaskForgeAPI.dto.Comment(c.id, c.text, c.author.id, c.task.id) FROM CommentEntity c "
+            + "WHERE c.author.id = :authorId AND c.id > :afterId ORDER BY c.id")
+    List<Comment> findCommentsByAuthorIdAfter(Long authorId, Long afterId, Limit limit);
+
+    @Query("SELECT c.version FROM CommentEntity c WHERE c.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("SELECT new com.flawden.TaskForgeAPI.dto.EntityVersion(c.id, c.version) FROM CommentEntity c "
+            + "WHERE c.task.id = :taskId AND c.id > :afterId ORDER BY c.id")
+    List<EntityVersion> findVersionsByTaskIdAfter(Long taskId, Long afterId, Limit limit);
 
 }
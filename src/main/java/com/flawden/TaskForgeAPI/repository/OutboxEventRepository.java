@@ -0,0 +1,7 @@
+package com.flawden.TaskForgeAPI.repository;
+
+import com.flawden.TaskForgeAPI.model.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+}
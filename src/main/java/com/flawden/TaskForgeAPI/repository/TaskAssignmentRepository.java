@@ -0,0 +1,22 @@
+package com.flawden.TaskForgeAPI.repository;
+
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignment;
+
+import java.util.List;
+
+/**
+ * Назначение задач пользователям без загрузки коллекций задач пользователя.
+ */
+public interface TaskAssignmentRepository {
+
+    /**
+     * Добавляет связи задач с пользователями, которых еще нет в {@code task_user}.
+     *
+     * <p>Существование связи проверяется по первичному ключу {@code (user_id, task_id)}, поэтому стоимость
+     * не зависит от количества задач пользователя. Задачи и пользователи должны существовать.</p>
+     *
+     * @param assignments пары пользователь — задача.
+     * @return для каждой пары {@code true}, если связь добавлена, и {@code false}, если она уже была.
+     */
+    boolean[] insertAssignmentsIfAbsent(List<TaskAssignment> assignments);
+}
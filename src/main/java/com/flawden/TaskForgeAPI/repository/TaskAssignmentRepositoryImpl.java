@@ -0,0 +1,64 @@
+package com.flawden.TaskForgeAPI.repository;
+
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Реализация {@link TaskAssignmentRepository} пакетными вставками JDBC.
+ *
+ * <p>В PostgreSQL используется {@code INSERT ... ON CONFLICT DO NOTHING}, в остальных базах — вставка
+ * с условием {@code NOT EXISTS}. Все пары отправляются пачками по {@value #BATCH_SIZE} запросов.</p>
+ */
+@RequiredArgsConstructor
+public class TaskAssignmentRepositoryImpl implements TaskAssignmentRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String POSTGRESQL_INSERT_IF_ABSENT =
+            "INSERT INTO task_user (user_id, task_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO task_user (user_id, task_id) SELECT CAST(? AS BIGINT), CAST(? AS BIGINT) " +
+            "WHERE NOT EXISTS (SELECT 1 FROM task_user WHERE user_id = ? AND task_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgresql;
+
+    @Override
+    public boolean[] insertAssignmentsIfAbsent(List<TaskAssignment> assignments) {
+        boolean onConflict = isPostgresql();
+        int[][] counts = jdbcTemplate.batchUpdate(onConflict ? POSTGRESQL_INSERT_IF_ABSENT : INSERT_IF_ABSENT,
+                assignments, BATCH_SIZE, (statement, assignment) -> {
+                    statement.setLong(1, assignment.getUserId());
+                    statement.setLong(2, assignment.getTaskId());
+                    if (!onConflict) {
+                        statement.setLong(3, assignment.getUserId());
+                        statement.setLong(4, assignment.getTaskId());
+                    }
+                });
+        boolean[] inserted = new boolean[assignments.size()];
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                inserted[index++] = count > 0 || count == Statement.SUCCESS_NO_INFO;
+            }
+        }
+        return inserted;
+    }
+
+    private boolean isPostgresql() {
+        Boolean result = postgresql;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+            postgresql = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package com.flawden.TaskForgeAPI.repository;
+
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.TaskFilter;
+import com.flawden.TaskForgeAPI.dto.task.TaskSort;
+
+/**
+ * Параметры выборки задач для {@link TaskQueryRepository}.
+ *
+ * <p>Выборка возможна в трех режимах: все задачи, страница по номеру ({@code offset}/{@code limit}) и страница
+ * после позиции курсора ({@code afterId}, а при сортировке по приоритету — и {@code afterPriority}).</p>
+ *
+ * @param filter        условия отбора.
+ * @param sort          порядок сортировки.
+ * @param afterPriority приоритет последней задачи предыдущей страницы или {@code null}.
+ * @param afterId       идентификатор последней задачи предыдущей страницы или {@code null}.
+ * @param offset        количество пропускаемых задач.
+ * @param limit         максимальное количество задач или 0 без ограничения.
+ */
+public record TaskQuery(TaskFilter filter, TaskSort sort, Priority afterPriority, Long afterId, int offset, int limit) {
+
+    /**
+     * Все задачи, удовлетворяющие фильтру, по возрастанию идентификатора.
+     *
+     * @param filter условия отбора.
+     * @return параметры выборки.
+     */
+    public static TaskQuery all(TaskFilter filter) {
+        return new TaskQuery(filter, TaskSort.ID, null, null, 0, 0);
+    }
+
+    /**
+     * Страница задач по номеру, по возрастанию идентификатора.
+     *
+     * @param filter условия отбора.
+     * @param page   номер страницы (от 0).
+     * @param size   размер страницы.
+     * @return параметры выборки.
+     */
+    public static TaskQuery page(TaskFilter filter, int page, int size) {
+        return new TaskQuery(filter, TaskSort.ID, null, null, page * size, size);
+    }
+
+    /**
+     * Задачи после позиции курсора.
+     *
+     * @param filter   условия отбора.
+     * @param sort     порядок сортировки.
+     * @param priority приоритет последней задачи предыдущей страницы или {@code null} для первой страницы.
+     * @param id       идентификатор последней задачи предыдущей страницы или {@code null} для первой страницы.
+     * @param limit    максимальное количество задач.
+     * @return параметры выборки.
+     */
+    public static TaskQuery after(TaskFilter filter, TaskSort sort, Priority priority, Long id, int limit) {
+        return new TaskQuery(filter, sort, priority, id, 0, limit);
+    }
+}
@@ -0,0 +1,41 @@
+package com.flawden.TaskForgeAPI.repository;
+
+import com.flawden.TaskForgeAPI.dto.EntityVersion;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+
+import java.util.List;
+
+/**
+ * Выборка задач с необязательными фильтрами.
+ *
+ * <p>Запрос строится динамически: в условие попадают только заданные фильтры, поэтому планировщик видит
+ * ровно те столбцы, по которым идет отбор, и может выбрать подходящий индекс — {@code (status, priority, id)},
+ * {@code (priority, id)} или триграммный индекс по названию.</p>
+ */
+public interface TaskQueryRepository {
+
+    /**
+     * Выбирает задачи.
+     *
+     * @param query параметры выборки.
+     * @return сущности задач в порядке сортировки.
+     */
+    List<TaskEntity> findTasks(TaskQuery query);
+
+    /**
+     * Выбирает краткие представления задач проекцией, без создания сущностей.
+     *
+     * @param query параметры выборки.
+     * @return краткие представления задач в порядке сортировки.
+     */
+    List<TaskSummary> findTaskSummaries(TaskQuery query);
+
+    /**
+     * Выбирает идентификаторы и версии задач, без создания сущностей.
+     *
+     * @param query параметры выборки.
+     * @return идентификаторы и версии задач в порядке сортировки.
+     */
+    List<EntityVersion> findTaskVersions(TaskQuery query);
+}
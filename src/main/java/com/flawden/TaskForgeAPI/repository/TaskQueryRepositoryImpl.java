@@ -0,0 +1,114 @@
+package com.flawden.TaskForgeAPI.repository;
+
+import com.flawden.TaskForgeAPI.dto.EntityVersion;
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.TaskFilter;
+import com.flawden.TaskForgeAPI.dto.task.TaskSort;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Реализация {@link TaskQueryRepository} на Criteria API.
+ *
+ * <p>Поиск по названию выполняется через {@code LIKE} с экранированием спецсимволов шаблона, чтобы
+ * {@code %} и {@code _} во вводе пользователя искались буквально.</p>
+ *
+ * <p>Сортировка и курсор по приоритету используют ранг приоритета ({@code priority_rank}), так как строковые
+ * значения приоритета упорядочиваются по алфавиту.</p>
+ */
+public class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskEntity> findTasks(TaskQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskEntity> criteria = cb.createQuery(TaskEntity.class);
+        Root<TaskEntity> task = criteria.from(TaskEntity.class);
+        criteria.select(task);
+        return execute(criteria, task, query);
+    }
+
+    @Override
+    public List<TaskSummary> findTaskSummaries(TaskQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> criteria = cb.createQuery(TaskSummary.class);
+        Root<TaskEntity> task = criteria.from(TaskEntity.class);
+        criteria.select(cb.construct(TaskSummary.class,
+                task.get("id"), task.get("title"), task.get("status"), task.get("priority"),
+                task.get("commentCount"), task.get("executorCount")));
+        return execute(criteria, task, query);
+    }
+
+    @Override
+    public List<EntityVersion> findTaskVersions(TaskQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EntityVersion> criteria = cb.createQuery(EntityVersion.class);
+        Root<TaskEntity> task = criteria.from(TaskEntity.class);
+        criteria.select(cb.construct(EntityVersion.class, task.get("id"), task.get("version")));
+        return execute(criteria, task, query);
+    }
+
+    private <T> List<T> execute(CriteriaQuery<T> criteria, Root<TaskEntity> task, TaskQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Path<Long> id = task.get("id");
+        Path<Priority> priority = task.get("priority");
+        Path<Integer> priorityRank = task.get("priorityRank");
+
+        List<Predicate> predicates = new ArrayList<>();
+        TaskFilter filter = query.filter();
+        if (filter.title() != null) {
+            predicates.add(cb.like(task.get("title"), "%" + escapeLike(filter.title()) + "%", LIKE_ESCAPE));
+        }
+        if (filter.status() != null) {
+            predicates.add(cb.equal(task.get("status"), filter.status()));
+        }
+        if (filter.priority() != null) {
+            predicates.add(cb.equal(priority, filter.priority()));
+        }
+        if (query.afterId() != null) {
+            predicates.add(query.sort() == TaskSort.PRIORITY
+                    ? cb.and(cb.greaterThanOrEqualTo(priorityRank, query.afterPriority().rank()),
+                             cb.or(cb.greaterThan(priorityRank, query.afterPriority().rank()), cb.greaterThan(id, query.afterId())))
+                    : cb.greaterThan(id, query.afterId()));
+        }
+        criteria.where(predicates.toArray(Predicate[]::new));
+        criteria.orderBy(query.sort() == TaskSort.PRIORITY
+                ? List.of(cb.asc(priorityRank), cb.asc(id))
+                : List.of(cb.asc(id)));
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(criteria);
+        if (query.offset() > 0) {
+            typedQuery.setFirstResult(query.offset());
+        }
+        if (query.limit() > 0) {
+            typedQuery.setMaxResults(query.limit());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
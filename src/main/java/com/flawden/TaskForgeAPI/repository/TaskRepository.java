@@ -1,20 +1,95 @@
 package com.flawden.TaskForgeAPI.repository;
 
 import com.flawden.TaskForgeAPI.dto.task.Status;
-import com.flawden.TaskForgeAPI.dto.task.Priority;
 import com.flawden.TaskForgeAPI.model.TaskEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
+public interface TaskRepository extends JpaRepository<TaskEntity, Long>, TaskQueryRepository, TaskAssignmentRepository {
 
     Optional<TaskEntity> findTaskEntitiesByTitle(String title);
 
-    List<TaskEntity> findByTitleContainingAndStatusAndPriority(String title, Status status, Priority priority);
+    Slice<TaskEntity> findAllBy(Pageable pageable);
 
-    List<TaskEntity> findByTitleContainingAndStatusAndPriority(String title, Status status, Priority priority, Pageable pageable);
+    @Query("SELECT t.id FROM TaskEntity t WHERE t.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT t FROM TaskEntity t LEFT JOIN FETCH t.executors WHERE t.id IN :ids")
+    List<TaskEntity> fetchExecutors(Collection<Long> ids);
+
+    @Query("SELECT t FROM TaskEntity t LEFT JOIN FETCH t.comments c LEFT JOIN FETCH c.author WHERE t.id IN :ids")
+    List<TaskEntity> fetchCommentsWithAuthors(Collection<Long> ids);
+
+    @Query("SELECT t.version FROM TaskEntity t WHERE t.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("SELECT t.status FROM TaskEntity t WHERE t.id = :id")
+    Optional<Status> findStatusById(Long id);
+
+    @Query("SELECT e.id FROM TaskEntity t JOIN t.executors e WHERE t.id = :id")
+    List<Long> findExecutorIdsById(Long id);
+
+    @Query("SELECT t FROM TaskEntity t WHERE (t.updatedAt > :updatedAt OR (t.updatedAt = :updatedAt AND t.id > :id)) "
+            + "AND t.updatedAt <= :until ORDER BY t.updatedAt, t.id")
+    List<TaskEntity> findChangedAfter(Instant updatedAt, Long id, Instant until, Limit limit);
+
+    /*
+     * Массовые изменения задачи обновляют версию и время изменения так же, как сохранение сущности
+     * с @Version и @UpdateTimestamp. Время берется из часов приложения, как и в @UpdateTimestamp.
+     */
+
+    default int addToCommentCount(Long id, int delta) {
+        return addToCommentCount(id, delta, Instant.now());
+    }
+
+    @Modifying
+    @Query("UPDATE TaskEntity t SET t.commentCount = t.commentCount + :delta, t.version = t.version + 1, "
+            + "t.updatedAt = :updatedAt WHERE t.id = :id")
+    int addToCommentCount(Long id, int delta, Instant updatedAt);
+
+    default int addToExecutorCount(Long id, int delta) {
+        return addToExecutorCount(id, delta, Instant.now());
+    }
+
+    @Modifying
+    @Query("UPDATE TaskEntity t SET t.executorCount = t.executorCount + :delta, t.version = t.version + 1, "
+            + "t.updatedAt = :updatedAt WHERE t.id = :id")
+    int addToExecutorCount(Long id, int delta, Instant updatedAt);
+
+    default int incrementVersion(Long id) {
+        return incrementVersion(id, Instant.now());
+    }
+
+    @Modifying
+    @Query("UPDATE TaskEntity t SET t.version = t.version + 1, t.updatedAt = :updatedAt WHERE t.id = :id")
+    int incrementVersion(Long id, Instant updatedAt);
+
+    default int incrementVersionsByExecutorId(Long userId) {
+        return incrementVersionsByExecutorId(userId, Instant.now());
+    }
+
+    @Modifying
+    @Query("UPDATE TaskEntity t SET t.version = t.version + 1, t.updatedAt = :updatedAt "
+            + "WHERE t.id IN (SELECT e.id FROM UserEntity u JOIN u.taskEntities e WHERE u.id = :userId)")
+    int incrementVersionsByExecutorId(Long userId, Instant updatedAt);
+
+    default int removeExecutorFromCounts(Long userId) {
+        return removeExecutorFromCounts(userId, Instant.now());
+    }
+
+    @Modifying
+    @Query("UPDATE TaskEntity t SET t.executorCount = t.executorCount - 1, t.version = t.version + 1, "
+            + "t.updatedAt = :updatedAt "
+            + "WHERE t.id IN (SELECT e.id FROM UserEntity u JOIN u.taskEntities e WHERE u.id = :userId)")
+    int removeExecutorFromCounts(Long userId, Instant updatedAt);
 
 }
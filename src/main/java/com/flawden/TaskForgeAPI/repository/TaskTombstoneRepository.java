@@ -0,0 +1,22 @@
+package com.flawden.TaskForgeAPI.repository;
+
+import com.flawden.TaskForgeAPI.model.TaskTombstoneEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstoneEntity, Long> {
+
+    @Query("SELECT t FROM TaskTombstoneEntity t WHERE (t.deletedAt > :deletedAt OR (t.deletedAt = :deletedAt AND t.taskId > :taskId)) "
+            + "AND t.deletedAt <= :until ORDER BY t.deletedAt, t.taskId")
+    List<TaskTombstoneEntity> findDeletedAfter(Instant deletedAt, Long taskId, Instant until, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstoneEntity t WHERE t.deletedAt < :before")
+    int deleteDeletedBefore(Instant before);
+
+}
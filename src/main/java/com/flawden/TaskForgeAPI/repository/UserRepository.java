@@ -1,12 +1,30 @@
 package com.flawden.TaskForgeAPI.repository;
 
 import com.flawden.TaskForgeAPI.model.UserEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     Optional<UserEntity> findByEmail(String email);
 
+    Slice<UserEntity> findAllBy(Pageable pageable);
+
+    List<UserEntity> findAllByOrderByIdAsc(Limit limit);
+
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT u.id FROM UserEntity u WHERE u.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT u.version FROM UserEntity u WHERE u.id = :id")
+    Optional<Long> findVersionById(Long id);
+
 }
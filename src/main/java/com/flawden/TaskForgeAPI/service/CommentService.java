@@ -1,8 +1,11 @@
 package com.flawden.TaskForgeAPI.service;
 
 import com.flawden.TaskForgeAPI.dto.Comment;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
+import com.flawden.TaskForgeAPI.dto.EntityVersion;
 import com.flawden.TaskForgeAPI.dto.user.Role;
 import com.flawden.TaskForgeAPI.exception.CommentNotFoundException;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.util.List;
@@ -50,6 +53,15 @@ public interface CommentService {
      */
     Comment getCommentById(Long id);
 
+    /**
+     * Получение версии комментария.
+     *
+     * @param id идентификатор комментария.
+     * @return версия комментария.
+     * @throws CommentNotFoundException если комментарий с таким идентификатором не найден.
+     */
+    long getCommentVersion(Long id);
+
     /**
      * Добавление нового комментария.
      * <p>
@@ -90,27 +102,44 @@ public interface CommentService {
     void deleteComment(Long id, String email);
 
     /**
-     * Получение комментария по идентификатору задачи.
+     * Получение комментариев к задаче по курсору.
      * <p>
-     * Этот метод возвращает комментарий, привязанный к задаче с заданным идентификатором.
+     * Этот метод возвращает комментарии к задаче с заданным идентификатором в порядке их создания. Следующая
+     * страница запрашивается по курсору, полученному вместе с предыдущей страницей.
      * </p>
      *
-     * @param id идентификатор задачи.
-     * @return комментарий, связанный с указанной задачей.
-     * @throws CommentNotFoundException если комментарий для указанной задачи не найден.
+     * @param id     идентификатор задачи.
+     * @param cursor курсор предыдущей страницы или {@code null} (пустая строка) для первой страницы.
+     * @param size   количество комментариев на странице.
+     * @return страница комментариев и курсор следующей страницы.
+     * @throws InvalidCursorException если курсор поврежден.
+     */
+    CursorPage<Comment> getCommentsByTaskId(Long id, String cursor, Integer size);
+
+    /**
+     * Получение идентификаторов и версий комментариев страницы {@link #getCommentsByTaskId}.
+     *
+     * @param id     идентификатор задачи.
+     * @param cursor курсор предыдущей страницы или {@code null} (пустая строка) для первой страницы.
+     * @param size   количество комментариев на странице.
+     * @return идентификаторы и версии комментариев страницы.
+     * @throws InvalidCursorException если курсор поврежден.
      */
-    Comment getCommentByTaskId(Long id);
+    List<EntityVersion> getCommentVersionsByTaskId(Long id, String cursor, Integer size);
 
     /**
-     * Получение комментария по идентификатору пользователя.
+     * Получение комментариев пользователя по курсору.
      * <p>
-     * Этот метод возвращает комментарий, созданный пользователем с заданным идентификатором.
+     * Этот метод возвращает комментарии, созданные пользователем с заданным идентификатором, в порядке их создания.
+     * Следующая страница запрашивается по курсору, полученному вместе с предыдущей страницей.
      * </p>
      *
-     * @param id идентификатор пользователя.
-     * @return комментарий, созданный указанным пользователем.
-     * @throws CommentNotFoundException если комментарий для указанного пользователя не найден.
+     * @param id     идентификатор пользователя.
+     * @param cursor курсор предыдущей страницы или {@code null} (пустая строка) для первой страницы.
+     * @param size   количество комментариев на странице.
+     * @return страница комментариев и курсор следующей страницы.
+     * @throws InvalidCursorException если курсор поврежден.
      */
-    Comment getCommentByUserId(Long id);
+    CursorPage<Comment> getCommentsByUserId(Long id, String cursor, Integer size);
 
 }
@@ -0,0 +1,37 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.flawden.TaskForgeAPI.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Сервис выгрузки данных.
+ * <p>
+ * Этот сервис выгружает все задачи или комментарии в поток. Строки читаются из базы данных курсором
+ * порциями фиксированного размера и сразу записываются в поток, поэтому расход памяти не зависит от количества
+ * выгружаемых строк.
+ * </p>
+ */
+public interface ExportService {
+
+    /**
+     * Выгрузка всех задач в порядке идентификаторов.
+     *
+     * @param format формат выгрузки.
+     * @param out    поток, в который записывается выгрузка.
+     * @throws IOException если запись в поток не удалась, например клиент закрыл соединение.
+     *                     Чтение из базы данных при этом прекращается.
+     */
+    void exportTasks(ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Выгрузка всех комментариев в порядке идентификаторов.
+     *
+     * @param format формат выгрузки.
+     * @param out    поток, в который записывается выгрузка.
+     * @throws IOException если запись в поток не удалась, например клиент закрыл соединение.
+     *                     Чтение из базы данных при этом прекращается.
+     */
+    void exportComments(ExportFormat format, OutputStream out) throws IOException;
+}
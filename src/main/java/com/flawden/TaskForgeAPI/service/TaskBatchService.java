@@ -0,0 +1,30 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.task.TaskBatchItemResult;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Сервис пакетного создания задач.
+ * <p>
+ * Этот сервис создает большое количество задач за один запрос. Задачи читаются из источника по одной,
+ * проверяются и сохраняются порциями, поэтому пакет не должен целиком помещаться в память.
+ * </p>
+ */
+public interface TaskBatchService {
+
+    /**
+     * Пакетное создание задач.
+     * <p>
+     * Некорректные задачи пропускаются, остальные создаются. Каждая порция сохраняется в отдельной транзакции:
+     * ошибка сохранения порции не отменяет уже созданные задачи. Если очередной элемент не удается прочитать,
+     * чтение пакета прекращается.
+     * </p>
+     *
+     * @param tasks источник задач.
+     * @return результаты по каждому элементу пакета в порядке следования.
+     */
+    List<TaskBatchItemResult> addTasks(Iterator<Task> tasks);
+}
@@ -1,9 +1,20 @@
 package com.flawden.TaskForgeAPI.service;
 
+import com.flawden.TaskForgeAPI.dto.CursorPage;
+import com.flawden.TaskForgeAPI.dto.EntityVersion;
 import com.flawden.TaskForgeAPI.dto.task.Priority;
 import com.flawden.TaskForgeAPI.dto.task.Status;
 import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignment;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignmentResult;
+import com.flawden.TaskForgeAPI.dto.task.TaskChanges;
+import com.flawden.TaskForgeAPI.dto.task.TaskFilter;
+import com.flawden.TaskForgeAPI.dto.task.TaskSort;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
+import com.flawden.TaskForgeAPI.exception.ChangesExpiredException;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
 import com.flawden.TaskForgeAPI.exception.TaskNotFoundException;
+import com.flawden.TaskForgeAPI.exception.TaskVersionMismatchException;
 import com.flawden.TaskForgeAPI.exception.UserAlreadyHaveThisTaskException;
 import com.flawden.TaskForgeAPI.exception.UserNotFoundException;
 
@@ -44,12 +55,12 @@ public interface TaskService {
      * Получение задач с фильтрацией.
      * <p>
      * Этот метод возвращает список задач, отфильтрованных по указанным параметрам.
-     * Задачи фильтруются по названию, статусу и приоритету.
+     * Задачи фильтруются по подстроке названия, статусу и приоритету; незаданный ({@code null}) фильтр не применяется.
      * </p>
      *
-     * @param title название задачи, по которому будет выполнен поиск.
-     * @param status статус задачи, по которому будет выполнен фильтр.
-     * @param priority приоритет задачи, по которому будет выполнен фильтр.
+     * @param title подстрока названия задачи или {@code null}.
+     * @param status статус задачи или {@code null}.
+     * @param priority приоритет задачи или {@code null}.
      * @return список задач, соответствующих заданным фильтрам.
      */
     List<Task> getTasksWithFiltration(String title, Status status, Priority priority);
@@ -58,18 +69,66 @@ public interface TaskService {
      * Получение задач с пагинацией и фильтрацией.
      * <p>
      * Этот метод возвращает список задач с пагинацией и дополнительной фильтрацией по параметрам.
-     * Задачи фильтруются по названию, статусу и приоритету, а также возвращаются в соответствии с параметрами пагинации.
+     * Задачи фильтруются по подстроке названия, статусу и приоритету (незаданный фильтр не применяется),
+     * а также возвращаются в соответствии с параметрами пагинации.
      * </p>
      *
      * @param page номер страницы (начиная с 0).
      * @param limit количество задач на странице.
-     * @param title название задачи, по которому будет выполнен фильтр.
-     * @param status статус задачи, по которому будет выполнен фильтр.
-     * @param priority приоритет задачи, по которому будет выполнен фильтр.
+     * @param title подстрока названия задачи или {@code null}.
+     * @param status статус задачи или {@code null}.
+     * @param priority приоритет задачи или {@code null}.
      * @return список задач, соответствующих заданным фильтрам и параметрам пагинации.
      */
     List<Task> getTasksWithPaginationAndFiltration(Integer page, Integer limit, String title, Status status, Priority priority);
 
+    /**
+     * Получение задач по курсору.
+     * <p>
+     * Этот метод возвращает следующую страницу задач после позиции, закодированной в курсоре. В отличие от
+     * постраничной выборки по номеру страницы, запрос не использует {@code OFFSET}, поэтому время получения
+     * любой страницы совпадает со временем получения первой.
+     * </p>
+     *
+     * @param cursor курсор, полученный вместе с предыдущей страницей, или {@code null} для первой страницы.
+     * @param limit  количество задач на странице.
+     * @param sort   порядок сортировки, должен совпадать с порядком, для которого был выдан курсор.
+     * @param filter условия отбора задач.
+     * @return страница задач и курсор следующей страницы.
+     * @throws InvalidCursorException если курсор поврежден или выдан для другого порядка сортировки.
+     */
+    CursorPage<Task> getTasksAfterCursor(String cursor, Integer limit, TaskSort sort, TaskFilter filter);
+
+    /**
+     * Получение краткого представления задач.
+     * <p>
+     * Этот метод возвращает задачи без исполнителей и комментариев. Данные выбираются проекцией только нужных
+     * столбцов, без создания сущностей и их преобразования. Если номер страницы не указан, возвращаются все задачи.
+     * </p>
+     *
+     * @param page  номер страницы (начиная с 0) или {@code null}.
+     * @param limit количество задач на странице.
+     * @param filter условия отбора задач.
+     * @return список кратких представлений задач.
+     */
+    List<TaskSummary> getTaskSummaries(Integer page, Integer limit, TaskFilter filter);
+
+    /**
+     * Получение краткого представления задач по курсору.
+     * <p>
+     * Аналог {@link #getTasksAfterCursor(String, Integer, TaskSort, TaskFilter)} для краткого представления. Курсоры
+     * обоих методов совместимы между собой.
+     * </p>
+     *
+     * @param cursor курсор, полученный вместе с предыдущей страницей, или {@code null} для первой страницы.
+     * @param limit  количество задач на странице.
+     * @param sort   порядок сортировки, должен совпадать с порядком, для которого был выдан курсор.
+     * @param filter условия отбора задач.
+     * @return страница кратких представлений задач и курсор следующей страницы.
+     * @throws InvalidCursorException если курсор поврежден или выдан для другого порядка сортировки.
+     */
+    CursorPage<TaskSummary> getTaskSummariesAfterCursor(String cursor, Integer limit, TaskSort sort, TaskFilter filter);
+
     /**
      * Получение задачи по ее идентификатору.
      * <p>
@@ -82,6 +141,52 @@ public interface TaskService {
      */
     Task getTaskById(Long id);
 
+    /**
+     * Получение версии задачи.
+     * <p>
+     * Версия выбирается отдельно от задачи и используется для ETag: если она не изменилась, задача
+     * не загружается.
+     * </p>
+     *
+     * @param id идентификатор задачи.
+     * @return версия задачи.
+     * @throws TaskNotFoundException если задача с таким идентификатором не найдена.
+     */
+    long getTaskVersion(Long id);
+
+    /**
+     * Получение идентификаторов и версий задач страницы.
+     * <p>
+     * Страница выбирается по тем же параметрам, что и в {@link #getTasksWithPaginationAndFiltration} (если задан
+     * номер страницы), {@link #getTasksAfterCursor} (если задан курсор) или {@link #getTasksWithFiltration}.
+     * </p>
+     *
+     * @param page   номер страницы (от 0) или {@code null}.
+     * @param limit  количество задач на странице.
+     * @param cursor курсор страницы или {@code null}.
+     * @param sort   порядок сортировки при выборке по курсору.
+     * @param filter условия отбора задач.
+     * @return идентификаторы и версии задач страницы.
+     * @throws InvalidCursorException если курсор поврежден или выдан для другого порядка сортировки.
+     */
+    List<EntityVersion> getTaskVersions(Integer page, Integer limit, String cursor, TaskSort sort, TaskFilter filter);
+
+    /**
+     * Получение изменений задач для синхронизации клиента.
+     * <p>
+     * Возвращает задачи, созданные или измененные после позиции {@code since}, и идентификаторы задач, удаленных
+     * после нее, в порядке изменения. Следующая позиция передается в ответе; если {@code hasMore} ложно,
+     * клиент получил все изменения на момент запроса.
+     * </p>
+     *
+     * @param since позиция из предыдущего ответа или {@code null} для полной синхронизации.
+     * @param limit максимальное количество изменений.
+     * @return изменения и следующая позиция.
+     * @throws InvalidCursorException  если позиция повреждена.
+     * @throws ChangesExpiredException если позиция устарела и нужна полная синхронизация.
+     */
+    TaskChanges getTaskChanges(String since, Integer limit);
+
     /**
      * Добавление новой задачи.
      * <p>
@@ -100,11 +205,13 @@ public interface TaskService {
      * задачи с указанным идентификатором.
      * </p>
      *
-     * @param task   объект задачи с новыми данными.
-     * @param taskId идентификатор задачи, которую нужно обновить.
-     * @throws TaskNotFoundException если задача с таким идентификатором не найдена.
+     * @param task            объект задачи с новыми данными.
+     * @param taskId          идентификатор задачи, которую нужно обновить.
+     * @param expectedVersion ожидаемая версия задачи или {@code null}, если версия не проверяется.
+     * @throws TaskNotFoundException        если задача с таким идентификатором не найдена.
+     * @throws TaskVersionMismatchException если версия задачи отличается от ожидаемой.
      */
-    void updateTask(Task task, Long taskId);
+    void updateTask(Task task, Long taskId, Long expectedVersion);
 
     /**
      * Удаление задачи.
@@ -117,6 +224,19 @@ public interface TaskService {
      */
     void deleteTask(Long id);
 
+    /**
+     * Полнотекстовый поиск задач.
+     * <p>
+     * Этот метод ищет задачи, в названии или описании которых встречаются все слова запроса целиком или как
+     * начало слова. Совпадения в названии и редкие слова повышают позицию задачи в результатах.
+     * </p>
+     *
+     * @param query строка запроса.
+     * @param limit максимальное количество результатов.
+     * @return краткие представления найденных задач по убыванию релевантности.
+     */
+    List<TaskSummary> searchTasks(String query, Integer limit);
+
     /**
      * Получение задачи по имени.
      * <p>
@@ -142,4 +262,16 @@ public interface TaskService {
      * @throws UserAlreadyHaveThisTaskException если пользователь уже имеет эту задачу.
      */
     void assignTaskToUser(Long userId, Long taskId);
+
+    /**
+     * Пакетное назначение задач пользователям.
+     * <p>
+     * Этот метод назначает задачи по списку пар пользователь — задача. Ошибки отдельных пар не прерывают
+     * обработку: для каждой пары возвращается результат назначения.
+     * </p>
+     *
+     * @param assignments пары пользователь — задача.
+     * @return результаты назначения в порядке пар запроса.
+     */
+    List<TaskAssignmentResult> assignTasksToUsers(List<TaskAssignment> assignments);
 }
@@ -1,9 +1,14 @@
 package com.flawden.TaskForgeAPI.service;
 
+import com.flawden.TaskForgeAPI.dto.CursorPage;
 import com.flawden.TaskForgeAPI.dto.user.UpdateUser;
 import com.flawden.TaskForgeAPI.dto.user.User;
+import com.flawden.TaskForgeAPI.dto.user.UserSort;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
 import com.flawden.TaskForgeAPI.exception.UserNotFoundException;
 
+import org.springframework.data.domain.Sort;
+
 import java.util.List;
 
 /**
@@ -18,24 +23,43 @@ public interface UserService {
     /**
      * Получение всех пользователей.
      * <p>
-     * Этот метод возвращает список всех пользователей в системе.
+     * Этот метод возвращает пользователей в порядке идентификаторов, но не больше {@code users.list.max-size}.
+     * Если пользователей больше, вместе со списком возвращается курсор, по которому можно получить
+     * оставшихся пользователей через {@link #getUsersAfterCursor(String, Integer)}.
      * </p>
      *
-     * @return список всех пользователей.
+     * @return пользователи и курсор продолжения, если список был ограничен.
      */
-    List<User> getAllUsers();
+    CursorPage<User> getAllUsers();
 
     /**
      * Получение пользователей с пагинацией.
      * <p>
-     * Этот метод возвращает список пользователей с возможностью пагинации.
+     * Этот метод возвращает список пользователей с возможностью пагинации. Страница выбирается на стороне
+     * базы данных, без подсчета общего количества пользователей.
      * </p>
      *
-     * @param page номер страницы.
-     * @param size количество пользователей на странице.
+     * @param page      номер страницы.
+     * @param size      количество пользователей на странице.
+     * @param sort      поле сортировки.
+     * @param direction направление сортировки.
      * @return список пользователей на указанной странице.
      */
-    List<User> getUsersWithPagination(Integer page, Integer size);
+    List<User> getUsersWithPagination(Integer page, Integer size, UserSort sort, Sort.Direction direction);
+
+    /**
+     * Получение пользователей по курсору.
+     * <p>
+     * Этот метод возвращает следующую страницу пользователей в порядке идентификаторов после позиции,
+     * закодированной в курсоре. Время получения страницы не зависит от ее глубины.
+     * </p>
+     *
+     * @param cursor курсор, полученный вместе с предыдущей страницей, или {@code null} для первой страницы.
+     * @param size   количество пользователей на странице.
+     * @return страница пользователей и курсор следующей страницы.
+     * @throws InvalidCursorException если курсор поврежден.
+     */
+    CursorPage<User> getUsersAfterCursor(String cursor, Integer size);
 
     /**
      * Получение пользователя по его идентификатору.
@@ -49,6 +73,15 @@ public interface UserService {
      */
     User getUserById(Long id);
 
+    /**
+     * Получение версии пользователя.
+     *
+     * @param id идентификатор пользователя.
+     * @return версия пользователя.
+     * @throws UserNotFoundException если пользователь с таким идентификатором не найден.
+     */
+    long getUserVersion(Long id);
+
     /**
      * Добавление нового пользователя.
      * <p>
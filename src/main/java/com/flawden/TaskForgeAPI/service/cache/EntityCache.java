@@ -0,0 +1,90 @@
+package com.flawden.TaskForgeAPI.service.cache;
+
+import com.flawden.TaskForgeAPI.service.coalescing.SingleFlight;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * EntityCache — инвалидация кэшей задач, пользователей и комментариев при их изменении.
+ *
+ * <p>Чтение через кэш выполняется аннотацией {@link org.springframework.cache.annotation.Cacheable} на методах
+ * получения по идентификатору, а изменяющие методы сервисов удаляют устаревшие записи через этот компонент.
+ * Задача кэшируется вместе с исполнителями и комментариями, поэтому ее запись удаляется и при изменении
+ * комментариев и назначений.</p>
+ *
+ * <p>Запись удаляется сразу и повторно после фиксации текущей транзакции, чтобы параллельный запрос
+ * не успел вернуть в кэш данные, прочитанные до фиксации изменений. В те же моменты выполняющиеся чтения
+ * {@link SingleFlight} отсоединяются от своих ключей: иначе запрос, пришедший после фиксации, получил бы
+ * результат чтения, начатого до нее, и {@code @Cacheable} записал бы его в кэш.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCache {
+
+    public static final String TASKS = "tasks";
+    public static final String USERS = "users";
+    public static final String COMMENTS = "comments";
+    public static final List<String> CACHE_NAMES = List.of(TASKS, USERS, COMMENTS);
+
+    private final CacheManager cacheManager;
+    private final SingleFlight singleFlight;
+
+    /**
+     * Удаляет запись из кэша.
+     *
+     * @param cacheName имя кэша.
+     * @param key       идентификатор сущности.
+     */
+    public void evict(String cacheName, Long key) {
+        if (key != null) {
+            apply(cacheName, cache -> cache.evict(key));
+        }
+    }
+
+    /**
+     * Удаляет записи из кэша.
+     *
+     * @param cacheName имя кэша.
+     * @param keys      идентификаторы сущностей.
+     */
+    public void evict(String cacheName, Collection<Long> keys) {
+        if (!keys.isEmpty()) {
+            apply(cacheName, cache -> keys.forEach(cache::evict));
+        }
+    }
+
+    /**
+     * Удаляет все записи кэша.
+     *
+     * @param cacheName имя кэша.
+     */
+    public void evictAll(String cacheName) {
+        apply(cacheName, Cache::clear);
+    }
+
+    private void apply(String cacheName, Consumer<Cache> action) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        singleFlight.invalidate();
+        action.accept(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    singleFlight.invalidate();
+                    action.accept(cache);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.flawden.TaskForgeAPI.service.changes;
+
+import com.flawden.TaskForgeAPI.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * TaskTombstoneCleaner — фоновое удаление устаревших отметок об удалении задач.
+ *
+ * <p>Отметки нужны только клиентам, синхронизировавшимся не раньше срока хранения. Клиент с более старой
+ * позицией получает 410 и выполняет полную синхронизацию, поэтому отметки старше срока хранения удаляются.</p>
+ *
+ * <p>Конфигурация:
+ * <ul>
+ *     <li>{@code tasks.changes.tombstone-ttl} — срок хранения отметок (по умолчанию {@code P30D}).</li>
+ *     <li>{@code tasks.changes.purge-interval} — пауза между очистками (по умолчанию {@code PT1H}).</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskTombstoneCleaner {
+
+    private final TaskTombstoneRepository taskTombstoneRepository;
+
+    @Value("${tasks.changes.tombstone-ttl:P30D}")
+    private Duration tombstoneTtl;
+
+    /**
+     * Удаляет отметки старше срока хранения.
+     *
+     * @return количество удаленных отметок.
+     */
+    @Scheduled(initialDelayString = "${tasks.changes.purge-interval:PT1H}",
+            fixedDelayString = "${tasks.changes.purge-interval:PT1H}")
+    @Transactional
+    public int purge() {
+        int purged = taskTombstoneRepository.deleteDeletedBefore(Instant.now().minus(tombstoneTtl));
+        if (purged > 0) {
+            log.info("Удалено {} устаревших отметок об удалении задач", purged);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,132 @@
+package com.flawden.TaskForgeAPI.service.coalescing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * SingleFlight — объединение одновременных одинаковых запросов на чтение.
+ *
+ * <p>Первый вызов с данным ключом выполняет обращение к базе данных, а вызовы с тем же ключом, пришедшие
+ * до его завершения, ждут и получают тот же результат или то же исключение. Результат не сохраняется:
+ * ключ удаляется сразу после завершения вызова, и следующий запрос снова читает базу данных.</p>
+ *
+ * <p>Чтение, начатое до фиксации изменения, может вернуть данные до изменения. Чтобы запрос, пришедший после
+ * фиксации, не присоединился к такому чтению, {@link #invalidate()} вызывается после фиксации каждого изменения
+ * (см. {@code EntityCache}): выполняющиеся вызовы отсоединяются от своих ключей и возвращают результат только
+ * уже ожидающим вызовам, а новые запросы выполняют чтение заново.</p>
+ *
+ * <p>Результат передается всем ожидающим вызовам одним объектом, поэтому вызывающий код не должен его
+ * изменять.</p>
+ *
+ * <p>Количество выполненных и объединенных вызовов публикуется как метрики через {@link MeterBinder}.</p>
+ */
+@Component
+public class SingleFlight implements MeterBinder {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Строит ключ вызова по имени операции и ее аргументам.
+     *
+     * @param operation имя операции.
+     * @param args      аргументы операции, допускается {@code null}.
+     * @return ключ, равный ключу другого вызова той же операции с равными аргументами.
+     */
+    public static Object key(String operation, Object... args) {
+        Object[] parts = new Object[args.length + 1];
+        parts[0] = operation;
+        System.arraycopy(args, 0, parts, 1, args.length);
+        return Arrays.asList(parts);
+    }
+
+    /**
+     * Выполняет вызов или присоединяется к уже выполняющемуся вызову с тем же ключом.
+     *
+     * @param key  ключ вызова (см. {@link #key(String, Object...)}).
+     * @param call обращение к базе данных.
+     * @param <T>  тип результата.
+     * @return результат вызова.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> call) {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            shared.increment();
+            return (T) await(running);
+        }
+        executed.increment();
+        try {
+            T result = call.get();
+            inFlight.remove(key, own);
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, own);
+            own.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Отсоединяет все выполняющиеся вызовы от их ключей.
+     *
+     * <p>Вызовы не прерываются, но следующие вызовы с теми же ключами к ним не присоединяются.</p>
+     */
+    public void invalidate() {
+        inFlight.clear();
+    }
+
+    /**
+     * Возвращает количество выполняющихся вызовов.
+     *
+     * @return количество ключей, для которых вызов еще не завершен.
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("taskforge.singleflight.calls", executed, LongAdder::doubleValue)
+                .tag("result", "executed")
+                .description("Количество чтений, выполненных с обращением к базе данных")
+                .register(registry);
+        FunctionCounter.builder("taskforge.singleflight.calls", shared, LongAdder::doubleValue)
+                .tag("result", "shared")
+                .description("Количество чтений, получивших результат одновременного одинакового запроса")
+                .register(registry);
+        Gauge.builder("taskforge.singleflight.in-flight", this, SingleFlight::inFlight)
+                .description("Текущее количество выполняющихся объединяемых чтений")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.flawden.TaskForgeAPI.service.counter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * TaskCounterReconciler — фоновая сверка счетчиков {@code comment_count} и {@code executor_count} задач.
+ *
+ * <p>Счетчики изменяются атомарно в тех же транзакциях, что и комментарии и назначения, в том числе при удалении
+ * пользователя. Изменения в обход сервисов (правка данных вручную) и гонка с одновременной сверкой могут вызвать
+ * расхождение; сверка пересчитывает счетчики и записывает только отличающиеся значения. Счетчики входят
+ * в представление задачи, поэтому исправленная задача получает новую версию и время изменения, как и при
+ * атомарном изменении счетчика в {@code TaskRepository}.</p>
+ *
+ * <p>Задачи обрабатываются диапазонами идентификаторов, каждый диапазон — отдельным запросом, чтобы
+ * не держать блокировки всех строк одновременно.</p>
+ *
+ * <p>Конфигурация:
+ * <ul>
+ *     <li>{@code tasks.counters.reconcile-interval} — пауза между сверками (по умолчанию {@code PT1H}).</li>
+ *     <li>{@code tasks.counters.reconcile-batch-size} — размер диапазона идентификаторов (по умолчанию 1000).</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskCounterReconciler {
+
+    private static final String COMMENT_COUNT = "(SELECT COUNT(*) FROM comment_entity c WHERE c.task_id = t.id)";
+    private static final String EXECUTOR_COUNT = "(SELECT COUNT(*) FROM task_user u WHERE u.task_id = t.id)";
+    private static final String RECONCILE_SQL = "UPDATE task_entity t SET comment_count = " + COMMENT_COUNT
+            + ", executor_count = " + EXECUTOR_COUNT + ", version = t.version + 1, updated_at = ?"
+            + " WHERE t.id BETWEEN ? AND ? AND (t.comment_count <> " + COMMENT_COUNT
+            + " OR t.executor_count <> " + EXECUTOR_COUNT + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${tasks.counters.reconcile-batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Сверяет счетчики всех задач.
+     *
+     * @return количество исправленных задач.
+     */
+    @Scheduled(initialDelayString = "${tasks.counters.reconcile-interval:PT1H}",
+            fixedDelayString = "${tasks.counters.reconcile-interval:PT1H}")
+    public int reconcile() {
+        Long[] range = jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM task_entity",
+                (resultSet, row) -> new Long[]{resultSet.getObject(1, Long.class), resultSet.getObject(2, Long.class)});
+        if (range == null || range[0] == null) {
+            return 0;
+        }
+        int repaired = 0;
+        for (long from = range[0]; from <= range[1]; from += batchSize) {
+            repaired += jdbcTemplate.update(RECONCILE_SQL, Timestamp.from(Instant.now()), from, from + batchSize - 1);
+        }
+        if (repaired > 0) {
+            log.warn("Исправлены счетчики {} задач", repaired);
+        }
+        return repaired;
+    }
+}
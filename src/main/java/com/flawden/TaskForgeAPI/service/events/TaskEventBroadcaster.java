@@ -0,0 +1,284 @@
+package com.flawden.TaskForgeAPI.service.events;
+
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeEvent;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TaskEventBroadcaster — рассылка событий изменения задач и комментариев подписчикам Server-Sent Events.
+ *
+ * <p>Сервисы публикуют {@link TaskChangeEvent} через {@link org.springframework.context.ApplicationEventPublisher},
+ * а рассылка получает событие после фиксации транзакции, поэтому откатившиеся изменения не рассылаются.
+ * Поток, зафиксировавший транзакцию, только передает событие единственному потоку рассылки. Поток рассылки
+ * отбирает подписчиков по условиям и кладет событие в их очереди, не дожидаясь записи в соединения.</p>
+ *
+ * <p>Каждый подписчик обслуживается своим виртуальным потоком, который забирает события из очереди и пишет их
+ * в соединение. Ожидающий виртуальный поток не занимает поток платформы, поэтому тысячи простаивающих
+ * подключений обходятся дешево, а медленный клиент задерживает только свой поток. Очередь подписчика
+ * ограничена: если клиент не успевает читать и очередь заполнена, подписка закрывается событием
+ * {@value #OVERFLOW_EVENT}, и клиент должен переподключиться и догрузить изменения выборкой изменений задач.
+ * При отсутствии событий в соединение периодически пишется комментарий, по ошибке записи которого
+ * обнаруживаются отключившиеся клиенты.</p>
+ *
+ * <p>Для отбора по статусу и исполнителю статус и исполнители задачи выбираются один раз на событие и только
+ * если такое условие есть хотя бы у одного подписчика. События удаленных задач, а также события, для которых
+ * не удалось выбрать статус и исполнителей, передаются всем подписчикам, условие по задаче которых не исключает
+ * эту задачу.</p>
+ *
+ * <p>Конфигурация:
+ * <ul>
+ *     <li>{@code tasks.events.buffer-size} — размер очереди подписчика (по умолчанию 256).</li>
+ *     <li>{@code tasks.events.heartbeat-interval} — пауза между комментариями в простаивающем соединении
+ *     (по умолчанию {@code PT30S}).</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Метрики:
+ * <ul>
+ *     <li>{@code taskforge.events.subscribers} — количество подписчиков.</li>
+ *     <li>{@code taskforge.events.published} — количество опубликованных событий.</li>
+ *     <li>{@code taskforge.events.delivered} — количество событий, записанных в соединения подписчиков.</li>
+ *     <li>{@code taskforge.events.dropped-subscribers} — количество подписок, закрытых из-за переполнения очереди.</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+public class TaskEventBroadcaster implements MeterBinder, AutoCloseable {
+
+    static final String OVERFLOW_EVENT = "OVERFLOW";
+
+    private final TaskRepository taskRepository;
+    private final int bufferSize;
+    private final long heartbeatMillis;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService fanOut = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("task-events-fan-out").factory());
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public TaskEventBroadcaster(TaskRepository taskRepository,
+                                @Value("${tasks.events.buffer-size:256}") int bufferSize,
+                                @Value("${tasks.events.heartbeat-interval:PT30S}") Duration heartbeatInterval) {
+        this.taskRepository = taskRepository;
+        this.bufferSize = bufferSize;
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+    }
+
+    /**
+     * Создает подписку на события.
+     *
+     * @param filter условия отбора событий.
+     * @return соединение Server-Sent Events без ограничения времени.
+     */
+    public SseEmitter subscribe(TaskEventFilter filter) {
+        SseEmitter emitter = new SseEmitter(0L);
+        subscribe(filter, emitter);
+        return emitter;
+    }
+
+    /**
+     * Подписывает соединение на события.
+     *
+     * @param filter  условия отбора событий.
+     * @param emitter соединение, в которое пишутся события.
+     */
+    public void subscribe(TaskEventFilter filter, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(filter, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscriber.writer = Thread.ofVirtual().name("task-events-subscriber").unstarted(() -> write(subscriber));
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        subscribers.add(subscriber);
+        subscriber.writer.start();
+    }
+
+    /**
+     * Принимает событие после фиксации транзакции, в которой оно опубликовано, или сразу, если транзакции нет.
+     *
+     * @param event событие изменения.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(TaskChangeEvent event) {
+        published.increment();
+        try {
+            fanOut.execute(() -> dispatch(event));
+        } catch (RejectedExecutionException e) {
+            log.debug("Рассылка событий остановлена, событие {} не отправлено", event);
+        }
+    }
+
+    /**
+     * Возвращает количество подписчиков.
+     *
+     * @return количество открытых подписок.
+     */
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    private void dispatch(TaskChangeEvent event) {
+        TaskSubject subject = new TaskSubject(event);
+        for (Subscriber subscriber : subscribers) {
+            try {
+                if (!subject.matches(subscriber.filter)) {
+                    continue;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Не удалось проверить условия подписки для события {}", event, e);
+            }
+            if (!subscriber.queue.offer(event)) {
+                dropped.increment();
+                subscriber.overflowed = true;
+                close(subscriber);
+            }
+        }
+    }
+
+    private void write(Subscriber subscriber) {
+        try {
+            while (!subscriber.closed.get()) {
+                TaskChangeEvent event = subscriber.queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(event.type().name()).data(event, MediaType.APPLICATION_JSON));
+                    delivered.increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            // Подписка закрыта.
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Подписчик событий отключился: {}", e.getMessage());
+        }
+        close(subscriber);
+        Thread.interrupted();
+        try {
+            if (subscriber.overflowed) {
+                subscriber.emitter.send(SseEmitter.event().name(OVERFLOW_EVENT).data("Очередь событий переполнена"));
+            }
+            subscriber.emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Соединение подписчика уже закрыто: {}", e.getMessage());
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            if (Thread.currentThread() != subscriber.writer) {
+                subscriber.writer.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Закрывает подписки и останавливает поток рассылки при закрытии контекста приложения.
+     */
+    @Override
+    public void close() {
+        fanOut.shutdownNow();
+        subscribers.forEach(this::close);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taskforge.events.subscribers", this, TaskEventBroadcaster::subscribers)
+                .description("Количество подписчиков на события изменения задач")
+                .register(registry);
+        FunctionCounter.builder("taskforge.events.published", published, LongAdder::doubleValue)
+                .description("Количество опубликованных событий изменения задач")
+                .register(registry);
+        FunctionCounter.builder("taskforge.events.delivered", delivered, LongAdder::doubleValue)
+                .description("Количество событий, записанных в соединения подписчиков")
+                .register(registry);
+        FunctionCounter.builder("taskforge.events.dropped-subscribers", dropped, LongAdder::doubleValue)
+                .description("Количество подписок, закрытых из-за переполнения очереди событий")
+                .register(registry);
+    }
+
+    private static final class Subscriber {
+
+        private final TaskEventFilter filter;
+        private final SseEmitter emitter;
+        private final BlockingQueue<TaskChangeEvent> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private Thread writer;
+
+        private Subscriber(TaskEventFilter filter, SseEmitter emitter, BlockingQueue<TaskChangeEvent> queue) {
+            this.filter = filter;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+
+    /**
+     * Задача события со статусом и исполнителями, выбираемыми при первой необходимости.
+     */
+    private final class TaskSubject {
+
+        private final TaskChangeEvent event;
+        private Status status;
+        private List<Long> executorIds;
+        private boolean statusLoaded;
+
+        private TaskSubject(TaskChangeEvent event) {
+            this.event = event;
+        }
+
+        private boolean matches(TaskEventFilter filter) {
+            if (filter.taskId() != null && !filter.taskId().equals(event.taskId())) {
+                return false;
+            }
+            if (filter.status() == null && filter.assigneeId() == null || event.type() == TaskChangeType.TASK_DELETED) {
+                return true;
+            }
+            if (!statusLoaded) {
+                status = taskRepository.findStatusById(event.taskId()).orElse(null);
+                statusLoaded = true;
+            }
+            if (status == null) {
+                return true;
+            }
+            if (filter.status() != null && filter.status() != status) {
+                return false;
+            }
+            if (filter.assigneeId() != null) {
+                if (executorIds == null) {
+                    executorIds = taskRepository.findExecutorIdsById(event.taskId());
+                }
+                return executorIds.contains(filter.assigneeId());
+            }
+            return true;
+        }
+    }
+}
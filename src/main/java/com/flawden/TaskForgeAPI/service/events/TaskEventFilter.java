@@ -0,0 +1,13 @@
+package com.flawden.TaskForgeAPI.service.events;
+
+import com.flawden.TaskForgeAPI.dto.task.Status;
+
+/**
+ * Условия отбора событий для подписчика. Незаданные условия не ограничивают события.
+ *
+ * @param taskId     идентификатор задачи или {@code null}.
+ * @param assigneeId идентификатор исполнителя задачи или {@code null}.
+ * @param status     статус задачи или {@code null}.
+ */
+public record TaskEventFilter(Long taskId, Long assigneeId, Status status) {
+}
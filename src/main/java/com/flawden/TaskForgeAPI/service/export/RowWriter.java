@@ -0,0 +1,157 @@
+package com.flawden.TaskForgeAPI.service.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.flawden.TaskForgeAPI.dto.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RowWriter — построчная запись выгрузки в поток ответа.
+ *
+ * <p>Строки записываются сразу по мере чтения из базы данных и не накапливаются в памяти. Запись не закрывает
+ * исходный поток: им управляет контейнер сервлетов.</p>
+ */
+public abstract class RowWriter {
+
+    protected final List<String> columns;
+    private long rowCount;
+
+    private RowWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Создает запись выгрузки в указанном формате.
+     *
+     * @param format  формат выгрузки.
+     * @param out     поток ответа.
+     * @param columns имена столбцов.
+     * @return запись выгрузки.
+     * @throws IOException если не удалось записать заголовок.
+     */
+    public static RowWriter create(ExportFormat format, OutputStream out, List<String> columns) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRowWriter(out, columns);
+            case CSV -> new CsvRowWriter(out, columns);
+        };
+    }
+
+    /**
+     * Записывает строку выгрузки.
+     *
+     * @param values значения столбцов в порядке {@link #columns}; {@code null} допускается.
+     * @throws IOException если запись не удалась, например клиент закрыл соединение.
+     */
+    public void write(Object... values) throws IOException {
+        writeValues(values);
+        rowCount++;
+    }
+
+    /**
+     * @return количество записанных строк без учета заголовка.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Записывает значения одной строки в формате выгрузки.
+     *
+     * @param values значения столбцов.
+     * @throws IOException если запись не удалась.
+     */
+    protected abstract void writeValues(Object[] values) throws IOException;
+
+    /**
+     * Отправляет записанные строки клиенту.
+     *
+     * @throws IOException если запись не удалась, например клиент закрыл соединение.
+     */
+    public abstract void flush() throws IOException;
+
+    private static final class NdjsonRowWriter extends RowWriter {
+
+        private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        protected void writeValues(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                generator.writeFieldName(columns.get(i));
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.longValue());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter extends RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeValues(columns.toArray());
+        }
+
+        @Override
+        protected void writeValues(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quoted = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quoted) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.flawden.TaskForgeAPI.service.impl;
 
+import com.flawden.TaskForgeAPI.config.MetricsConfig;
 import com.flawden.TaskForgeAPI.config.security.JwtService;
 import com.flawden.TaskForgeAPI.config.security.PersonDetails;
 import com.flawden.TaskForgeAPI.dto.AuthenticationResponse;
@@ -10,13 +11,13 @@ import com.flawden.TaskForgeAPI.mapper.UserMapper;
 import com.flawden.TaskForgeAPI.model.UserEntity;
 import com.flawden.TaskForgeAPI.repository.UserRepository;
 import com.flawden.TaskForgeAPI.service.AuthService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Реализация сервиса аутентификации и регистрации пользователей.
@@ -27,6 +28,7 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
@@ -42,13 +44,17 @@ public class AuthServiceImpl implements AuthService {
      * выбрасывается исключение {@link UserIsAlreadyExistException}. После этого пароль пользователя
      * кодируется, и он сохраняется в базе данных. Генерируется JWT токен для нового пользователя.
      * </p>
+     * <p>
+     * Метод не транзакционный: хеширование пароля занимает секунды и не должно удерживать соединение с базой
+     * данных, поэтому пароль кодируется до сохранения, а сохранение выполняется в собственной транзакции
+     * репозитория.
+     * </p>
      *
      * @param register данные для регистрации нового пользователя.
      * @return объект {@link AuthenticationResponse}, содержащий JWT токен.
      * @throws UserIsAlreadyExistException если пользователь с указанным email уже существует.
      */
     @Override
-    @Transactional
     public AuthenticationResponse register(Register register) {
         if (userRepository.findByEmail(register.getUsername()).isPresent()) {
             throw new UserIsAlreadyExistException("Пользователь с текущим электронным адресом уже существует");
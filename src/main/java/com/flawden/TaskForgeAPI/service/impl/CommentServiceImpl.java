@@ -1,6 +1,11 @@
 package com.flawden.TaskForgeAPI.service.impl;
 
+import com.flawden.TaskForgeAPI.config.MetricsConfig;
 import com.flawden.TaskForgeAPI.dto.Comment;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
+import com.flawden.TaskForgeAPI.dto.EntityVersion;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeEvent;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
 import com.flawden.TaskForgeAPI.dto.user.Role;
 import com.flawden.TaskForgeAPI.exception.CommentNotFoundException;
 import com.flawden.TaskForgeAPI.exception.UserNotFoundException;
@@ -8,9 +13,17 @@ import com.flawden.TaskForgeAPI.mapper.CommentMapper;
 import com.flawden.TaskForgeAPI.model.CommentEntity;
 import com.flawden.TaskForgeAPI.model.UserEntity;
 import com.flawden.TaskForgeAPI.repository.CommentRepository;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
 import com.flawden.TaskForgeAPI.repository.UserRepository;
 import com.flawden.TaskForgeAPI.service.CommentService;
+import com.flawden.TaskForgeAPI.service.cache.EntityCache;
+import com.flawden.TaskForgeAPI.service.pagination.CursorCodec;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -26,14 +39,25 @@ import java.util.stream.Collectors;
  * Этот сервис предоставляет методы для получения всех комментариев, добавления, обновления и удаления комментариев,
  * а также для получения комментариев по идентификатору задачи или пользователя.
  * </p>
+ * <p>
+ * Изменяющие методы публикуют {@link TaskChangeEvent}: в той же транзакции оно записывается в таблицу {@code outbox},
+ * а подписчики получают его после фиксации транзакции.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
     private final CommentMapper commentMapper;
+    private final EntityCache entityCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${comments.list.max-size:1000}")
+    private int maxListSize;
 
     /**
      * Получить все комментарии.
@@ -83,7 +107,7 @@ public class CommentServiceImpl implements CommentService {
      * Получить комментарий по идентификатору.
      * <p>
      * Этот метод ищет комментарий по его идентификатору и возвращает его, если он существует. В противном случае
-     * выбрасывается исключение {@link CommentNotFoundException}.
+     * выбрасывается исключение {@link CommentNotFoundException}. Результат кэшируется в {@value EntityCache#COMMENTS}.
      * </p>
      *
      * @param id идентификатор комментария.
@@ -91,14 +115,28 @@ public class CommentServiceImpl implements CommentService {
      * @throws CommentNotFoundException если комментарий не найден.
      */
     @Override
+    @Cacheable(cacheNames = EntityCache.COMMENTS, key = "#id")
     public Comment getCommentById(Long id) {
         return commentMapper.mapCommentEntityToComment(commentRepository.findById(id).orElseThrow(CommentNotFoundException::new));
     }
 
+    /**
+     * Получить версию комментария.
+     *
+     * @param id идентификатор комментария.
+     * @return версия комментария.
+     * @throws CommentNotFoundException если комментарий не найден.
+     */
+    @Override
+    public long getCommentVersion(Long id) {
+        return commentRepository.findVersionById(id).orElseThrow(CommentNotFoundException::new);
+    }
+
     /**
      * Добавить новый комментарий.
      * <p>
-     * Этот метод сохраняет новый комментарий в базе данных.
+     * Этот метод сохраняет новый комментарий в базе данных и в той же транзакции увеличивает счетчик
+     * комментариев задачи.
      * </p>
      *
      * @param comment объект комментария для добавления.
@@ -107,7 +145,11 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional
     public Comment addComment(Comment comment) {
-        return commentMapper.mapCommentEntityToComment(commentRepository.save(commentMapper.mapCommentToCommentEntity(comment)));
+        CommentEntity saved = commentRepository.save(commentMapper.mapCommentToCommentEntity(comment));
+        taskRepository.addToCommentCount(saved.getTask().getId(), 1);
+        entityCache.evict(EntityCache.TASKS, saved.getTask().getId());
+        eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeType.COMMENT_CREATED, saved.getTask().getId(), saved.getId()));
+        return commentMapper.mapCommentEntityToComment(saved);
     }
 
     /**
@@ -148,7 +190,8 @@ public class CommentServiceImpl implements CommentService {
      * <p>
      * Этот метод обновляет детали комментария, такие как текст.
      * Автор комментария не может быть изменен обычным пользователем.
-     * Если были внесены изменения, комментарий сохраняется в базе данных.
+     * Если были внесены изменения, комментарий сохраняется в базе данных, а версия задачи увеличивается,
+     * поскольку комментарии входят в ее представление.
      * </p>
      *
      * @param updatableComment сущность комментария, который нужно обновить.
@@ -166,6 +209,11 @@ public class CommentServiceImpl implements CommentService {
         }
         if (isSomethingChanged) {
             commentRepository.save(updatableComment);
+            taskRepository.incrementVersion(updatableComment.getTask().getId());
+            entityCache.evict(EntityCache.COMMENTS, updatableComment.getId());
+            entityCache.evict(EntityCache.TASKS, updatableComment.getTask().getId());
+            eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeType.COMMENT_UPDATED, updatableComment.getTask().getId(),
+                    updatableComment.getId()));
         }
     }
 
@@ -176,7 +224,7 @@ public class CommentServiceImpl implements CommentService {
      * Этот метод удаляет комментарий с указанным идентификатором.
      * Пользователь может удалить только свои комментарии.
      * Если пользователь не является автором комментария, он может удалить комментарий только в случае,
-     * если у него роль {@link Role#ADMIN}.
+     * если у него роль {@link Role#ADMIN}. Счетчик комментариев задачи уменьшается в той же транзакции.
      * </p>
      *
      * @param id идентификатор комментария, который нужно удалить.
@@ -196,36 +244,75 @@ public class CommentServiceImpl implements CommentService {
             throw new AccessDeniedException("У вас нет прав для удаления этого комментария");
         }
         commentRepository.deleteById(id);
+        taskRepository.addToCommentCount(commentEntity.getTask().getId(), -1);
+        entityCache.evict(EntityCache.COMMENTS, id);
+        entityCache.evict(EntityCache.TASKS, commentEntity.getTask().getId());
+        eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeType.COMMENT_DELETED, commentEntity.getTask().getId(), id));
     }
 
 
     /**
-     * Получить комментарий по идентификатору задачи.
+     * Получить комментарии к задаче по курсору.
      * <p>
-     * Этот метод возвращает комментарий, привязанный к задаче с указанным идентификатором.
+     * Страница выбирается условием по индексу {@code (task_id, id)} сразу в виде {@link Comment}, без загрузки
+     * авторов и задачи. Выбирается на один комментарий больше запрошенного, чтобы определить наличие следующей
+     * страницы.
      * </p>
      *
-     * @param id идентификатор задачи.
-     * @return комментарий {@link Comment}.
-     * @throws CommentNotFoundException если комментарий не найден.
+     * @param id     идентификатор задачи.
+     * @param cursor курсор предыдущей страницы или {@code null} (пустая строка) для первой страницы.
+     * @param size   количество комментариев на странице.
+     * @return страница комментариев и курсор следующей страницы.
      */
     @Override
-    public Comment getCommentByTaskId(Long id) {
-        return commentMapper.mapCommentEntityToComment(commentRepository.findCommentEntitiesByTaskId(id).orElseThrow(CommentNotFoundException::new));
+    public CursorPage<Comment> getCommentsByTaskId(Long id, String cursor, Integer size) {
+        int limit = pageSize(size);
+        return toCursorPage(commentRepository.findCommentsByTaskIdAfter(id, afterId(cursor), Limit.of(limit + 1)), limit);
     }
 
     /**
-     * Получить комментарий по идентификатору пользователя.
+     * Получить комментарии пользователя по курсору.
      * <p>
-     * Этот метод возвращает комментарий, созданный пользователем с указанным идентификатором.
+     * Страница выбирается условием по индексу {@code (author_id, id)} аналогично
+     * {@link #getCommentsByTaskId(Long, String, Integer)}.
      * </p>
      *
-     * @param id идентификатор пользователя.
-     * @return комментарий {@link Comment}.
-     * @throws CommentNotFoundException если комментарий не найден.
+     * @param id     идентификатор пользователя.
+     * @param cursor курсор предыдущей страницы или {@code null} (пустая строка) для первой страницы.
+     * @param size   количество комментариев на странице.
+     * @return страница комментариев и курсор следующей страницы.
+     */
+    @Override
+    public CursorPage<Comment> getCommentsByUserId(Long id, String cursor, Integer size) {
+        int limit = pageSize(size);
+        return toCursorPage(commentRepository.findCommentsByAuthorIdAfter(id, afterId(cursor), Limit.of(limit + 1)), limit);
+    }
+
+    /**
+     * Получить идентификаторы и версии комментариев страницы {@link #getCommentsByTaskId(Long, String, Integer)}.
+     *
+     * @param id     идентификатор задачи.
+     * @param cursor курсор предыдущей страницы или {@code null} (пустая строка) для первой страницы.
+     * @param size   количество комментариев на странице.
+     * @return идентификаторы и версии комментариев страницы.
      */
     @Override
-    public Comment getCommentByUserId(Long id) {
-        return commentMapper.mapCommentEntityToComment(commentRepository.findCommentEntityByAuthorId(id).orElseThrow(CommentNotFoundException::new));
+    public List<EntityVersion> getCommentVersionsByTaskId(Long id, String cursor, Integer size) {
+        return commentRepository.findVersionsByTaskIdAfter(id, afterId(cursor), Limit.of(pageSize(size)));
+    }
+
+    private int pageSize(Integer size) {
+        return Math.min(Math.max(size, 1), maxListSize);
+    }
+
+    private static Long afterId(String cursor) {
+        return cursor == null || cursor.isEmpty() ? 0L : CursorCodec.parseId(CursorCodec.decode(cursor, 1)[0]);
+    }
+
+    private static CursorPage<Comment> toCursorPage(List<Comment> comments, int limit) {
+        boolean hasMore = comments.size() > limit;
+        List<Comment> page = hasMore ? comments.subList(0, limit) : comments;
+        String nextCursor = hasMore ? CursorCodec.encode(page.get(page.size() - 1).getId()) : null;
+        return new CursorPage<>(page, nextCursor);
     }
 }
@@ -0,0 +1,105 @@
+package com.flawden.TaskForgeAPI.service.impl;
+
+import com.flawden.TaskForgeAPI.config.MetricsConfig;
+import com.flawden.TaskForgeAPI.dto.ExportFormat;
+import com.flawden.TaskForgeAPI.service.ExportService;
+import com.flawden.TaskForgeAPI.service.export.RowWriter;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Реализация сервиса выгрузки данных.
+ * <p>
+ * Запрос выполняется через JDBC в транзакции только для чтения: PostgreSQL использует серверный курсор
+ * и передает строки порциями по {@code fetchSize} только при выключенном автокоммите. Строки не превращаются
+ * в сущности и не попадают в контекст персистентности. После каждой порции записанное отправляется клиенту;
+ * если клиент закрыл соединение, запись завершается ошибкой, запрос прерывается и курсор закрывается.
+ * </p>
+ * <p>
+ * Конфигурация: {@code export.fetch-size} — количество строк, получаемых из базы данных за одно обращение
+ * (по умолчанию 500).
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class ExportServiceImpl implements ExportService {
+
+    private static final String TASKS_QUERY =
+            "SELECT id, title, description, status, priority FROM task_entity ORDER BY id";
+    private static final List<String> TASK_COLUMNS = List.of("id", "title", "description", "status", "priority");
+
+    private static final String COMMENTS_QUERY =
+            "SELECT id, text, author_id, task_id FROM comment_entity ORDER BY id";
+    private static final List<String> COMMENT_COLUMNS = List.of("id", "text", "authorId", "taskId");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${export.fetch-size:500}")
+    private int fetchSize;
+
+    @Override
+    public void exportTasks(ExportFormat format, OutputStream out) throws IOException {
+        export(TASKS_QUERY, TASK_COLUMNS, format, out);
+    }
+
+    @Override
+    public void exportComments(ExportFormat format, OutputStream out) throws IOException {
+        export(COMMENTS_QUERY, COMMENT_COLUMNS, format, out);
+    }
+
+    /**
+     * Выполняет запрос курсором и построчно записывает результат в поток.
+     *
+     * @param sql     запрос, столбцы которого соответствуют {@code columns}.
+     * @param columns имена столбцов выгрузки.
+     * @param format  формат выгрузки.
+     * @param out     поток, в который записывается выгрузка.
+     * @throws IOException если запись в поток не удалась.
+     */
+    private void export(String sql, List<String> columns, ExportFormat format, OutputStream out) throws IOException {
+        RowWriter writer = RowWriter.create(format, out, columns);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            transaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, resultSet -> {
+                Object[] values = new Object[columns.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = resultSet.getObject(i + 1);
+                }
+                try {
+                    writer.write(values);
+                    if (writer.getRowCount() % fetchSize == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            log.debug("Выгрузка прервана: клиент закрыл соединение", e);
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,165 @@
+package com.flawden.TaskForgeAPI.service.impl;
+
+import com.flawden.TaskForgeAPI.config.MetricsConfig;
+import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.task.TaskBatchItemResult;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeEvent;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
+import com.flawden.TaskForgeAPI.mapper.TaskMapper;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import com.flawden.TaskForgeAPI.service.TaskBatchService;
+import com.flawden.TaskForgeAPI.service.search.TaskSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Реализация сервиса пакетного создания задач.
+ * <p>
+ * Идентификаторы задач выдаются последовательностью с шагом 50 (см. {@link TaskEntity}), поэтому Hibernate
+ * получает идентификаторы заранее, без обращения к базе данных на каждую задачу, и может отправлять вставки
+ * пачками JDBC. При автоинкрементном ключе ({@code IDENTITY}) каждая вставка выполнялась бы отдельно ради
+ * получения сгенерированного идентификатора.
+ * </p>
+ * <p>
+ * Конфигурация: {@code tasks.batch.chunk-size} — размер порции, проверяемой и сохраняемой в одной транзакции
+ * одной пачкой JDBC (по умолчанию 500).
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class TaskBatchServiceImpl implements TaskBatchService {
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final TaskSearchIndex taskSearchIndex;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${tasks.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public List<TaskBatchItemResult> addTasks(Iterator<Task> tasks) {
+        List<TaskBatchItemResult> results = new ArrayList<>();
+        List<TaskEntity> chunk = new ArrayList<>(chunkSize);
+        List<TaskBatchItemResult> chunkResults = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            Task task;
+            try {
+                if (!tasks.hasNext()) {
+                    break;
+                }
+                task = tasks.next();
+            } catch (RuntimeException e) {
+                log.debug("Не удалось прочитать элемент {} пакета задач", index, e);
+                results.add(new TaskBatchItemResult(index, null, List.of("Не удалось прочитать элемент пакета")));
+                break;
+            }
+            TaskBatchItemResult result = new TaskBatchItemResult(index++, null, List.of());
+            results.add(result);
+            TaskEntity entity = toValidEntity(task, result);
+            if (entity == null) {
+                continue;
+            }
+            chunk.add(entity);
+            chunkResults.add(result);
+            if (chunk.size() == chunkSize) {
+                insert(chunk, chunkResults);
+                chunk.clear();
+                chunkResults.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insert(chunk, chunkResults);
+        }
+        return results;
+    }
+
+    /**
+     * Проверяет задачу и преобразует ее в сущность.
+     *
+     * @param task   задача из пакета.
+     * @param result результат элемента, в который записываются ошибки проверки.
+     * @return сущность задачи или {@code null}, если задача некорректна.
+     */
+    private TaskEntity toValidEntity(Task task, TaskBatchItemResult result) {
+        if (task == null) {
+            result.setErrors(List.of("Пустой элемент пакета"));
+            return null;
+        }
+        List<String> errors = new ArrayList<>(validator.validate(task).stream().map(ConstraintViolation::getMessage).toList());
+        if (!errors.isEmpty()) {
+            result.setErrors(errors);
+            return null;
+        }
+        TaskEntity entity;
+        try {
+            entity = taskMapper.mapTaskToTaskEntity(task);
+        } catch (IllegalArgumentException e) {
+            result.setErrors(List.of("Некорректный статус или приоритет задачи"));
+            return null;
+        }
+        entity.setId(null);
+        entity.setExecutors(new ArrayList<>());
+        entity.setComments(new ArrayList<>());
+        errors.addAll(validator.validate(entity).stream().map(ConstraintViolation::getMessage).toList());
+        if (!errors.isEmpty()) {
+            result.setErrors(errors);
+            return null;
+        }
+        return entity;
+    }
+
+    /**
+     * Сохраняет порцию задач в одной транзакции пачками JDBC по {@code chunkSize} вставок и публикует в той же
+     * транзакции событие {@link TaskChangeType#TASK_CREATED} для каждой созданной задачи. Идентификаторы задач и
+     * событий выдаются последовательностями при сохранении, поэтому задачи и записи {@code outbox} вставляются
+     * пачками при одном сбросе контекста.
+     *
+     * @param chunk        проверенные сущности задач.
+     * @param chunkResults результаты соответствующих элементов пакета.
+     */
+    private void insert(List<TaskEntity> chunk, List<TaskBatchItemResult> chunkResults) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(chunkSize);
+                taskRepository.saveAll(chunk);
+                chunk.forEach(entity -> eventPublisher.publishEvent(TaskChangeEvent.task(TaskChangeType.TASK_CREATED, entity.getId())));
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (DataAccessException | PersistenceException e) {
+            log.warn("Не удалось сохранить порцию из {} задач", chunk.size(), e);
+            chunkResults.forEach(result -> result.setErrors(List.of("Не удалось сохранить задачу")));
+            return;
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            chunkResults.get(i).setId(chunk.get(i).getId());
+            taskSearchIndex.index(chunk.get(i));
+        }
+    }
+}
@@ -1,24 +1,65 @@
 package com.flawden.TaskForgeAPI.service.impl;
 
+import com.flawden.TaskForgeAPI.config.MetricsConfig;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
+import com.flawden.TaskForgeAPI.dto.EntityVersion;
 import com.flawden.TaskForgeAPI.dto.task.Priority;
 import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.AssignmentStatus;
 import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignment;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignmentResult;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeEvent;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
+import com.flawden.TaskForgeAPI.dto.task.TaskChanges;
+import com.flawden.TaskForgeAPI.dto.task.TaskFilter;
+import com.flawden.TaskForgeAPI.dto.task.TaskSort;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
+import com.flawden.TaskForgeAPI.exception.ChangesExpiredException;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
 import com.flawden.TaskForgeAPI.exception.TaskNotFoundException;
+import com.flawden.TaskForgeAPI.exception.TaskVersionMismatchException;
 import com.flawden.TaskForgeAPI.exception.UserAlreadyHaveThisTaskException;
 import com.flawden.TaskForgeAPI.exception.UserNotFoundException;
 import com.flawden.TaskForgeAPI.mapper.TaskMapper;
 import com.flawden.TaskForgeAPI.model.TaskEntity;
-import com.flawden.TaskForgeAPI.model.UserEntity;
+import com.flawden.TaskForgeAPI.model.TaskTombstoneEntity;
+import com.flawden.TaskForgeAPI.repository.TaskQuery;
 import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import com.flawden.TaskForgeAPI.repository.TaskTombstoneRepository;
 import com.flawden.TaskForgeAPI.repository.UserRepository;
 import com.flawden.TaskForgeAPI.service.TaskService;
+import com.flawden.TaskForgeAPI.service.cache.EntityCache;
+import com.flawden.TaskForgeAPI.service.coalescing.SingleFlight;
+import com.flawden.TaskForgeAPI.service.pagination.CursorCodec;
+import com.flawden.TaskForgeAPI.service.search.TaskSearchIndex;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -27,14 +68,54 @@ import java.util.stream.Collectors;
  * Этот сервис предоставляет методы для получения всех задач, добавления, обновления и удаления задач,
  * а также для получения задач по идентификатору и имени, а также для назначения задач пользователю.
  * </p>
+ * <p>
+ * Методы получения списков загружают исполнителей и комментарии всех задач страницы двумя дополнительными
+ * запросами по списку идентификаторов, а не отдельным запросом на каждую задачу (N+1).
+ * </p>
+ * <p>
+ * Одновременные одинаковые чтения (тот же метод с равными аргументами) объединяются через {@link SingleFlight}:
+ * к базе данных обращается только первый запрос, остальные получают его результат.
+ * </p>
+ * <p>
+ * Изменяющие методы публикуют {@link TaskChangeEvent}: в той же транзакции оно записывается в таблицу {@code outbox},
+ * а подписчики получают его после фиксации транзакции.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final TaskMapper taskMapper;
+    private final TaskSearchIndex taskSearchIndex;
+    private final EntityCache entityCache;
+    private final SingleFlight singleFlight;
+    private final PlatformTransactionManager transactionManager;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${tasks.changes.tombstone-ttl:P30D}")
+    private Duration tombstoneTtl;
+
+    @Value("${tasks.changes.settle-time:PT5S}")
+    private Duration settleTime;
+
+    /**
+     * Максимальное количество результатов поиска.
+     */
+    static final int MAX_SEARCH_LIMIT = 100;
+
+    /**
+     * Максимальное количество изменений в одном ответе.
+     */
+    static final int MAX_CHANGES_LIMIT = 1000;
+
+    /**
+     * Максимальное количество идентификаторов в одном запросе догрузки связей.
+     */
+    private static final int FETCH_CHUNK_SIZE = 1000;
 
     /**
      * Получить все задачи.
@@ -46,15 +127,14 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public List<Task> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(this::mapTaskEntityToTask)
-                .collect(Collectors.toList());
+        return read(SingleFlight.key("getAllTasks"), () -> mapTaskEntitiesToTasks(taskRepository.findAll()));
     }
 
     /**
      * Получить задачи с пагинацией.
      * <p>
-     * Этот метод возвращает задачи с учетом пагинации, используя параметры страницы и лимита.
+     * Этот метод возвращает задачи с учетом пагинации, используя параметры страницы и лимита. Задачи упорядочены
+     * по идентификатору, как и в {@link #getTaskVersions}.
      * </p>
      *
      * @param page номер страницы (от 0).
@@ -63,23 +143,295 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public List<Task> getTasksWithPagination(Integer page, Integer size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return taskRepository.findAll(pageable).stream()
-                .map(this::mapTaskEntityToTask)
-                .collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+        return read(SingleFlight.key("getTasksWithPagination", page, size),
+                () -> mapTaskEntitiesToTasks(taskRepository.findAllBy(pageable).getContent()));
     }
 
+    /**
+     * Получить задачи с фильтрацией.
+     * <p>
+     * Условие запроса содержит только заданные фильтры, поэтому любой из них можно не указывать.
+     * </p>
+     *
+     * @param title    подстрока названия задачи или {@code null}.
+     * @param status   статус задачи или {@code null}.
+     * @param priority приоритет задачи или {@code null}.
+     * @return список задач, удовлетворяющих фильтрам, по возрастанию идентификатора.
+     */
     @Override
     public List<Task> getTasksWithFiltration(String title, Status status, Priority priority) {
-        return taskRepository.findByTitleContainingAndStatusAndPriority(title, status, priority).stream()
-                .map(this::mapTaskEntityToTask)
-                .collect(Collectors.toList());
+        TaskFilter filter = new TaskFilter(title, status, priority);
+        return read(SingleFlight.key("getTasksWithFiltration", filter),
+                () -> mapTaskEntitiesToTasks(taskRepository.findTasks(TaskQuery.all(filter))));
     }
 
+    /**
+     * Получить задачи с пагинацией и фильтрацией.
+     *
+     * @param page     номер страницы (от 0).
+     * @param size     количество задач на странице.
+     * @param title    подстрока названия задачи или {@code null}.
+     * @param status   статус задачи или {@code null}.
+     * @param priority приоритет задачи или {@code null}.
+     * @return список задач на текущей странице, по возрастанию идентификатора.
+     */
     @Override
     public List<Task> getTasksWithPaginationAndFiltration(Integer page, Integer size, String title, Status status, Priority priority) {
-        Pageable pageable = PageRequest.of(page, size);
-        return taskRepository.findByTitleContainingAndStatusAndPriority(title, status, priority, pageable).stream()
+        TaskFilter filter = new TaskFilter(title, status, priority);
+        return read(SingleFlight.key("getTasksWithPaginationAndFiltration", page, size, filter),
+                () -> mapTaskEntitiesToTasks(taskRepository.findTasks(TaskQuery.page(filter, page, size))));
+    }
+
+    /**
+     * Получить задачи по курсору.
+     * <p>
+     * Выбирается на одну задачу больше запрошенного, чтобы определить, есть ли следующая страница, без
+     * отдельного запроса на подсчет. Курсор следующей страницы строится по последней задаче текущей.
+     * </p>
+     *
+     * @param cursor курсор предыдущей страницы или {@code null} (пустая строка) для первой страницы.
+     * @param limit  количество задач на странице.
+     * @param sort   порядок сортировки.
+     * @param filter условия отбора.
+     * @return страница задач и курсор следующей страницы.
+     * @throws InvalidCursorException если курсор поврежден или выдан для другого порядка сортировки.
+     */
+    @Override
+    public CursorPage<Task> getTasksAfterCursor(String cursor, Integer limit, TaskSort sort, TaskFilter filter) {
+        int size = Math.max(limit, 1);
+        TaskQuery query = afterCursor(cursor, sort, filter, size + 1);
+        return read(SingleFlight.key("getTasksAfterCursor", query), () -> {
+            List<TaskEntity> entities = taskRepository.findTasks(query);
+            boolean hasMore = entities.size() > size;
+            List<TaskEntity> page = hasMore ? entities.subList(0, size) : entities;
+            String nextCursor = null;
+            if (hasMore) {
+                TaskEntity last = page.get(page.size() - 1);
+                nextCursor = encodeCursor(sort, last.getPriority(), last.getId());
+            }
+            return new CursorPage<>(mapTaskEntitiesToTasks(page), nextCursor);
+        });
+    }
+
+    /**
+     * Получить краткое представление задач.
+     * <p>
+     * Данные выбираются конструктором DTO в запросе: сущности не создаются, не попадают в контекст
+     * персистентности и не проверяются на изменения, а связи не загружаются.
+     * </p>
+     *
+     * @param page   номер страницы (от 0) или {@code null} для всех задач.
+     * @param limit  количество задач на странице.
+     * @param filter условия отбора.
+     * @return список кратких представлений задач.
+     */
+    @Override
+    public List<TaskSummary> getTaskSummaries(Integer page, Integer limit, TaskFilter filter) {
+        TaskQuery query = page == null ? TaskQuery.all(filter) : TaskQuery.page(filter, page, limit);
+        return singleFlight.execute(SingleFlight.key("getTaskSummaries", query), () -> taskRepository.findTaskSummaries(query));
+    }
+
+    /**
+     * Получить краткое представление задач по курсору.
+     *
+     * @param cursor курсор предыдущей страницы или {@code null} (пустая строка) для первой страницы.
+     * @param limit  количество задач на странице.
+     * @param sort   порядок сортировки.
+     * @param filter условия отбора.
+     * @return страница кратких представлений задач и курсор следующей страницы.
+     * @throws InvalidCursorException если курсор поврежден или выдан для другого порядка сортировки.
+     */
+    @Override
+    public CursorPage<TaskSummary> getTaskSummariesAfterCursor(String cursor, Integer limit, TaskSort sort, TaskFilter filter) {
+        int size = Math.max(limit, 1);
+        TaskQuery query = afterCursor(cursor, sort, filter, size + 1);
+        List<TaskSummary> summaries = singleFlight.execute(SingleFlight.key("getTaskSummaries", query),
+                () -> taskRepository.findTaskSummaries(query));
+        boolean hasMore = summaries.size() > size;
+        List<TaskSummary> page = hasMore ? summaries.subList(0, size) : summaries;
+        String nextCursor = null;
+        if (hasMore) {
+            TaskSummary last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(sort, last.getPriority(), last.getId());
+        }
+        return new CursorPage<>(page, nextCursor);
+    }
+
+    /**
+     * Получить задачи, измененные или удаленные после позиции синхронизации.
+     * <p>
+     * Позиция — время изменения и идентификатор последней переданной клиенту задачи. Измененные задачи и отметки
+     * об удалении выбираются по индексам {@code (updated_at, id)} и {@code (deleted_at, task_id)} и объединяются
+     * в одну последовательность. Изменения последних {@code tasks.changes.settle-time} не выдаются: транзакция,
+     * получившая время изменения раньше, может зафиксироваться позже, и ее изменение не должно оказаться позади
+     * уже выданной позиции.
+     * </p>
+     * <p>
+     * Позиция хранит также момент начала полной синхронизации: отметки об удалении до этого момента клиенту не
+     * нужны. Если нужные клиенту отметки могли быть уже удалены ({@code tasks.changes.tombstone-ttl}),
+     * выбрасывается {@link ChangesExpiredException}.
+     * </p>
+     *
+     * @param since позиция из предыдущего ответа или {@code null} (пустая строка) для полной синхронизации.
+     * @param limit максимальное количество изменений (не больше {@value #MAX_CHANGES_LIMIT}).
+     * @return измененные задачи, идентификаторы удаленных задач и следующая позиция.
+     * @throws InvalidCursorException  если позиция повреждена.
+     * @throws ChangesExpiredException если позиция устарела и нужна полная синхронизация.
+     */
+    @Override
+    public TaskChanges getTaskChanges(String since, Integer limit) {
+        int size = Math.clamp(limit, 1, MAX_CHANGES_LIMIT);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        ChangePosition from = since == null || since.isEmpty()
+                ? new ChangePosition(Instant.EPOCH, 0, now)
+                : decodeChangePosition(since);
+        if (from.horizon().isBefore(now.minus(tombstoneTtl))) {
+            throw new ChangesExpiredException("Позиция синхронизации устарела, требуется полная синхронизация");
+        }
+        return read(SingleFlight.key("getTaskChanges", from, size), () -> {
+            Instant until = Instant.now().truncatedTo(ChronoUnit.MICROS).minus(settleTime);
+            ChangePosition deletedFrom = from.at().isBefore(from.since()) ? new ChangePosition(from.since(), 0, from.since()) : from;
+            List<Change> changes = new ArrayList<>();
+            taskRepository.findChangedAfter(from.at(), from.id(), until, Limit.of(size + 1))
+                    .forEach(task -> changes.add(new Change(task.getUpdatedAt(), task.getId(), task)));
+            taskTombstoneRepository.findDeletedAfter(deletedFrom.at(), deletedFrom.id(), until, Limit.of(size + 1))
+                    .forEach(tombstone -> changes.add(new Change(tombstone.getDeletedAt(), tombstone.getTaskId(), null)));
+            changes.sort(Comparator.comparing(Change::at).thenComparingLong(Change::id));
+            boolean hasMore = changes.size() > size;
+            List<Change> page = hasMore ? changes.subList(0, size) : changes;
+            ChangePosition next;
+            if (hasMore) {
+                Change last = page.get(page.size() - 1);
+                next = new ChangePosition(last.at(), last.id(), from.since());
+            } else {
+                next = from.at().isAfter(until) ? from : new ChangePosition(until, Long.MAX_VALUE, from.since());
+            }
+            List<TaskEntity> changed = page.stream().map(Change::task).filter(Objects::nonNull).toList();
+            List<Long> deleted = page.stream().filter(change -> change.task() == null).map(Change::id).toList();
+            return new TaskChanges(mapTaskEntitiesToTasks(changed), deleted, encodeChangePosition(next), hasMore);
+        });
+    }
+
+    private ChangePosition decodeChangePosition(String since) {
+        String[] parts = CursorCodec.decode(since, 3);
+        return new ChangePosition(fromMicros(CursorCodec.parseId(parts[0])), CursorCodec.parseId(parts[1]),
+                fromMicros(CursorCodec.parseId(parts[2])));
+    }
+
+    private String encodeChangePosition(ChangePosition position) {
+        return CursorCodec.encode(ChronoUnit.MICROS.between(Instant.EPOCH, position.at()), position.id(),
+                ChronoUnit.MICROS.between(Instant.EPOCH, position.since()));
+    }
+
+    private static Instant fromMicros(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    /**
+     * Позиция синхронизации: время изменения и идентификатор последней переданной задачи и момент начала полной
+     * синхронизации.
+     */
+    private record ChangePosition(Instant at, long id, Instant since) {
+
+        Instant horizon() {
+            return at.isAfter(since) ? at : since;
+        }
+    }
+
+    private record Change(Instant at, long id, TaskEntity task) {
+    }
+
+    /**
+     * Выполняет чтение в транзакции только для чтения, объединяя его с одновременными одинаковыми чтениями.
+     * <p>
+     * Транзакция открывается внутри {@link SingleFlight}, поэтому ожидающие запросы не занимают соединения
+     * с базой данных.
+     * </p>
+     *
+     * @param key   ключ чтения (см. {@link SingleFlight#key(String, Object...)}).
+     * @param query чтение.
+     * @param <T>   тип результата.
+     * @return результат чтения.
+     */
+    private <T> T read(Object key, Supplier<T> query) {
+        return singleFlight.execute(key, () -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            return transaction.execute(status -> query.get());
+        });
+    }
+
+    /**
+     * Строит параметры выборки страницы, следующей за позицией курсора.
+     *
+     * @param cursor курсор или {@code null} (пустая строка) для первой страницы.
+     * @param sort   ожидаемый порядок сортировки.
+     * @param filter условия отбора.
+     * @param limit  максимальное количество задач.
+     * @return параметры выборки.
+     * @throws InvalidCursorException если курсор поврежден или выдан для другого порядка сортировки.
+     */
+    private TaskQuery afterCursor(String cursor, TaskSort sort, TaskFilter filter, int limit) {
+        CursorPosition position = decodeCursor(cursor, sort);
+        return position == null
+                ? TaskQuery.after(filter, sort, null, null, limit)
+                : TaskQuery.after(filter, sort, position.priority(), position.id(), limit);
+    }
+
+    /**
+     * Декодирует курсор задач.
+     *
+     * @param cursor курсор или {@code null} (пустая строка) для первой страницы.
+     * @param sort   ожидаемый порядок сортировки.
+     * @return позиция после последней задачи предыдущей страницы или {@code null} для первой страницы.
+     * @throws InvalidCursorException если курсор поврежден или выдан для другого порядка сортировки.
+     */
+    private CursorPosition decodeCursor(String cursor, TaskSort sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] parts = CursorCodec.decode(cursor, sort == TaskSort.ID ? 2 : 3);
+        if (!sort.name().equals(parts[0])) {
+            throw new InvalidCursorException("Курсор выдан для другого порядка сортировки");
+        }
+        return switch (sort) {
+            case ID -> new CursorPosition(null, CursorCodec.parseId(parts[1]));
+            case PRIORITY -> new CursorPosition(CursorCodec.parseEnum(Priority.class, parts[1]), CursorCodec.parseId(parts[2]));
+        };
+    }
+
+    private String encodeCursor(TaskSort sort, Priority priority, Long id) {
+        return switch (sort) {
+            case ID -> CursorCodec.encode(sort, id);
+            case PRIORITY -> CursorCodec.encode(sort, priority, id);
+        };
+    }
+
+    private record CursorPosition(Priority priority, long id) {
+    }
+
+    /**
+     * Преобразует список {@link TaskEntity} в список {@link Task}, предварительно загрузив исполнителей
+     * и комментарии (вместе с авторами) всех задач списка.
+     * <p>
+     * Связи загружаются отдельными запросами для исполнителей и для комментариев, чтобы избежать декартова
+     * произведения двух коллекций. Загруженные коллекции инициализируют уже находящиеся в контексте
+     * персистентности задачи, поэтому количество запросов не зависит от размера страницы (до
+     * {@value #FETCH_CHUNK_SIZE} задач).
+     * </p>
+     *
+     * @param taskEntities сущности задач.
+     * @return список задач {@link Task}.
+     */
+    private List<Task> mapTaskEntitiesToTasks(List<TaskEntity> taskEntities) {
+        List<Long> ids = taskEntities.stream().map(TaskEntity::getId).toList();
+        for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size()));
+            taskRepository.fetchExecutors(chunk);
+            taskRepository.fetchCommentsWithAuthors(chunk);
+        }
+        return taskEntities.stream()
                 .map(this::mapTaskEntityToTask)
                 .collect(Collectors.toList());
     }
@@ -98,7 +450,7 @@ public class TaskServiceImpl implements TaskService {
      * Получить задачу по идентификатору.
      * <p>
      * Этот метод ищет задачу по ее идентификатору и возвращает ее, если она существует. В противном случае
-     * выбрасывается исключение {@link TaskNotFoundException}.
+     * выбрасывается исключение {@link TaskNotFoundException}. Результат кэшируется в {@value EntityCache#TASKS}.
      * </p>
      *
      * @param id идентификатор задачи.
@@ -106,8 +458,51 @@ public class TaskServiceImpl implements TaskService {
      * @throws TaskNotFoundException если задача не найдена.
      */
     @Override
+    @Cacheable(cacheNames = EntityCache.TASKS, key = "#id")
     public Task getTaskById(Long id) {
-        return taskMapper.mapTaskEntityToTask(taskRepository.findById(id).orElseThrow(TaskNotFoundException::new));
+        return singleFlight.execute(SingleFlight.key("getTaskById", id),
+                () -> taskMapper.mapTaskEntityToTask(taskRepository.findById(id).orElseThrow(TaskNotFoundException::new)));
+    }
+
+    /**
+     * Получить версию задачи.
+     *
+     * @param id идентификатор задачи.
+     * @return версия задачи.
+     * @throws TaskNotFoundException если задача не найдена.
+     */
+    @Override
+    public long getTaskVersion(Long id) {
+        return singleFlight.execute(SingleFlight.key("getTaskVersion", id),
+                () -> taskRepository.findVersionById(id).orElseThrow(TaskNotFoundException::new));
+    }
+
+    /**
+     * Получить идентификаторы и версии задач страницы.
+     * <p>
+     * Выбираются только два столбца по тем же условиям и в том же порядке, что и задачи страницы, без
+     * загрузки исполнителей и комментариев.
+     * </p>
+     *
+     * @param page   номер страницы (от 0) или {@code null}.
+     * @param limit  количество задач на странице.
+     * @param cursor курсор страницы или {@code null}.
+     * @param sort   порядок сортировки при выборке по курсору.
+     * @param filter условия отбора.
+     * @return идентификаторы и версии задач страницы.
+     * @throws InvalidCursorException если курсор поврежден или выдан для другого порядка сортировки.
+     */
+    @Override
+    public List<EntityVersion> getTaskVersions(Integer page, Integer limit, String cursor, TaskSort sort, TaskFilter filter) {
+        TaskQuery query;
+        if (cursor != null) {
+            query = afterCursor(cursor, sort, filter, Math.max(limit, 1));
+        } else if (page == null) {
+            query = TaskQuery.all(filter);
+        } else {
+            query = TaskQuery.page(filter, page, limit);
+        }
+        return singleFlight.execute(SingleFlight.key("getTaskVersions", query), () -> taskRepository.findTaskVersions(query));
     }
 
     /**
@@ -120,44 +515,84 @@ public class TaskServiceImpl implements TaskService {
      * @return добавленная задача {@link Task}.
      */
     @Override
+    @Transactional
     public Task addTask(Task task) {
-        return taskMapper.mapTaskEntityToTask(taskRepository.save(taskMapper.mapTaskToTaskEntity(task)));
+        TaskEntity saved = taskRepository.save(taskMapper.mapTaskToTaskEntity(task));
+        taskSearchIndex.index(saved);
+        eventPublisher.publishEvent(TaskChangeEvent.task(TaskChangeType.TASK_CREATED, saved.getId()));
+        return taskMapper.mapTaskEntityToTask(saved);
     }
 
     /**
      * Обновить существующую задачу.
      * <p>
      * Этот метод обновляет задачу с заданным идентификатором. Если задача не найдена, выбрасывается исключение
-     * {@link TaskNotFoundException}.
+     * {@link TaskNotFoundException}. Если задана ожидаемая версия и задача уже изменена, выбрасывается исключение
+     * {@link TaskVersionMismatchException}. Изменение задачи параллельной транзакцией между чтением и сохранением
+     * обнаруживается по версии при фиксации.
      * </p>
      *
-     * @param task   объект задачи с обновленными данными.
-     * @param taskId идентификатор задачи для обновления.
-     * @throws TaskNotFoundException если задача не найдена.
+     * @param task            объект задачи с обновленными данными.
+     * @param taskId          идентификатор задачи для обновления.
+     * @param expectedVersion ожидаемая версия задачи или {@code null}.
+     * @throws TaskNotFoundException        если задача не найдена.
+     * @throws TaskVersionMismatchException если версия задачи отличается от ожидаемой.
      */
     @Override
     @Transactional
-    public void updateTask(Task task, Long taskId) {
+    public void updateTask(Task task, Long taskId, Long expectedVersion) {
         TaskEntity updatableTask = taskRepository.findById(taskId).orElseThrow(TaskNotFoundException::new);
+        if (expectedVersion != null && updatableTask.getVersion() != expectedVersion) {
+            throw new TaskVersionMismatchException();
+        }
         updatableTask.setTitle(task.getTitle());
         updatableTask.setDescription(task.getDescription());
         updatableTask.setStatus(Status.valueOf(task.getStatus()));
         updatableTask.setPriority(Priority.valueOf(task.getPriority()));
         taskRepository.save(updatableTask);
+        taskSearchIndex.index(updatableTask);
+        entityCache.evict(EntityCache.TASKS, taskId);
+        eventPublisher.publishEvent(TaskChangeEvent.task(TaskChangeType.TASK_UPDATED, taskId));
     }
 
     /**
      * Удалить задачу по идентификатору.
      * <p>
-     * Этот метод удаляет задачу с указанным идентификатором.
+     * Этот метод удаляет задачу с указанным идентификатором. Комментарии вместе с задачей не удаляются: внешний
+     * ключ {@code fk_comment_task} не каскадный, поэтому задача с комментариями не удаляется, и кэш комментариев
+     * не затрагивается. Исполнители задачи не удаляются, удаляются только их назначения, поэтому из кэша вытесняется
+     * только сама задача. Для выборки изменений сохраняется отметка об удалении.
      * </p>
      *
      * @param id идентификатор задачи.
+     * @throws TaskNotFoundException если задача не найдена.
      */
     @Override
     @Transactional
     public void deleteTask(Long id) {
+        if (!taskRepository.existsById(id)) {
+            throw new TaskNotFoundException();
+        }
         taskRepository.deleteById(id);
+        taskTombstoneRepository.save(new TaskTombstoneEntity(id, Instant.now()));
+        taskSearchIndex.remove(id);
+        entityCache.evict(EntityCache.TASKS, id);
+        eventPublisher.publishEvent(TaskChangeEvent.task(TaskChangeType.TASK_DELETED, id));
+    }
+
+    /**
+     * Найти задачи по словам из названия и описания.
+     * <p>
+     * Поиск выполняется по встроенному инвертированному индексу {@link TaskSearchIndex}, без обращения к базе данных.
+     * </p>
+     *
+     * @param query строка запроса.
+     * @param limit максимальное количество результатов (не больше {@value #MAX_SEARCH_LIMIT}).
+     * @return краткие представления найденных задач по убыванию релевантности.
+     */
+    @Override
+    public List<TaskSummary> searchTasks(String query, Integer limit) {
+        return taskSearchIndex.search(query, Math.clamp(limit, 1, MAX_SEARCH_LIMIT));
     }
 
     /**
@@ -173,14 +608,17 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public Task getTaskByName(String name) {
-        return taskMapper.mapTaskEntityToTask(taskRepository.findTaskEntitiesByTitle(name).orElseThrow(TaskNotFoundException::new));
+        return singleFlight.execute(SingleFlight.key("getTaskByName", name),
+                () -> taskMapper.mapTaskEntityToTask(taskRepository.findTaskEntitiesByTitle(name).orElseThrow(TaskNotFoundException::new)));
     }
 
     /**
      * Назначить задачу пользователю.
      * <p>
      * Этот метод назначает задачу пользователю с указанным идентификатором. Если задача уже назначена
-     * этому пользователю, выбрасывается исключение {@link UserAlreadyHaveThisTaskException}.
+     * этому пользователю, выбрасывается исключение {@link UserAlreadyHaveThisTaskException}. Повторное
+     * назначение определяется по первичному ключу {@code task_user}, без загрузки задач пользователя.
+     * Счетчик исполнителей задачи увеличивается в той же транзакции.
      * </p>
      *
      * @param userId идентификатор пользователя.
@@ -192,16 +630,78 @@ public class TaskServiceImpl implements TaskService {
     @Override
     @Transactional
     public void assignTaskToUser(Long userId, Long taskId) {
-        TaskEntity task = taskRepository.findById(taskId).orElseThrow(TaskNotFoundException::new);
-        UserEntity user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
+        if (!taskRepository.existsById(taskId)) {
+            throw new TaskNotFoundException();
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException();
+        }
+        if (!taskRepository.insertAssignmentsIfAbsent(List.of(new TaskAssignment(userId, taskId)))[0]) {
+            throw new UserAlreadyHaveThisTaskException();
+        }
+        taskRepository.addToExecutorCount(taskId, 1);
+        entityCache.evict(EntityCache.TASKS, taskId);
+        eventPublisher.publishEvent(TaskChangeEvent.task(TaskChangeType.TASK_UPDATED, taskId));
+    }
+
+    /**
+     * Назначить задачи пользователям пакетом.
+     * <p>
+     * Существование задач и пользователей проверяется запросами по спискам идентификаторов, а связи добавляются
+     * вставкой с проверкой первичного ключа {@code task_user}. Коллекции задач пользователей не загружаются,
+     * поэтому стоимость назначения не зависит от количества уже назначенных задач. Счетчик исполнителей
+     * каждой задачи увеличивается одним запросом на количество добавленных к ней связей.
+     * </p>
+     *
+     * @param assignments пары пользователь — задача.
+     * @return результаты в порядке пар запроса.
+     */
+    @Override
+    @Transactional
+    public List<TaskAssignmentResult> assignTasksToUsers(List<TaskAssignment> assignments) {
+        Set<Long> existingTasks = findExistingIds(assignments.stream().map(TaskAssignment::getTaskId).distinct().toList(),
+                taskRepository::findExistingIds);
+        Set<Long> existingUsers = findExistingIds(assignments.stream().map(TaskAssignment::getUserId).distinct().toList(),
+                userRepository::findExistingIds);
 
-        for (TaskEntity taskEntity : user.getTaskEntities()) {
-            if (taskEntity.getId().equals(taskId)) {
-                throw new UserAlreadyHaveThisTaskException();
+        List<TaskAssignmentResult> results = new ArrayList<>(assignments.size());
+        List<TaskAssignment> insertable = new ArrayList<>();
+        List<TaskAssignmentResult> insertableResults = new ArrayList<>();
+        for (TaskAssignment assignment : assignments) {
+            TaskAssignmentResult result = new TaskAssignmentResult(assignment.getUserId(), assignment.getTaskId(), null);
+            results.add(result);
+            if (!existingTasks.contains(assignment.getTaskId())) {
+                result.setStatus(AssignmentStatus.TASK_NOT_FOUND);
+            } else if (!existingUsers.contains(assignment.getUserId())) {
+                result.setStatus(AssignmentStatus.USER_NOT_FOUND);
+            } else {
+                insertable.add(assignment);
+                insertableResults.add(result);
             }
         }
-        user.getTaskEntities().add(task);
-        userRepository.save(user);
+        if (!insertable.isEmpty()) {
+            boolean[] inserted = taskRepository.insertAssignmentsIfAbsent(insertable);
+            // Счетчики обновляются по возрастанию идентификатора задачи, чтобы параллельные пакеты блокировали строки в одном порядке.
+            Map<Long, Integer> added = new TreeMap<>();
+            for (int i = 0; i < inserted.length; i++) {
+                insertableResults.get(i).setStatus(inserted[i] ? AssignmentStatus.ASSIGNED : AssignmentStatus.ALREADY_ASSIGNED);
+                if (inserted[i]) {
+                    added.merge(insertable.get(i).getTaskId(), 1, Integer::sum);
+                }
+            }
+            added.forEach(taskRepository::addToExecutorCount);
+            entityCache.evict(EntityCache.TASKS, added.keySet());
+            added.keySet().forEach(taskId -> eventPublisher.publishEvent(TaskChangeEvent.task(TaskChangeType.TASK_UPDATED, taskId)));
+        }
+        return results;
+    }
+
+    private static Set<Long> findExistingIds(List<Long> ids, Function<List<Long>, List<Long>> query) {
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+            existing.addAll(query.apply(ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size()))));
+        }
+        return existing;
     }
 
 }
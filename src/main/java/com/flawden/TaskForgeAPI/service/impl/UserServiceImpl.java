@@ -1,13 +1,26 @@
 package com.flawden.TaskForgeAPI.service.impl;
 
+import com.flawden.TaskForgeAPI.config.MetricsConfig;
+import com.flawden.TaskForgeAPI.config.security.PrincipalCache;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
 import com.flawden.TaskForgeAPI.dto.user.UpdateUser;
 import com.flawden.TaskForgeAPI.dto.user.User;
+import com.flawden.TaskForgeAPI.dto.user.UserSort;
 import com.flawden.TaskForgeAPI.exception.UserNotFoundException;
 import com.flawden.TaskForgeAPI.mapper.UserMapper;
 import com.flawden.TaskForgeAPI.model.UserEntity;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
 import com.flawden.TaskForgeAPI.repository.UserRepository;
 import com.flawden.TaskForgeAPI.service.UserService;
+import com.flawden.TaskForgeAPI.service.cache.EntityCache;
+import com.flawden.TaskForgeAPI.service.pagination.CursorCodec;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,46 +33,88 @@ import java.util.stream.Collectors;
  * Этот сервис предоставляет методы для получения всех пользователей, добавления, обновления и удаления пользователей,
  * а также для получения пользователя по идентификатору и имени (username).
  * </p>
+ * <p>
+ * Размер любого возвращаемого списка ограничен параметром {@code users.list.max-size} (по умолчанию 1000).
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
     private final UserMapper userMapper;
+    private final PrincipalCache principalCache;
+    private final EntityCache entityCache;
+
+    @Value("${users.list.max-size:1000}")
+    private int maxListSize;
 
     /**
      * Получить всех пользователей.
      * <p>
-     * Этот метод возвращает всех пользователей из репозитория, преобразованных в объекты типа {@link User}.
+     * Этот метод возвращает не больше {@code users.list.max-size} пользователей, преобразованных в объекты
+     * типа {@link User}. Если пользователей больше, возвращается курсор для получения остальных.
      * </p>
      *
-     * @return список всех пользователей.
+     * @return пользователи и курсор продолжения.
      */
     @Override
-    public List<User> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapUserEntityToUser)
-                .collect(Collectors.toList());
+    public CursorPage<User> getAllUsers() {
+        return getUsersAfterCursor(null, maxListSize);
     }
 
     /**
      * Получить пользователей с пагинацией.
      * <p>
-     * Этот метод возвращает пользователей с учетом пагинации.
+     * Этот метод возвращает пользователей с учетом пагинации и сортировки. Для стабильного порядка страниц
+     * при совпадающих значениях поля сортировки пользователи дополнительно упорядочиваются по идентификатору.
      * </p>
      *
-     * @param page номер страницы (от 0).
-     * @param size количество пользователей на странице.
+     * @param page      номер страницы (от 0).
+     * @param size      количество пользователей на странице.
+     * @param sort      поле сортировки.
+     * @param direction направление сортировки.
      * @return список пользователей на текущей странице.
      */
     @Override
-    public List<User> getUsersWithPagination(Integer page, Integer size) {
-        return userRepository.findAll().stream()
+    public List<User> getUsersWithPagination(Integer page, Integer size, UserSort sort, Sort.Direction direction) {
+        Sort order = Sort.by(direction, sort.getProperty());
+        if (sort != UserSort.ID) {
+            order = order.and(Sort.by(Sort.Direction.ASC, UserSort.ID.getProperty()));
+        }
+        return userRepository.findAllBy(PageRequest.of(page, pageSize(size), order)).stream()
                 .map(this::mapUserEntityToUser)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Получить пользователей по курсору.
+     * <p>
+     * Выбирается на одного пользователя больше запрошенного, чтобы определить наличие следующей страницы.
+     * </p>
+     *
+     * @param cursor курсор предыдущей страницы или {@code null} (пустая строка) для первой страницы.
+     * @param size   количество пользователей на странице.
+     * @return страница пользователей и курсор следующей страницы.
+     */
+    @Override
+    public CursorPage<User> getUsersAfterCursor(String cursor, Integer size) {
+        int limit = pageSize(size);
+        List<UserEntity> entities = cursor == null || cursor.isEmpty()
+                ? userRepository.findAllByOrderByIdAsc(Limit.of(limit + 1))
+                : userRepository.findByIdGreaterThanOrderByIdAsc(CursorCodec.parseId(CursorCodec.decode(cursor, 1)[0]), Limit.of(limit + 1));
+        boolean hasMore = entities.size() > limit;
+        List<UserEntity> page = hasMore ? entities.subList(0, limit) : entities;
+        String nextCursor = hasMore ? CursorCodec.encode(page.get(page.size() - 1).getId()) : null;
+        return new CursorPage<>(page.stream().map(this::mapUserEntityToUser).collect(Collectors.toList()), nextCursor);
+    }
+
+    private int pageSize(Integer size) {
+        return Math.min(Math.max(size, 1), maxListSize);
+    }
+
     /**
      * Преобразует {@link UserEntity} в {@link User}.
      *
@@ -74,7 +129,7 @@ public class UserServiceImpl implements UserService {
      * Получить пользователя по идентификатору.
      * <p>
      * Этот метод ищет пользователя по его идентификатору и возвращает его, если он существует. В противном случае
-     * выбрасывается исключение {@link UserNotFoundException}.
+     * выбрасывается исключение {@link UserNotFoundException}. Результат кэшируется в {@value EntityCache#USERS}.
      * </p>
      *
      * @param id идентификатор пользователя.
@@ -82,10 +137,23 @@ public class UserServiceImpl implements UserService {
      * @throws UserNotFoundException если пользователь не найден.
      */
     @Override
+    @Cacheable(cacheNames = EntityCache.USERS, key = "#id")
     public User getUserById(Long id) {
         return userMapper.mapUserEntityToUser(userRepository.findById(id).orElseThrow(UserNotFoundException::new));
     }
 
+    /**
+     * Получить версию пользователя.
+     *
+     * @param id идентификатор пользователя.
+     * @return версия пользователя.
+     * @throws UserNotFoundException если пользователь не найден.
+     */
+    @Override
+    public long getUserVersion(Long id) {
+        return userRepository.findVersionById(id).orElseThrow(UserNotFoundException::new);
+    }
+
     /**
      * Добавить нового пользователя.
      * <p>
@@ -105,7 +173,9 @@ public class UserServiceImpl implements UserService {
      * Обновить существующего пользователя.
      * <p>
      * Этот метод обновляет пользователя с заданным идентификатором. Если пользователь не найден, выбрасывается исключение
-     * {@link UserNotFoundException}.
+     * {@link UserNotFoundException}. Закэшированные данные пользователя удаляются из {@link PrincipalCache}
+     * как для старого, так и для нового адреса электронной почты. Пользователь входит в кэшированные задачи
+     * как исполнитель, поэтому кэш задач очищается целиком, а версии задач пользователя увеличиваются.
      * </p>
      *
      * @param user   объект пользователя с обновленными данными.
@@ -116,16 +186,23 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void updateUser(UpdateUser user, Long userId) {
         UserEntity updatableUser = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
+        principalCache.evict(updatableUser.getEmail());
+        principalCache.evict(user.getEmail());
         updatableUser.setEmail(user.getEmail());
         updatableUser.setFirstName(user.getFirstName());
         updatableUser.setLastName(user.getLastName());
         userRepository.save(updatableUser);
+        taskRepository.incrementVersionsByExecutorId(userId);
+        entityCache.evict(EntityCache.USERS, userId);
+        entityCache.evictAll(EntityCache.TASKS);
     }
 
     /**
      * Удалить пользователя по идентификатору.
      * <p>
-     * Этот метод удаляет пользователя с указанным идентификатором.
+     * Этот метод удаляет пользователя с указанным идентификатором и его данные из {@link PrincipalCache}
+     * и кэшей пользователей и задач. До удаления назначений в той же транзакции у задач пользователя уменьшается
+     * счетчик исполнителей и увеличивается версия.
      * </p>
      *
      * @param id идентификатор пользователя.
@@ -133,7 +210,11 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUser(Long id) {
+        userRepository.findById(id).ifPresent(user -> principalCache.evict(user.getEmail()));
+        taskRepository.removeExecutorFromCounts(id);
         userRepository.deleteById(id);
+        entityCache.evict(EntityCache.USERS, id);
+        entityCache.evictAll(EntityCache.TASKS);
     }
 
     /**
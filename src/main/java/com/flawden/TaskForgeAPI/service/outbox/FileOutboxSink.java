@@ -0,0 +1,62 @@
+package com.flawden.TaskForgeAPI.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * FileOutboxSink — получатель событий, дописывающий их в файл NDJSON (по одному событию в строке).
+ *
+ * <p>Предназначен для разработки и тестов и включается только явно: {@code tasks.outbox.sink=file}, файл задается
+ * {@code tasks.outbox.file}, недостающие каталоги создаются при записи. Получателя по умолчанию нет: если
+ * {@code tasks.outbox.sink} не задан, компонента {@link OutboxSink} нет, и приложение не запускается, а не пишет
+ * события в локальный файл незаметно. Другой получатель подключается как компонент {@link OutboxSink}
+ * с иным значением {@code tasks.outbox.sink}.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileOutboxSink(ObjectMapper objectMapper, @Value("${tasks.outbox.file:outbox.ndjson}") Path file) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        // Блокировка, а не synchronized: запись в файл под монитором закрепила бы виртуальный поток за потоком платформы.
+        lock.lock();
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (OutboxEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать события в " + file, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.flawden.TaskForgeAPI.service.outbox;
+
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
+
+import java.time.Instant;
+
+/**
+ * Событие из таблицы {@code outbox}, передаваемое в {@link OutboxSink}.
+ *
+ * @param id        порядковый номер события; потребители могут отбрасывать повторы по нему.
+ * @param type      тип изменения.
+ * @param taskId    идентификатор задачи.
+ * @param commentId идентификатор комментария или {@code null}.
+ * @param createdAt время записи события.
+ */
+public record OutboxEvent(long id, TaskChangeType type, Long taskId, Long commentId, Instant createdAt) {
+}
@@ -0,0 +1,143 @@
+package com.flawden.TaskForgeAPI.service.outbox;
+
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OutboxRelay — фоновая передача событий из таблицы {@code outbox} в {@link OutboxSink}.
+ *
+ * <p>События обрабатываются пачками: пачка выбирается одним запросом {@code SELECT ... FOR UPDATE SKIP LOCKED},
+ * передается получателю и удаляется одним запросом в той же транзакции. Количество обращений к базе данных
+ * зависит от количества пачек, а не событий. Строки, заблокированные другим экземпляром приложения, пропускаются,
+ * поэтому несколько экземпляров разбирают таблицу параллельно, не передавая события дважды; порядок событий
+ * сохраняется в пределах пачки, но не между экземплярами.</p>
+ *
+ * <p>Если получатель выбросил исключение, транзакция откатывается, и пачка передается повторно при следующем
+ * запуске (доставка «хотя бы один раз»).</p>
+ *
+ * <p>Конфигурация:
+ * <ul>
+ *     <li>{@code tasks.outbox.relay-interval} — пауза между запусками (по умолчанию {@code PT1S}).</li>
+ *     <li>{@code tasks.outbox.batch-size} — размер пачки (по умолчанию 500).</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Метрики:
+ * <ul>
+ *     <li>{@code taskforge.outbox.published} — количество переданных событий.</li>
+ *     <li>{@code taskforge.outbox.failures} — количество пачек, которые не удалось передать.</li>
+ *     <li>{@code taskforge.outbox.lag} — возраст самого старого непереданного события на момент последнего
+ *     запуска, в секундах; растет, пока передача не идет.</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements MeterBinder {
+
+    private static final String SELECT_BATCH = "SELECT id, event_type, task_id, comment_id, created_at FROM outbox "
+            + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String SELECT_OLDEST = "SELECT created_at FROM outbox ORDER BY id LIMIT 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxSink sink;
+    private final TransactionTemplate transaction;
+
+    @Value("${tasks.outbox.batch-size:500}")
+    private int batchSize;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile Instant oldestPending;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, OutboxSink sink, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sink = sink;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Передает все накопившиеся события.
+     *
+     * @return количество переданных событий.
+     */
+    @Scheduled(initialDelayString = "${tasks.outbox.relay-interval:PT1S}",
+            fixedDelayString = "${tasks.outbox.relay-interval:PT1S}")
+    public int relay() {
+        int relayed = 0;
+        try {
+            int batch;
+            do {
+                batch = transaction.execute(status -> relayBatch());
+                relayed += batch;
+            } while (batch == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Не удалось передать события outbox", e);
+        }
+        List<Timestamp> oldest = jdbcTemplate.queryForList(SELECT_OLDEST, Timestamp.class);
+        oldestPending = oldest.isEmpty() ? null : oldest.get(0).toInstant();
+        return relayed;
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = jdbcTemplate.query(SELECT_BATCH, (resultSet, row) -> new OutboxEvent(
+                resultSet.getLong("id"),
+                TaskChangeType.valueOf(resultSet.getString("event_type")),
+                resultSet.getLong("task_id"),
+                resultSet.getObject("comment_id", Long.class),
+                resultSet.getTimestamp("created_at").toInstant()), batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        sink.publish(events);
+        String placeholders = String.join(",", Collections.nCopies(events.size(), "?"));
+        jdbcTemplate.update("DELETE FROM outbox WHERE id IN (" + placeholders + ")",
+                events.stream().map(OutboxEvent::id).toArray());
+        published.add(events.size());
+        return events.size();
+    }
+
+    /**
+     * Возвращает возраст самого старого непереданного события.
+     *
+     * @return возраст события на момент последнего запуска или {@link Duration#ZERO}, если таблица была пуста.
+     */
+    public Duration lag() {
+        Instant oldest = oldestPending;
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, Instant.now());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("taskforge.outbox.published", published, LongAdder::doubleValue)
+                .description("Количество событий outbox, переданных получателю")
+                .register(registry);
+        FunctionCounter.builder("taskforge.outbox.failures", failures, LongAdder::doubleValue)
+                .description("Количество пачек событий outbox, которые не удалось передать")
+                .register(registry);
+        Gauge.builder("taskforge.outbox.lag", this, relay -> relay.lag().toMillis() / 1000.0)
+                .description("Возраст самого старого непереданного события outbox")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+}
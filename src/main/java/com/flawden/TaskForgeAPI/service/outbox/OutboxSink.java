@@ -0,0 +1,20 @@
+package com.flawden.TaskForgeAPI.service.outbox;
+
+import java.util.List;
+
+/**
+ * Получатель событий из таблицы {@code outbox} (очередь сообщений, поисковый индекс, файл).
+ *
+ * <p>Пачка считается переданной, если метод завершился без исключения; после этого события удаляются из таблицы.
+ * Если метод выбросил исключение, пачка будет передана повторно, поэтому получатель должен быть готов к повторной
+ * доставке.</p>
+ */
+public interface OutboxSink {
+
+    /**
+     * Передает пачку событий.
+     *
+     * @param events события по возрастанию идентификатора.
+     */
+    void publish(List<OutboxEvent> events);
+}
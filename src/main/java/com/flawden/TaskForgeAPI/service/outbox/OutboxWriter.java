@@ -0,0 +1,36 @@
+package com.flawden.TaskForgeAPI.service.outbox;
+
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeEvent;
+import com.flawden.TaskForgeAPI.model.OutboxEventEntity;
+import com.flawden.TaskForgeAPI.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * OutboxWriter — запись событий изменения задач в таблицу {@code outbox}.
+ *
+ * <p>Событие записывается синхронно при публикации, в транзакции изменившего метода сервиса: событие сохраняется
+ * тогда и только тогда, когда фиксируется само изменение. Публикация события вне транзакции — ошибка.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Добавляет событие в таблицу {@code outbox}.
+     *
+     * @param event событие изменения.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TaskChangeEvent event) {
+        outboxEventRepository.save(new OutboxEventEntity(null, event.type(), event.taskId(), event.commentId(), Instant.now()));
+    }
+}
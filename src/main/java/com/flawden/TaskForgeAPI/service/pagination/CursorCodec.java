@@ -0,0 +1,90 @@
+package com.flawden.TaskForgeAPI.service.pagination;
+
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * CursorCodec — кодирование позиции постраничной выборки в непрозрачный для клиента курсор.
+ *
+ * <p>Курсор содержит значения ключа сортировки последнего элемента страницы. Следующая страница
+ * выбирается условием «ключ больше курсора» по индексу, а не через {@code OFFSET}, поэтому стоимость
+ * запроса не зависит от глубины пролистывания.</p>
+ *
+ * <p>Части курсора объединяются через {@code |} и кодируются в Base64 (URL-safe, без выравнивания).
+ * Части не должны содержать символ-разделитель; курсоры строятся только из идентификаторов и имен перечислений.</p>
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Кодирует части позиции в курсор.
+     *
+     * @param parts значения ключа сортировки.
+     * @return курсор.
+     */
+    public static String encode(Object... parts) {
+        String raw = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Декодирует курсор в части позиции.
+     *
+     * @param cursor        курсор, полученный от клиента.
+     * @param expectedParts ожидаемое количество частей.
+     * @return части позиции.
+     * @throws InvalidCursorException если курсор поврежден или не соответствует ожидаемому формату.
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Некорректный курсор");
+        }
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+        if (parts.length != expectedParts) {
+            throw new InvalidCursorException("Некорректный курсор");
+        }
+        return parts;
+    }
+
+    /**
+     * Разбирает идентификатор из части курсора.
+     *
+     * @param value часть курсора.
+     * @return идентификатор.
+     * @throws InvalidCursorException если значение не является числом.
+     */
+    public static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Некорректный курсор");
+        }
+    }
+
+    /**
+     * Разбирает значение перечисления из части курсора.
+     *
+     * @param type  тип перечисления.
+     * @param value часть курсора.
+     * @return значение перечисления.
+     * @throws InvalidCursorException если значение не входит в перечисление.
+     */
+    public static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Некорректный курсор");
+        }
+    }
+}
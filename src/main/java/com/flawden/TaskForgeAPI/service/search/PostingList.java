@@ -0,0 +1,160 @@
+package com.flawden.TaskForgeAPI.service.search;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Неизменяемый отсортированный список идентификаторов документов, содержащих термин.
+ *
+ * <p>Идентификаторы хранятся разностями между соседними значениями в кодировке переменной длины (varint):
+ * для плотных последовательностей идентификаторов большинство значений занимает один байт вместо восьми.
+ * Изменение создает новый список, поэтому читатели могут обходить список без блокировок.</p>
+ *
+ * <p>Идентификатор больше последнего в списке дописывается в конец без декодирования списка: к копии данных
+ * добавляется только его разность с последним идентификатором. Полное перекодирование выполняется лишь для
+ * идентификатора внутри списка и при удалении.</p>
+ */
+final class PostingList {
+
+    static final PostingList EMPTY = new PostingList(new byte[0], 0, 0);
+
+    private final byte[] data;
+    private final int size;
+    private final long last;
+
+    private PostingList(byte[] data, int size, long last) {
+        this.data = data;
+        this.size = size;
+        this.last = last;
+    }
+
+    /**
+     * @return количество документов в списке.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Обходит идентификаторы по возрастанию.
+     *
+     * @param action действие для каждого идентификатора.
+     */
+    void forEach(LongConsumer action) {
+        long value = 0;
+        int position = 0;
+        while (position < data.length) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+            action.accept(value);
+        }
+    }
+
+    /**
+     * Возвращает список с добавленным идентификатором.
+     *
+     * @param id идентификатор документа.
+     * @return новый список или этот же, если идентификатор уже есть.
+     */
+    PostingList with(long id) {
+        if (size == 0 || id > last) {
+            Encoder encoder = new Encoder(this);
+            encoder.add(id);
+            return encoder.build();
+        }
+        Encoder encoder = new Encoder(EMPTY);
+        boolean[] added = {false};
+        forEach(existing -> {
+            if (!added[0] && id <= existing) {
+                if (id < existing) {
+                    encoder.add(id);
+                }
+                added[0] = true;
+            }
+            encoder.add(existing);
+        });
+        if (!added[0]) {
+            encoder.add(id);
+        }
+        return encoder.size == size ? this : encoder.build();
+    }
+
+    /**
+     * Возвращает список с добавленными идентификаторами.
+     *
+     * <p>Если все идентификаторы больше последнего в списке, они дописываются одной копией данных.</p>
+     *
+     * @param ids идентификаторы документов строго по возрастанию.
+     * @return новый список или этот же, если добавлять нечего.
+     */
+    PostingList withAll(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return this;
+        }
+        if (size > 0 && ids.get(0) <= last) {
+            PostingList result = this;
+            for (long id : ids) {
+                result = result.with(id);
+            }
+            return result;
+        }
+        Encoder encoder = new Encoder(this);
+        ids.forEach(encoder::add);
+        return encoder.build();
+    }
+
+    /**
+     * Возвращает список без идентификатора.
+     *
+     * @param id идентификатор документа.
+     * @return новый список или этот же, если идентификатора нет.
+     */
+    PostingList without(long id) {
+        Encoder encoder = new Encoder(EMPTY);
+        forEach(existing -> {
+            if (existing != id) {
+                encoder.add(existing);
+            }
+        });
+        return encoder.size == size ? this : encoder.build();
+    }
+
+    private static final class Encoder {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private long previous;
+        private int size;
+
+        /**
+         * @param base список, в конец которого дописываются идентификаторы.
+         */
+        Encoder(PostingList base) {
+            out.writeBytes(base.data);
+            previous = base.last;
+            size = base.size;
+        }
+
+        void add(long id) {
+            long delta = id - previous;
+            previous = id;
+            size++;
+            while ((delta & ~0x7FL) != 0) {
+                out.write((int) ((delta & 0x7F) | 0x80));
+                delta >>>= 7;
+            }
+            out.write((int) delta);
+        }
+
+        PostingList build() {
+            return size == 0 ? EMPTY : new PostingList(out.toByteArray(), size, previous);
+        }
+    }
+}
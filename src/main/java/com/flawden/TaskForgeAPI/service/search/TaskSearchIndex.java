@@ -0,0 +1,266 @@
+package com.flawden.TaskForgeAPI.service.search;
+
+import com.flawden.TaskForgeAPI.dto.task.TaskFilter;
+import com.flawden.TaskForgeAPI.dto.task.TaskSort;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.repository.TaskQuery;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * TaskSearchIndex — встроенный инвертированный индекс для полнотекстового поиска задач по названию и описанию.
+ *
+ * <p>Для каждого термина хранится сжатый список идентификаторов задач ({@link PostingList}), отдельно для
+ * названия и для описания. Термины упорядочены, поэтому поиск по префиксу — это обход диапазона терминов,
+ * а не перебор всех задач.</p>
+ *
+ * <p>Ранжирование: каждое слово запроса должно совпасть с термином задачи целиком или как префикс. Вклад
+ * совпадения пропорционален редкости термина (idf), совпадение в названии весит вдвое больше совпадения
+ * в описании, а совпадение по префиксу — вдвое меньше точного.</p>
+ *
+ * <p>Индекс строится из {@code task_entity} при запуске приложения и обновляется сервисом задач при создании,
+ * изменении и удалении задачи. Изменения внутри транзакции применяются к индексу только после ее фиксации.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private final TaskRepository taskRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, PostingList> titlePostings = new TreeMap<>();
+    private final NavigableMap<String, PostingList> descriptionPostings = new TreeMap<>();
+    private final Map<Long, IndexedTask> documents = new HashMap<>();
+
+    /**
+     * Перестраивает индекс по всем задачам базы данных.
+     *
+     * <p>Задачи читаются страницами по идентификатору, каждая страница — отдельным запросом без общей
+     * транзакции, поэтому прочитанные сущности не накапливаются в памяти. Идентификаторы страницы добавляются
+     * в список каждого термина одним дописыванием.</p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        clear();
+        Long lastId = null;
+        List<TaskEntity> batch;
+        do {
+            batch = taskRepository.findTasks(TaskQuery.after(TaskFilter.NONE, TaskSort.ID, null, lastId, REBUILD_BATCH_SIZE));
+            putAll(batch.stream().map(TaskSearchIndex::toDocument).toList());
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        log.info("Поисковый индекс задач построен: {} задач", size());
+    }
+
+    /**
+     * Добавляет задачу в индекс или обновляет ее.
+     *
+     * @param task сохраненная задача.
+     */
+    public void index(TaskEntity task) {
+        IndexedTask document = toDocument(task);
+        afterCommit(() -> putAll(List.of(document)));
+    }
+
+    /**
+     * Удаляет задачу из индекса.
+     *
+     * @param id идентификатор задачи.
+     */
+    public void remove(Long id) {
+        afterCommit(() -> delete(id));
+    }
+
+    /**
+     * Ищет задачи, содержащие все слова запроса (целиком или как префикс термина).
+     *
+     * @param query строка запроса.
+     * @param limit максимальное количество результатов.
+     * @return краткие представления найденных задач по убыванию релевантности.
+     */
+    public List<TaskSummary> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = new HashMap<>();
+                collect(titlePostings, term, TITLE_WEIGHT, termScores);
+                collect(descriptionPostings, term, DESCRIPTION_WEIGHT, termScores);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(entry -> documents.get(entry.getKey()).summary())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return количество задач в индексе.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Разбивает текст на термины: слова из букв и цифр в нижнем регистре, «ё» приводится к «е».
+     *
+     * @param text исходный текст или {@code null}.
+     * @return термины в порядке появления.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT).replace('ё', 'е'))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private void collect(NavigableMap<String, PostingList> postings, String term, double weight, Map<Long, Double> scores) {
+        int total = documents.size();
+        for (Map.Entry<String, PostingList> entry : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            PostingList list = entry.getValue();
+            double score = weight * Math.log(1 + (double) total / list.size())
+                    * (entry.getKey().length() == term.length() ? 1 : PREFIX_FACTOR);
+            list.forEach(id -> scores.merge(id, score, Math::max));
+        }
+    }
+
+    /**
+     * Добавляет или обновляет задачи, упорядоченные по возрастанию идентификатора.
+     *
+     * @param batch документы задач.
+     */
+    private void putAll(List<IndexedTask> batch) {
+        Map<String, List<Long>> titleIds = new HashMap<>();
+        Map<String, List<Long>> descriptionIds = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            for (IndexedTask document : batch) {
+                Long id = document.summary().getId();
+                deleteLocked(id);
+                document.titleTerms().forEach(term -> titleIds.computeIfAbsent(term, key -> new ArrayList<>()).add(id));
+                document.descriptionTerms().forEach(term -> descriptionIds.computeIfAbsent(term, key -> new ArrayList<>()).add(id));
+                documents.put(id, document);
+            }
+            titleIds.forEach((term, ids) -> addPostings(titlePostings, term, ids));
+            descriptionIds.forEach((term, ids) -> addPostings(descriptionPostings, term, ids));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(Long id) {
+        lock.writeLock().lock();
+        try {
+            deleteLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void deleteLocked(Long id) {
+        IndexedTask previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        previous.titleTerms().forEach(term -> removePosting(titlePostings, term, id));
+        previous.descriptionTerms().forEach(term -> removePosting(descriptionPostings, term, id));
+    }
+
+    private static void addPostings(Map<String, PostingList> postings, String term, List<Long> ids) {
+        postings.compute(term, (key, list) -> (list == null ? PostingList.EMPTY : list).withAll(ids));
+    }
+
+    private static void removePosting(Map<String, PostingList> postings, String term, Long id) {
+        postings.computeIfPresent(term, (key, list) -> {
+            PostingList remaining = list.without(id);
+            return remaining.size() == 0 ? null : remaining;
+        });
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            titlePostings.clear();
+            descriptionPostings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static IndexedTask toDocument(TaskEntity task) {
+        // Счетчики комментариев и исполнителей меняются без переиндексации задачи, поэтому в индексе не хранятся.
+        return new IndexedTask(
+                new TaskSummary(task.getId(), task.getTitle(), task.getStatus(), task.getPriority(), null, null),
+                Set.copyOf(tokenize(task.getTitle())),
+                Set.copyOf(tokenize(task.getDescription())));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record IndexedTask(TaskSummary summary, Set<String> titleTerms, Set<String> descriptionTerms) {
+    }
+}
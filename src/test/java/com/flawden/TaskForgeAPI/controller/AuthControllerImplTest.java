@@ -4,12 +4,14 @@ import com.flawden.TaskForgeAPI.controller.impl.AuthControllerImpl;
 import com.flawden.TaskForgeAPI.dto.AuthenticationResponse;
 import com.flawden.TaskForgeAPI.dto.user.Login;
 import com.flawden.TaskForgeAPI.dto.user.Register;
+import com.flawden.TaskForgeAPI.exception.PasswordHashingOverloadedException;
 import com.flawden.TaskForgeAPI.service.AuthService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -53,5 +55,13 @@ class AuthControllerImplTest {
         assertEquals(expectedResponse, response.getBody());
         verify(authService).login(loginRequest);
     }
-}
 
+    @Test
+    void shouldReturnServiceUnavailableWhenPasswordHashingIsOverloaded() {
+        ResponseEntity<String> response = authController.handlePasswordHashingOverloadedException(
+                new PasswordHashingOverloadedException("busy"));
+        assertEquals(503, response.getStatusCodeValue());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("busy", response.getBody());
+    }
+}
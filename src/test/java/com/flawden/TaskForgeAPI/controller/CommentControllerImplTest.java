@@ -1,23 +1,33 @@
 package com.flawden.TaskForgeAPI.controller;
 
 import com.flawden.TaskForgeAPI.dto.Comment;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
 import com.flawden.TaskForgeAPI.dto.user.Role;
 import com.flawden.TaskForgeAPI.exception.CommentNotFoundException;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
 import com.flawden.TaskForgeAPI.mapper.CommentMapper;
 import com.flawden.TaskForgeAPI.model.CommentEntity;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
 import com.flawden.TaskForgeAPI.model.UserEntity;
 import com.flawden.TaskForgeAPI.repository.CommentRepository;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
 import com.flawden.TaskForgeAPI.repository.UserRepository;
+import com.flawden.TaskForgeAPI.service.cache.EntityCache;
 import com.flawden.TaskForgeAPI.service.impl.CommentServiceImpl;
+import com.flawden.TaskForgeAPI.service.pagination.CursorCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,12 +44,22 @@ class CommentControllerImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityCache entityCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private CommentServiceImpl commentService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        commentService = new CommentServiceImpl(commentRepository, userRepository, commentMapper);
+        commentService = new CommentServiceImpl(commentRepository, userRepository, taskRepository, commentMapper, entityCache, eventPublisher);
+        ReflectionTestUtils.setField(commentService, "maxListSize", 1000);
     }
 
     @Test
@@ -94,14 +114,17 @@ class CommentControllerImplTest {
 
     @Test
     void testAddComment() {
-        Comment comment = new Comment(1L, "new comment", null, null);
-        CommentEntity commentEntity = new CommentEntity(1L, "new comment", null, null);
+        TaskEntity task = new TaskEntity();
+        task.setId(2L);
+        Comment comment = new Comment(1L, "new comment", null, 2L);
+        CommentEntity commentEntity = new CommentEntity(1L, "new comment", null, task);
         when(commentMapper.mapCommentToCommentEntity(comment)).thenReturn(commentEntity);
         when(commentRepository.save(commentEntity)).thenReturn(commentEntity);
         when(commentMapper.mapCommentEntityToComment(commentEntity)).thenReturn(comment);
         var result = commentService.addComment(comment);
         assertNotNull(result);
         assertEquals("new comment", result.getText());
+        verify(taskRepository).addToCommentCount(2L, 1);
     }
 
     @Test
@@ -110,7 +133,7 @@ class CommentControllerImplTest {
         Long userId = 1L;
         String email = "testEmail2222@gmail.com";
         UserEntity user = new UserEntity(userId, email, "password", "firstname", "lastname", Role.USER, null);
-        CommentEntity commentEntity = new CommentEntity(1L, "new comment", user, null);
+        CommentEntity commentEntity = new CommentEntity(1L, "new comment", user, new TaskEntity());
         Comment comment = new Comment(1L, "updated comment", null, null);
         CommentEntity existingComment = new CommentEntity(1L, "existing comment", user, null);
         when(commentRepository.findById(1L)).thenReturn(Optional.of(commentEntity));
@@ -124,7 +147,7 @@ class CommentControllerImplTest {
     void testUpdateCommentNotFound() {
         Long authorId = 1L;
         Comment comment = new Comment(1L, "updated comment", null, null);
-        when(commentRepository.findCommentEntityByAuthorId(authorId)).thenReturn(Optional.empty());
+        when(commentRepository.findById(comment.getId())).thenReturn(Optional.empty());
         CommentNotFoundException exception = assertThrows(CommentNotFoundException.class, () -> commentService.updateComment(comment, authorId));
         assertNotNull(exception);
     }
@@ -135,50 +158,43 @@ class CommentControllerImplTest {
         Long userId = 1L;
         String email = "testEmail2222@gmail.com";
         UserEntity user = new UserEntity(userId, email, "password", "firstname", "lastname", Role.USER, null);
-        CommentEntity commentEntity = new CommentEntity(commentId, "new comment", user, null);
+        TaskEntity task = new TaskEntity();
+        task.setId(2L);
+        CommentEntity commentEntity = new CommentEntity(commentId, "new comment", user, task);
         when(commentRepository.findById(commentId)).thenReturn(Optional.of(commentEntity));
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
         commentService.deleteComment(commentId, email);
         verify(commentRepository, times(1)).deleteById(commentId);
+        verify(taskRepository).addToCommentCount(2L, -1);
     }
 
     @Test
-    void testGetCommentByTaskIdSuccess() {
+    void testGetCommentsByTaskId() {
         Long taskId = 1L;
-        CommentEntity commentEntity = new CommentEntity(1L, "comment for task", null, null);
-        Comment comment = new Comment(1L, "comment for task", null, null);
-        when(commentRepository.findCommentEntitiesByTaskId(taskId)).thenReturn(Optional.of(commentEntity));
-        when(commentMapper.mapCommentEntityToComment(commentEntity)).thenReturn(comment);
-        var result = commentService.getCommentByTaskId(taskId);
-        assertNotNull(result);
-        assertEquals("comment for task", result.getText());
+        List<Comment> comments = List.of(new Comment(1L, "comment 1", 2L, taskId), new Comment(5L, "comment 2", 2L, taskId),
+                new Comment(7L, "comment 3", 3L, taskId));
+        when(commentRepository.findCommentsByTaskIdAfter(taskId, 0L, Limit.of(3))).thenReturn(comments);
+        CursorPage<Comment> page = commentService.getCommentsByTaskId(taskId, null, 2);
+        assertEquals(comments.subList(0, 2), page.getItems());
+        assertEquals(CursorCodec.encode(5L), page.getNextCursor());
+
+        when(commentRepository.findCommentsByTaskIdAfter(taskId, 5L, Limit.of(3))).thenReturn(comments.subList(2, 3));
+        CursorPage<Comment> next = commentService.getCommentsByTaskId(taskId, page.getNextCursor(), 2);
+        assertEquals(comments.subList(2, 3), next.getItems());
+        assertNull(next.getNextCursor());
     }
 
     @Test
-    void testGetCommentByTaskIdNotFound() {
-        Long taskId = 1L;
-        when(commentRepository.findCommentEntitiesByTaskId(taskId)).thenReturn(Optional.empty());
-        CommentNotFoundException exception = assertThrows(CommentNotFoundException.class, () -> commentService.getCommentByTaskId(taskId));
-        assertNotNull(exception);
-    }
-
-    @Test
-    void testGetCommentByUserIdSuccess() {
+    void testGetCommentsByUserIdEmpty() {
         Long userId = 1L;
-        CommentEntity commentEntity = new CommentEntity(1L, "comment for user", null, null);
-        Comment comment = new Comment(1L, "comment for user", null, null);
-        when(commentRepository.findCommentEntityByAuthorId(userId)).thenReturn(Optional.of(commentEntity));
-        when(commentMapper.mapCommentEntityToComment(commentEntity)).thenReturn(comment);
-        var result = commentService.getCommentByUserId(userId);
-        assertNotNull(result);
-        assertEquals("comment for user", result.getText());
+        when(commentRepository.findCommentsByAuthorIdAfter(userId, 0L, Limit.of(21))).thenReturn(List.of());
+        CursorPage<Comment> page = commentService.getCommentsByUserId(userId, "", 20);
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    void testGetCommentByUserIdNotFound() {
-        Long userId = 1L;
-        when(commentRepository.findCommentEntityByAuthorId(userId)).thenReturn(Optional.empty());
-        CommentNotFoundException exception = assertThrows(CommentNotFoundException.class, () -> commentService.getCommentByUserId(userId));
-        assertNotNull(exception);
+    void testGetCommentsByUserIdInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> commentService.getCommentsByUserId(1L, "%%%", 20));
     }
 }
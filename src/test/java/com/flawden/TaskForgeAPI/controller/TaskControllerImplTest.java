@@ -1,21 +1,49 @@
 package com.flawden.TaskForgeAPI.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flawden.TaskForgeAPI.controller.impl.TaskControllerImpl;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
+import com.flawden.TaskForgeAPI.dto.EntityVersion;
+import com.flawden.TaskForgeAPI.dto.ExportFormat;
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
 import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.task.TaskBatchItemResult;
+import com.flawden.TaskForgeAPI.dto.task.TaskSort;
+import com.flawden.TaskForgeAPI.dto.task.TaskFilter;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
 import com.flawden.TaskForgeAPI.exception.TaskNotFoundException;
+import com.flawden.TaskForgeAPI.exception.TaskVersionMismatchException;
 import com.flawden.TaskForgeAPI.exception.UserAlreadyHaveThisTaskException;
 import com.flawden.TaskForgeAPI.exception.UserNotFoundException;
+import com.flawden.TaskForgeAPI.service.ExportService;
+import com.flawden.TaskForgeAPI.service.TaskBatchService;
 import com.flawden.TaskForgeAPI.service.TaskService;
+import com.flawden.TaskForgeAPI.service.events.TaskEventBroadcaster;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,26 +52,70 @@ public class TaskControllerImplTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskBatchService taskBatchService;
+
+    @Mock
+    private ExportService exportService;
+
+    @Mock
+    private TaskEventBroadcaster taskEventBroadcaster;
+
     @InjectMocks
     private TaskControllerImpl taskController;
 
     @BeforeEach
     void setUp() {
-        taskController = new TaskControllerImpl(taskService);
+        taskController = new TaskControllerImpl(taskService, taskBatchService, exportService, taskEventBroadcaster, new ObjectMapper());
     }
 
     @Test
     void testGetTaskById() {
         Long taskId = 1L;
         Task task = new Task();
+        when(taskService.getTaskVersion(taskId)).thenReturn(3L);
         when(taskService.getTaskById(taskId)).thenReturn(task);
-        ResponseEntity<Task> response = taskController.getTaskById(taskId);
+        ResponseEntity<Task> response = taskController.getTaskById(taskId, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(task, response.getBody());
+        assertEquals("\"3\"", response.getHeaders().getETag());
         verify(taskService, times(1)).getTaskById(taskId);
     }
 
+    @Test
+    void testGetTaskByIdNotModified() {
+        when(taskService.getTaskVersion(1L)).thenReturn(3L);
+        ResponseEntity<Task> response = taskController.getTaskById(1L, "\"2\", \"3\"");
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        verify(taskService, never()).getTaskById(anyLong());
+
+        assertEquals(HttpStatus.OK, taskController.getTaskById(1L, "\"2\"").getStatusCode());
+    }
+
+    @Test
+    void testGetAllTasksNotModified() {
+        List<EntityVersion> versions = List.of(new EntityVersion(1L, 0), new EntityVersion(2L, 4));
+        when(taskService.getTaskVersions(null, 5, null, TaskSort.ID, TaskFilter.NONE)).thenReturn(versions);
+        when(taskService.getAllTasks()).thenReturn(List.of(new Task(), new Task()));
+        ResponseEntity<List<Task>> first = taskController.getAllTasks(null, 5, null, null, null, null, TaskSort.ID, null);
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/"));
+
+        ResponseEntity<List<Task>> second = taskController.getAllTasks(null, 5, null, null, null, null, TaskSort.ID, etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        verify(taskService, times(1)).getAllTasks();
+
+        when(taskService.getTaskVersions(null, 5, null, TaskSort.ID, TaskFilter.NONE))
+                .thenReturn(List.of(new EntityVersion(1L, 1), new EntityVersion(2L, 4)));
+        ResponseEntity<List<Task>> changed = taskController.getAllTasks(null, 5, null, null, null, null, TaskSort.ID, etag);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+    }
+
     @Test
     void testAddTask() {
         Task task = new Task();
@@ -59,10 +131,23 @@ public class TaskControllerImplTest {
     void testUpdateTask() {
         Long taskId = 1L;
         Task task = new Task();
-        doNothing().when(taskService).updateTask(task, taskId);
-        ResponseEntity<HttpStatus> response = taskController.updateTask(task, taskId);
+        doNothing().when(taskService).updateTask(task, taskId, null);
+        ResponseEntity<HttpStatus> response = taskController.updateTask(task, taskId, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(taskService, times(1)).updateTask(task, taskId);
+        verify(taskService, times(1)).updateTask(task, taskId, null);
+    }
+
+    @Test
+    void testUpdateTaskWithIfMatch() {
+        Task task = new Task();
+        taskController.updateTask(task, 1L, "\"7\"");
+        taskController.updateTask(task, 1L, "W/\"7\"");
+        taskController.updateTask(task, 1L, "*");
+        verify(taskService).updateTask(task, 1L, 7L);
+        verify(taskService).updateTask(task, 1L, -1L);
+        verify(taskService).updateTask(task, 1L, null);
+        assertEquals(HttpStatus.PRECONDITION_FAILED,
+                taskController.handleTaskVersionMismatchException(new TaskVersionMismatchException()).getStatusCode());
     }
 
     @Test
@@ -116,7 +201,7 @@ public class TaskControllerImplTest {
         TaskNotFoundException exception = new TaskNotFoundException(errorMessage);
         when(taskService.getTaskById(anyLong())).thenThrow(exception);
         try {
-            taskController.getTaskById(1L);
+            taskController.getTaskById(1L, null);
             fail("Expected exception to be thrown");
         } catch (TaskNotFoundException e) {
             assertEquals(errorMessage, e.getMessage());
@@ -137,5 +222,102 @@ public class TaskControllerImplTest {
         }
         verify(taskService, times(1)).assignTaskToUser(anyLong(), anyLong());
     }
-}
 
+    @Test
+    void testGetAllTasksWithoutParameters() {
+        when(taskService.getAllTasks()).thenReturn(List.of(new Task()));
+        ResponseEntity<List<Task>> response = taskController.getAllTasks(null, 5, null, null, null, null, TaskSort.ID, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        verify(taskService, times(1)).getAllTasks();
+    }
+
+    @Test
+    void testGetAllTasksWithSingleFilter() {
+        when(taskService.getTasksWithFiltration(null, Status.IN_PROGRESS, null)).thenReturn(List.of(new Task()));
+        ResponseEntity<List<Task>> response = taskController.getAllTasks(null, 5, null, Status.IN_PROGRESS, null, null, TaskSort.ID, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        verify(taskService, never()).getAllTasks();
+    }
+
+    @Test
+    void testAddTasksFromNdjsonAndArray() throws IOException {
+        List<String> titles = new ArrayList<>();
+        when(taskBatchService.addTasks(any())).thenAnswer(invocation -> {
+            Iterator<Task> tasks = invocation.getArgument(0);
+            tasks.forEachRemaining(task -> titles.add(task.getTitle()));
+            return List.of(new TaskBatchItemResult(0, 1L, List.of()));
+        });
+        String ndjson = """
+                {"title":"Задача 1","description":"Описание","status":"PENDING","priority":"LOW"}
+                {"title":"Задача 2","description":"Описание","status":"PENDING","priority":"HIGH"}
+                """;
+        ResponseEntity<List<TaskBatchItemResult>> response =
+                taskController.addTasks(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("Задача 1", "Задача 2"), titles);
+
+        titles.clear();
+        String array = "[{\"title\":\"Задача 3\"},{\"title\":\"Задача 4\"}]";
+        taskController.addTasks(new ByteArrayInputStream(array.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(List.of("Задача 3", "Задача 4"), titles);
+    }
+
+    @Test
+    void testExportTasks() throws IOException {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("id,title\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).exportTasks(eq(ExportFormat.CSV), any());
+        ResponseEntity<StreamingResponseBody> response = taskController.exportTasks(ExportFormat.CSV);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("attachment; filename=\"tasks.csv\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        assertEquals("id,title\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testSearchTasks() {
+        List<TaskSummary> summaries = List.of(new TaskSummary(1L, "Подготовить отчет", Status.PENDING, Priority.HIGH, 0, 0));
+        when(taskService.searchTasks("отч", 20)).thenReturn(summaries);
+        ResponseEntity<List<TaskSummary>> response = taskController.searchTasks("отч", 20);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summaries, response.getBody());
+    }
+
+    @Test
+    void testGetAllTasksByCursor() {
+        when(taskService.getTasksAfterCursor("", 5, TaskSort.ID, TaskFilter.NONE)).thenReturn(new CursorPage<>(List.of(new Task()), "next"));
+        ResponseEntity<List<Task>> response = taskController.getAllTasks(null, 5, null, null, null, "", TaskSort.ID, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("next", response.getHeaders().getFirst(TaskControllerImpl.NEXT_CURSOR_HEADER));
+        assertEquals(1, response.getBody().size());
+    }
+
+    @Test
+    void testGetTaskSummaries() {
+        List<TaskSummary> summaries = List.of(new TaskSummary(1L, "Задача 1", Status.PENDING, Priority.HIGH, 0, 0));
+        when(taskService.getTaskSummaries(0, 5, TaskFilter.NONE)).thenReturn(summaries);
+        ResponseEntity<List<TaskSummary>> response = taskController.getTaskSummaries(0, 5, null, null, null, null, TaskSort.ID);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summaries, response.getBody());
+    }
+
+    @Test
+    void testGetTaskSummariesByCursor() {
+        List<TaskSummary> summaries = List.of(new TaskSummary(1L, "Задача 1", Status.PENDING, Priority.HIGH, 0, 0));
+        when(taskService.getTaskSummariesAfterCursor("", 1, TaskSort.PRIORITY, new TaskFilter(null, null, Priority.HIGH))).thenReturn(new CursorPage<>(summaries, "next"));
+        ResponseEntity<List<TaskSummary>> response = taskController.getTaskSummaries(null, 1, null, null, Priority.HIGH, "", TaskSort.PRIORITY);
+        assertEquals(summaries, response.getBody());
+        assertEquals("next", response.getHeaders().getFirst(TaskControllerImpl.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testHandleInvalidCursorException() {
+        ResponseEntity<String> response = taskController.handleInvalidCursorException(new InvalidCursorException("Некорректный курсор"));
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Некорректный курсор", response.getBody());
+    }
+}
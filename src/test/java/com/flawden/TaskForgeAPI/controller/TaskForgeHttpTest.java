@@ -0,0 +1,177 @@
+package com.flawden.TaskForgeAPI.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import com.flawden.TaskForgeAPI.model.CommentEntity;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.model.UserEntity;
+import com.flawden.TaskForgeAPI.repository.CommentRepository;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import com.flawden.TaskForgeAPI.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверки API через настоящий HTTP.
+ *
+ * <p>Приложение поднимается целиком на случайном порту поверх H2 со схемой из миграций Liquibase, запросы
+ * проходят всю цепочку фильтров безопасности, включая асинхронную обработку потоковых ответов.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:http-test;DB_CLOSE_DELAY=-1",
+        "spring.liquibase.change-log=classpath:db/changelog/changelog-master.yaml",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "secret.key=dGFza2ZvcmdlLWh0dHAtdGVzdC1zZWNyZXQta2V5LTAxMjM0NTY3ODk=",
+        "security.password.bcrypt.strength=4",
+        "tasks.outbox.sink=file",
+        "tasks.outbox.file=target/http-test/outbox.ndjson"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskForgeHttpTest {
+
+    private static final String EMAIL = "http@example.com";
+    private static final String PASSWORD = "password123";
+    private static final int TASKS = 300;
+    private static final int COMMENTS = 150;
+    private static final String ORIGIN = "http://localhost:3000";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private UserEntity user;
+    private List<TaskEntity> savedTasks;
+    private String token;
+
+    @BeforeAll
+    void seed() throws Exception {
+        user = userRepository.save(new UserEntity(null, EMAIL, passwordEncoder.encode(PASSWORD), "Http", "User", Role.USER, new ArrayList<>()));
+
+        List<TaskEntity> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new TaskEntity(null, "Задача " + i, "Описание задачи " + i, Status.PENDING, Priority.MEDIUM,
+                    new ArrayList<>(), new ArrayList<>()));
+        }
+        savedTasks = taskRepository.saveAll(tasks);
+
+        List<CommentEntity> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            comments.add(new CommentEntity(null, "Комментарий " + i, user, savedTasks.get(i)));
+        }
+        commentRepository.saveAll(comments);
+
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(uri("/api/v1/auth/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("username", EMAIL, "password", PASSWORD))))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, login.statusCode(), login.body());
+        token = objectMapper.readTree(login.body()).get("token").asText();
+    }
+
+    @Test
+    void exportTasks_shouldStreamEveryTask() throws Exception {
+        HttpResponse<String> response = client.send(authorized("/api/v1/tasks/export").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(TASKS, response.body().lines().count());
+    }
+
+    @Test
+    void exportComments_shouldStreamEveryCommentAsCsv() throws Exception {
+        HttpResponse<String> response = client.send(authorized("/api/v1/comments/export?format=CSV").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(COMMENTS + 1, response.body().lines().count());
+    }
+
+    @Test
+    void updateTask_shouldApplyOnlyMatchingIfMatch() throws Exception {
+        long taskId = savedTasks.get(TASKS - 1).getId();
+        String etag = client.send(authorized("/api/v1/tasks/" + taskId).GET().build(), HttpResponse.BodyHandlers.ofString())
+                .headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> updated = client.send(patchTask(taskId, "Новое название", etag), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, updated.statusCode(), updated.body());
+
+        HttpResponse<String> stale = client.send(patchTask(taskId, "Устаревшее название", etag), HttpResponse.BodyHandlers.ofString());
+        assertEquals(412, stale.statusCode(), stale.body());
+
+        HttpResponse<String> current = client.send(authorized("/api/v1/tasks/" + taskId).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertNotEquals(etag, current.headers().firstValue("ETag").orElseThrow());
+        assertEquals("Новое название", objectMapper.readTree(current.body()).get("title").asText());
+    }
+
+    @Test
+    void cors_shouldAllowConditionalPatchAndExposeEtag() throws Exception {
+        long taskId = savedTasks.get(0).getId();
+        HttpResponse<Void> preflight = client.send(HttpRequest.newBuilder(uri("/api/v1/tasks/" + taskId))
+                .header("Origin", ORIGIN)
+                .header("Access-Control-Request-Method", "PATCH")
+                .header("Access-Control-Request-Headers", "authorization,content-type,if-match")
+                .method("OPTIONS", HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, preflight.statusCode());
+        assertTrue(preflight.headers().firstValue("Access-Control-Allow-Methods").orElseThrow().contains("PATCH"));
+        assertTrue(preflight.headers().firstValue("Access-Control-Allow-Headers").orElseThrow().toLowerCase().contains("if-match"));
+
+        HttpResponse<Void> response = client.send(authorized("/api/v1/tasks/" + taskId).header("Origin", ORIGIN).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Access-Control-Expose-Headers").orElseThrow().contains("ETag"));
+    }
+
+    private HttpRequest patchTask(long taskId, String title, String ifMatch) throws Exception {
+        return authorized("/api/v1/tasks/" + taskId)
+                .header("Content-Type", "application/json")
+                .header("If-Match", ifMatch)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of(
+                        "title", title, "description", "Описание", "status", Status.PENDING.name(), "priority", Priority.HIGH.name()))))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -2,7 +2,9 @@ package com.flawden.TaskForgeAPI.controller;
 
 import com.flawden.TaskForgeAPI.controller.impl.UserControllerImpl;
 import com.flawden.TaskForgeAPI.dto.user.UpdateUser;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
 import com.flawden.TaskForgeAPI.dto.user.User;
+import com.flawden.TaskForgeAPI.dto.user.UserSort;
 import com.flawden.TaskForgeAPI.exception.UserIsAlreadyExistException;
 import com.flawden.TaskForgeAPI.exception.UserNotFoundException;
 import com.flawden.TaskForgeAPI.service.UserService;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -32,8 +35,8 @@ class UserControllerImplTest {
     @Test
     void testGetAllUsersWithoutPagination() {
         List<User> users = Arrays.asList(new User(1L, "johndoe@example.com", "John", "Doe", "USER"), new User(2L, "jane@example.com", "Jane", "Doe", "USER"));
-        when(userService.getAllUsers()).thenReturn(users);
-        ResponseEntity<List<User>> response = userController.getAllUsers(null, null);
+        when(userService.getAllUsers()).thenReturn(new CursorPage<>(users, null));
+        ResponseEntity<List<User>> response = userController.getAllUsers(null, 5, UserSort.ID, Sort.Direction.ASC, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(users, response.getBody());
         verify(userService, times(1)).getAllUsers();
@@ -42,18 +45,28 @@ class UserControllerImplTest {
     @Test
     void testGetAllUsersWithPagination() {
         List<User> users = Arrays.asList(new User(1L, "johndoe@example.com", "John", "Doe", "USER"), new User(2L, "jane@example.com", "Jane", "Doe", "USER"));
-        when(userService.getUsersWithPagination(0, 2)).thenReturn(users);
-        ResponseEntity<List<User>> response = userController.getAllUsers(0, 2);
+        when(userService.getUsersWithPagination(0, 2, UserSort.ID, Sort.Direction.ASC)).thenReturn(users);
+        ResponseEntity<List<User>> response = userController.getAllUsers(0, 2, UserSort.ID, Sort.Direction.ASC, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(users, response.getBody());
-        verify(userService, times(1)).getUsersWithPagination(0, 2);
+        verify(userService, times(1)).getUsersWithPagination(0, 2, UserSort.ID, Sort.Direction.ASC);
+    }
+
+    @Test
+    void testGetAllUsersByCursor() {
+        List<User> users = Arrays.asList(new User(3L, "jack@example.com", "Jack", "Doe", "USER"));
+        when(userService.getUsersAfterCursor("", 1)).thenReturn(new CursorPage<>(users, "next"));
+        ResponseEntity<List<User>> response = userController.getAllUsers(null, 1, UserSort.ID, Sort.Direction.ASC, "");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(users, response.getBody());
+        assertEquals("next", response.getHeaders().getFirst("X-Next-Cursor"));
     }
 
     @Test
     void testGetUserById() {
         User user = new User(1L, "johndoe@example.com", "John", "Doe", "USER");
         when(userService.getUserById(1L)).thenReturn(user);
-        ResponseEntity<User> response = userController.getUserById(1L);
+        ResponseEntity<User> response = userController.getUserById(1L, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(user, response.getBody());
         verify(userService, times(1)).getUserById(1L);
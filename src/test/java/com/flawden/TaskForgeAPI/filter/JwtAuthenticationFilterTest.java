@@ -2,6 +2,7 @@ package com.flawden.TaskForgeAPI.filter;
 
 import com.flawden.TaskForgeAPI.config.filter.JwtAuthenticationFilter;
 import com.flawden.TaskForgeAPI.config.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +16,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
 
@@ -107,4 +109,72 @@ class JwtAuthenticationFilterTest {
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
     }
+
+    @Test
+    void shouldBuildPrincipalFromTokenWithoutLoadingUser() throws ServletException, IOException {
+        String token = "valid.jwt.token";
+        String email = "user@example.com";
+        UserDetails userDetails = User.builder()
+                .username(email)
+                .password("")
+                .authorities("USER")
+                .build();
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "principalFromToken", true);
+        request.addHeader("Authorization", "Bearer " + token);
+        when(jwtService.extractUsername(token)).thenReturn(email);
+        when(jwtService.extractPrincipal(token)).thenReturn(userDetails);
+        when(jwtService.validateToken(token, userDetails)).thenReturn(true);
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        assertEquals(email, SecurityContextHolder.getContext().getAuthentication().getName());
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void shouldFallBackToUserDetailsServiceIfTokenHasNoRole() throws ServletException, IOException {
+        String token = "legacy.jwt.token";
+        String email = "user@example.com";
+        UserDetails userDetails = User.builder()
+                .username(email)
+                .password("password")
+                .authorities("USER")
+                .build();
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "principalFromToken", true);
+        request.addHeader("Authorization", "Bearer " + token);
+        when(jwtService.extractUsername(token)).thenReturn(email);
+        when(jwtService.extractPrincipal(token)).thenReturn(null);
+        when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+        when(jwtService.validateToken(token, userDetails)).thenReturn(true);
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        assertEquals(email, SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(userDetailsService).loadUserByUsername(email);
+    }
+
+    @Test
+    void shouldTimeAuthenticationByOutcome() throws ServletException, IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtAuthenticationFilter.bindTo(registry);
+        String email = "user@example.com";
+        UserDetails userDetails = User.builder()
+                .username(email)
+                .password("password")
+                .authorities("ROLE_USER")
+                .build();
+        when(jwtService.extractUsername("valid.jwt.token")).thenReturn(email);
+        when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+        when(jwtService.validateToken("valid.jwt.token", userDetails)).thenReturn(true);
+        when(jwtService.extractUsername("broken.jwt.token")).thenThrow(new IllegalArgumentException("broken"));
+
+        request.addHeader("Authorization", "Bearer valid.jwt.token");
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        MockHttpServletRequest broken = new MockHttpServletRequest();
+        broken.addHeader("Authorization", "Bearer broken.jwt.token");
+        assertThrows(IllegalArgumentException.class, () -> jwtAuthenticationFilter.doFilterInternal(broken, response, filterChain));
+
+        assertEquals(1, registry.get("taskforge.jwt.filter").tag("outcome", "authenticated").timer().count());
+        assertEquals(1, registry.get("taskforge.jwt.filter").tag("outcome", "skipped").timer().count());
+        assertEquals(1, registry.get("taskforge.jwt.filter").tag("outcome", "error").timer().count());
+        assertEquals(0, registry.get("taskforge.jwt.filter").tag("outcome", "rejected").timer().count());
+    }
 }
@@ -0,0 +1,262 @@
+package com.flawden.TaskForgeAPI.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Сквозной нагрузочный тест основных конечных точек.
+ *
+ * <p>Приложение запускается на H2 с миграциями Liquibase ({@link LoadApplication}), база заполняется
+ * {@link LoadSeeder}, после чего запросы отправляются с постоянной частотой независимо от времени ответа
+ * (открытая модель нагрузки). Задержка отсчитывается от запланированного времени отправки, поэтому
+ * ожидание в очереди перед отправкой, возникающее при перегрузке, тоже попадает в результат.</p>
+ *
+ * <p>По каждой конечной точке печатаются пропускная способность, процентили задержек и количество ответов
+ * 4xx, 503 (отказ при перегрузке) и прочих ошибок сервера; последние приводят к падению теста. Сводка сохраняется
+ * в {@code target/load-reports/end-to-end.json}, полные распределения — в {@code target/load-reports/*.hgrm}.</p>
+ *
+ * <p>Запуск: {@code mvn test -Ploadtest -Dtest=EndToEndLoadTest}. Параметры (системные свойства):
+ * <ul>
+ *     <li>{@code load.users}, {@code load.tasks}, {@code load.comments}, {@code load.executors-per-task} —
+ *     объемы данных (100, 5000, 20000, 2);</li>
+ *     <li>{@code load.sessions} — количество пользователей, от имени которых отправляются запросы (50);</li>
+ *     <li>{@code load.rate} — запросов в секунду (200);</li>
+ *     <li>{@code load.warmup}, {@code load.duration} — длительность прогрева и измерения ({@code PT5S}, {@code PT30S});</li>
+ *     <li>{@code load.mix} — веса конечных точек ({@code login=5,list=35,get=40,comment=15,assign=5});</li>
+ *     <li>{@code load.pool-size} — размер пула Hikari (20), {@code load.virtual-threads} — обработка запросов
+ *     виртуальными потоками ({@code true}).</li>
+ * </ul>
+ */
+@Tag("load")
+class EndToEndLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 100);
+    private static final int TASKS = Integer.getInteger("load.tasks", 5000);
+    private static final int COMMENTS = Integer.getInteger("load.comments", 20000);
+    private static final int EXECUTORS_PER_TASK = Integer.getInteger("load.executors-per-task", 2);
+    private static final int SESSIONS = Integer.getInteger("load.sessions", 50);
+    private static final int RATE = Integer.getInteger("load.rate", 200);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final String MIX = System.getProperty("load.mix", "login=5,list=35,get=40,comment=15,assign=5");
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 20);
+    private static final boolean VIRTUAL_THREADS = Boolean.parseBoolean(System.getProperty("load.virtual-threads", "true"));
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Path REPORTS = Path.of("target", "load-reports");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private String baseUrl;
+    private LoadSeeder.Dataset dataset;
+    private List<Session> sessions;
+
+    @Test
+    void shouldServeMixedLoadAtFixedRate() throws Exception {
+        Mix mix = Mix.parse(MIX);
+        try (ConfigurableApplicationContext context = LoadApplication.start("end-to-end",
+                "spring.threads.virtual.enabled=" + VIRTUAL_THREADS,
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE)) {
+            dataset = LoadSeeder.seed(context, USERS, TASKS, COMMENTS, EXECUTORS_PER_TASK);
+            baseUrl = LoadApplication.baseUrl(context);
+            sessions = login(Math.min(SESSIONS, USERS));
+
+            run(mix, WARMUP);
+            Map<Endpoint, EndpointStats> stats = run(mix, DURATION);
+
+            report(stats);
+            stats.forEach((endpoint, endpointStats) ->
+                    assertEquals(0, endpointStats.serverErrors(), "Ошибки сервера на " + endpoint));
+        }
+    }
+
+    private List<Session> login(int count) throws Exception {
+        List<Session> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String email = dataset.emails().get(i);
+            HttpResponse<String> response = client.send(loginRequest(email), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), response.body());
+            result.add(new Session(dataset.userIds().get(i), email, objectMapper.readTree(response.body()).get("token").asText()));
+        }
+        return result;
+    }
+
+    /**
+     * Отправляет запросы с частотой {@link #RATE} в течение {@code duration}.
+     */
+    private Map<Endpoint, EndpointStats> run(Mix mix, Duration duration) {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        long periodNanos = 1_000_000_000L / RATE;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * periodNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long delay = intended - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                Endpoint endpoint = mix.next();
+                executor.submit(() -> {
+                    int status = send(endpoint);
+                    stats.get(endpoint).record(System.nanoTime() - intended, status);
+                });
+            }
+        }
+        return stats;
+    }
+
+    private int send(Endpoint endpoint) {
+        try {
+            return client.send(request(endpoint), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Session session = sessions.get(random.nextInt(sessions.size()));
+        return switch (endpoint) {
+            case LOGIN -> loginRequest(session.email());
+            case LIST -> authorized(session, "/api/v1/tasks?page=" + random.nextInt(20) + "&limit=20"
+                    + "&status=" + Status.values()[random.nextInt(Status.values().length)]
+                    + (random.nextBoolean() ? "&priority=" + Priority.values()[random.nextInt(Priority.values().length)] : ""))
+                    .GET().build();
+            case GET -> authorized(session, "/api/v1/tasks/" + randomTask(random)).GET().build();
+            case COMMENT -> authorized(session, "/api/v1/comments")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of(
+                            "text", "Комментарий под нагрузкой", "author", session.userId(), "task", randomTask(random)))))
+                    .build();
+            case ASSIGN -> authorized(session, "/api/v1/tasks/"
+                    + dataset.userIds().get(random.nextInt(dataset.userIds().size())) + "/" + randomTask(random))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+        };
+    }
+
+    private HttpRequest loginRequest(String email) throws Exception {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/authenticate"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("username", email, "password", LoadSeeder.PASSWORD))))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(Session session, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + session.token());
+    }
+
+    private long randomTask(ThreadLocalRandom random) {
+        return dataset.taskIds().get(random.nextInt(dataset.taskIds().size()));
+    }
+
+    private void report(Map<Endpoint, EndpointStats> stats) throws Exception {
+        Files.createDirectories(REPORTS);
+        Map<String, EndpointStats.Summary> summaries = new LinkedHashMap<>();
+        System.out.printf("%-8s %9s %9s %6s %6s %6s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "4xx", "503", "5xx", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats.Summary summary = entry.getValue().summary(DURATION);
+            summaries.put(entry.getKey().key, summary);
+            System.out.printf("%-8s %9d %9.1f %6d %6d %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey().key,
+                    summary.requests(), summary.throughput(), summary.clientErrors(), summary.rejected(), summary.serverErrors(),
+                    summary.p50Millis(), summary.p90Millis(), summary.p99Millis(), summary.p999Millis(), summary.maxMillis());
+            try (PrintStream out = new PrintStream(REPORTS.resolve("end-to-end-" + entry.getKey().key + ".hgrm").toFile())) {
+                entry.getValue().writeDistribution(out);
+            }
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rate", RATE);
+        report.put("durationSeconds", DURATION.toSeconds());
+        report.put("mix", MIX);
+        report.put("virtualThreads", VIRTUAL_THREADS);
+        report.put("endpoints", summaries);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORTS.resolve("end-to-end.json").toFile(), report);
+    }
+
+    private enum Endpoint {
+        LOGIN("login"), LIST("list"), GET("get"), COMMENT("comment"), ASSIGN("assign");
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Взвешенный выбор конечной точки для очередного запроса.
+     */
+    private record Mix(Endpoint[] endpoints, int[] cumulativeWeights) {
+
+        static Mix parse(String value) {
+            List<Endpoint> endpoints = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            int total = 0;
+            for (String part : value.split(",")) {
+                String[] pair = part.trim().split("=");
+                Endpoint endpoint = Endpoint.valueOf(pair[0].trim().toUpperCase());
+                int weight = Integer.parseInt(pair[1].trim());
+                if (weight > 0) {
+                    total += weight;
+                    endpoints.add(endpoint);
+                    weights.add(total);
+                }
+            }
+            assertFalse(endpoints.isEmpty(), "Пустая смесь запросов: " + value);
+            return new Mix(endpoints.toArray(Endpoint[]::new), weights.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Endpoint next() {
+            int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int i = 0;
+            while (value >= cumulativeWeights[i]) {
+                i++;
+            }
+            return endpoints[i];
+        }
+    }
+
+    private record Session(long userId, String email, String token) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.flawden.TaskForgeAPI.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки и результаты запросов к одной конечной точке.
+ *
+ * <p>Задержки записываются в микросекундах в {@link ConcurrentHistogram} с точностью до трех значащих цифр.
+ * Значения больше {@value #HIGHEST_MINUTES} минут записываются как максимальные.</p>
+ */
+final class EndpointStats {
+
+    private static final int HIGHEST_MINUTES = 1;
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(HIGHEST_MINUTES);
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+
+    /**
+     * Записывает результат запроса.
+     *
+     * @param latencyNanos задержка от запланированного времени отправки до получения ответа.
+     * @param status       HTTP статус ответа или {@code 0}, если ответ не получен.
+     */
+    void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.min(HIGHEST_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (status >= 200 && status < 400) {
+            successes.increment();
+        } else if (status >= 400 && status < 500) {
+            clientErrors.increment();
+        } else if (status == 503) {
+            rejected.increment();
+        } else {
+            serverErrors.increment();
+        }
+    }
+
+    /**
+     * Возвращает количество ошибок сервера, кроме отказов 503 при перегрузке, и запросов без ответа.
+     *
+     * @return количество ошибок.
+     */
+    long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    /**
+     * Строит сводку за период измерения.
+     *
+     * @param duration длительность измерения.
+     * @return сводка с пропускной способностью и процентилями задержек в миллисекундах.
+     */
+    Summary summary(Duration duration) {
+        long count = latencies.getTotalCount();
+        return new Summary(count, successes.sum(), clientErrors.sum(), rejected.sum(), serverErrors.sum(),
+                count / (duration.toNanos() / 1e9),
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    /**
+     * Выводит распределение задержек в формате HdrHistogram ({@code .hgrm}) в миллисекундах.
+     *
+     * @param out поток вывода.
+     */
+    void writeDistribution(PrintStream out) {
+        latencies.outputPercentileDistribution(out, 1000.0);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    record Summary(long requests, long successes, long clientErrors, long rejected, long serverErrors, double throughput,
+                   double p50Millis, double p90Millis, double p99Millis, double p999Millis, double maxMillis) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.flawden.TaskForgeAPI.load;
+
+import com.flawden.TaskForgeAPI.TaskForgeApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Запуск приложения для нагрузочных тестов.
+ *
+ * <p>Приложение поднимается целиком на случайном порту поверх H2 в памяти. Схема создается миграциями
+ * Liquibase, а Hibernate только проверяет ее, поэтому тесты работают с той же схемой, что и рабочая база.
+ * Сложность BCrypt задается свойством {@code load.bcrypt-strength} (по умолчанию 10). Ожидание соединения Hikari
+ * ограничено тремя секундами, как в {@code application.properties.origin}, чтобы при нехватке соединений запросы
+ * получали 503, а не ждали 30 секунд по умолчанию.</p>
+ */
+final class LoadApplication {
+
+    private static final int BCRYPT_STRENGTH = Integer.getInteger("load.bcrypt-strength", 10);
+    private static final String SECRET = "dGFza2ZvcmdlLWxvYWQtdGVzdC1zZWNyZXQta2V5LTAxMjM0NTY3ODk=";
+
+    private LoadApplication() {
+    }
+
+    /**
+     * Запускает приложение с отдельной базой данных.
+     *
+     * @param database   имя базы H2.
+     * @param properties дополнительные свойства, переопределяющие значения по умолчанию.
+     * @return контекст приложения.
+     */
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "spring.liquibase.change-log=classpath:db/changelog/changelog-master.yaml",
+                "spring.jpa.hibernate.ddl-auto=validate",
+                "spring.datasource.hikari.connection-timeout=3000",
+                "secret.key=" + SECRET,
+                "security.password.bcrypt.strength=" + BCRYPT_STRENGTH,
+                "tasks.outbox.sink=file",
+                "tasks.outbox.file=target/load-reports/" + database + "-outbox.ndjson"));
+        all.addAll(Arrays.asList(properties));
+        return new SpringApplicationBuilder(TaskForgeApiApplication.class)
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+
+    /**
+     * Возвращает базовый адрес запущенного приложения.
+     *
+     * @param context контекст приложения.
+     * @return адрес вида {@code http://localhost:port}.
+     */
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
@@ -0,0 +1,120 @@
+package com.flawden.TaskForgeAPI.load;
+
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignment;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import com.flawden.TaskForgeAPI.model.CommentEntity;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.model.UserEntity;
+import com.flawden.TaskForgeAPI.repository.CommentRepository;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import com.flawden.TaskForgeAPI.repository.UserRepository;
+import com.flawden.TaskForgeAPI.service.counter.TaskCounterReconciler;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Заполнение базы данных для нагрузочных тестов.
+ *
+ * <p>Данные сохраняются через репозитории приложения пакетами по {@value #CHUNK} записей. Назначения
+ * вставляются пакетной вставкой {@link TaskRepository#insertAssignmentsIfAbsent(List)}, после чего
+ * счетчики задач пересчитываются {@link TaskCounterReconciler}. Генератор случайных чисел инициализируется
+ * фиксированным значением, поэтому одинаковые объемы дают одинаковые данные.</p>
+ */
+final class LoadSeeder {
+
+    static final String PASSWORD = "password123";
+
+    private static final int CHUNK = 1000;
+
+    private LoadSeeder() {
+    }
+
+    /**
+     * Заполняет базу данных.
+     *
+     * @param context          контекст приложения.
+     * @param users            количество пользователей.
+     * @param tasks            количество задач.
+     * @param comments         количество комментариев.
+     * @param executorsPerTask количество исполнителей каждой задачи.
+     * @return идентификаторы и учетные данные созданных записей.
+     */
+    static Dataset seed(ConfigurableApplicationContext context, int users, int tasks, int comments, int executorsPerTask) {
+        Random random = new Random(42);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+
+        String password = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<UserEntity> savedUsers = new ArrayList<>();
+        for (int from = 0; from < users; from += CHUNK) {
+            List<UserEntity> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(users, from + CHUNK); i++) {
+                chunk.add(new UserEntity(null, "load" + i + "@example.com", password, "Load", "User " + i, Role.USER, new ArrayList<>()));
+            }
+            savedUsers.addAll(userRepository.saveAll(chunk));
+        }
+
+        List<Long> taskIds = new ArrayList<>();
+        for (int from = 0; from < tasks; from += CHUNK) {
+            List<TaskEntity> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(tasks, from + CHUNK); i++) {
+                chunk.add(new TaskEntity(null, "Задача " + i, "Описание задачи " + i, pick(random, Status.values()),
+                        pick(random, Priority.values()), new ArrayList<>(), new ArrayList<>()));
+            }
+            taskRepository.saveAll(chunk).forEach(task -> taskIds.add(task.getId()));
+        }
+
+        List<TaskAssignment> assignments = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            for (int i = 0; i < Math.min(executorsPerTask, users); i++) {
+                assignments.add(new TaskAssignment(pick(random, savedUsers).getId(), taskId));
+            }
+            if (assignments.size() >= CHUNK) {
+                taskRepository.insertAssignmentsIfAbsent(assignments);
+                assignments.clear();
+            }
+        }
+        if (!assignments.isEmpty()) {
+            taskRepository.insertAssignmentsIfAbsent(assignments);
+        }
+
+        for (int from = 0; from < comments; from += CHUNK) {
+            List<CommentEntity> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(comments, from + CHUNK); i++) {
+                TaskEntity task = new TaskEntity();
+                task.setId(pick(random, taskIds));
+                chunk.add(new CommentEntity(null, "Комментарий " + i, pick(random, savedUsers), task));
+            }
+            commentRepository.saveAll(chunk);
+        }
+        context.getBean(TaskCounterReconciler.class).reconcile();
+
+        return new Dataset(savedUsers.stream().map(UserEntity::getId).toList(),
+                savedUsers.stream().map(UserEntity::getEmail).toList(), taskIds);
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * Созданные данные.
+     *
+     * @param userIds идентификаторы пользователей.
+     * @param emails  адреса пользователей в порядке идентификаторов, пароль у всех {@value #PASSWORD}.
+     * @param taskIds идентификаторы задач.
+     */
+    record Dataset(List<Long> userIds, List<String> emails, List<Long> taskIds) {
+    }
+}
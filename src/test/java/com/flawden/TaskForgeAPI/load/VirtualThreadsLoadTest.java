@@ -0,0 +1,152 @@
+package com.flawden.TaskForgeAPI.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Сравнение пропускной способности и задержек при обработке запросов потоками платформы и виртуальными потоками.
+ *
+ * <p>Приложение запускается дважды ({@link LoadApplication}): с {@code spring.threads.virtual.enabled=false}
+ * и {@code true}. Клиенты в замкнутом цикле выполняют смесь запросов: вход (BCrypt), получение задачи
+ * по идентификатору и страницы задач с фильтром. Результаты печатаются и сохраняются в
+ * {@code target/load-reports/virtual-threads.json}.</p>
+ *
+ * <p>Запуск: {@code mvn test -Ploadtest -Dtest=VirtualThreadsLoadTest}. Параметры (системные свойства):
+ * {@code load.clients} (200), {@code load.duration} ({@code PT20S}), {@code load.warmup} ({@code PT5S}),
+ * {@code load.pool-size} — размер пула Hikari (10), {@code load.tomcat-threads} — размер пула Tomcat
+ * для потоков платформы (200).</p>
+ */
+@Tag("load")
+class VirtualThreadsLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT20S"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 10);
+    private static final int TOMCAT_THREADS = Integer.getInteger("load.tomcat-threads", 200);
+    private static final int TASKS = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void shouldComparePlatformAndVirtualThreads() throws Exception {
+        Map<String, Result> results = new LinkedHashMap<>();
+        results.put("platform", run(false));
+        results.put("virtual", run(true));
+
+        results.forEach((mode, result) -> System.out.printf("%-8s %10.1f req/s  p50 %7.2f ms  p99 %7.2f ms  max %8.2f ms  errors %d%n",
+                mode, result.throughput(), result.p50Millis(), result.p99Millis(), result.maxMillis(), result.errors()));
+        Path report = Path.of("target", "load-reports", "virtual-threads.json");
+        Files.createDirectories(report.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), results);
+
+        results.values().forEach(result -> assertTrue(result.requests() > 0));
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = LoadApplication.start("virtual-threads-" + virtualThreads,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "server.tomcat.threads.max=" + TOMCAT_THREADS)) {
+            String email = LoadSeeder.seed(context, 1, TASKS, 0, 0).emails().get(0);
+            String baseUrl = LoadApplication.baseUrl(context);
+            HttpResponse<String> response = client.send(loginRequest(baseUrl, email), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), response.body());
+            String token = objectMapper.readTree(response.body()).get("token").asText();
+            measure(baseUrl, email, token, WARMUP);
+            return measure(baseUrl, email, token, DURATION);
+        }
+    }
+
+    private Result measure(String baseUrl, String email, String token, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> clients = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        int status = client.send(nextRequest(baseUrl, email, token), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                        if (status >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        long[] all = new long[0];
+        for (Future<long[]> future : clients) {
+            long[] latencies = future.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        Arrays.sort(all);
+        return new Result(all.length, errors.get(), all.length / (duration.toNanos() / 1e9),
+                percentile(all, 0.50), percentile(all, 0.99), all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private HttpRequest nextRequest(String baseUrl, String email, String token) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double kind = random.nextDouble();
+        if (kind < 0.05) {
+            return loginRequest(baseUrl, email);
+        }
+        String path = kind < 0.55
+                ? "/api/v1/tasks/" + random.nextInt(1, TASKS + 1)
+                : "/api/v1/tasks?page=" + random.nextInt(10) + "&limit=20&status=" + Status.values()[random.nextInt(3)];
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private HttpRequest loginRequest(String baseUrl, String email) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("username", email, "password", LoadSeeder.PASSWORD));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+
+    record Result(long requests, long errors, double throughput, double p50Millis, double p99Millis, double maxMillis) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.flawden.TaskForgeAPI.repository;
+
+import com.flawden.TaskForgeAPI.dto.Comment;
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import com.flawden.TaskForgeAPI.model.CommentEntity;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.model.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.liquibase.enabled=false")
+class CommentRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    void shouldPageCommentsByTaskAndAuthor() {
+        UserEntity first = entityManager.persist(new UserEntity(null, "first@example.com", "password", "John", "Doe", Role.USER, null));
+        UserEntity second = entityManager.persist(new UserEntity(null, "second@example.com", "password", "Jane", "Doe", Role.USER, null));
+        TaskEntity task = entityManager.persist(task("Задача 1"));
+        TaskEntity other = entityManager.persist(task("Задача 2"));
+        List<Long> taskComments = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            taskComments.add(entityManager.persist(new CommentEntity(null, "Комментарий " + i, i % 2 == 0 ? first : second, task)).getId());
+            entityManager.persist(new CommentEntity(null, "Другой " + i, first, other));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Comment> page = commentRepository.findCommentsByTaskIdAfter(task.getId(), 0L, Limit.of(3));
+        assertEquals(taskComments.subList(0, 3), page.stream().map(Comment::getId).toList());
+        assertEquals(task.getId(), page.get(0).getTask());
+        assertEquals(first.getId(), page.get(0).getAuthor());
+        List<Comment> rest = commentRepository.findCommentsByTaskIdAfter(task.getId(), page.get(2).getId(), Limit.of(3));
+        assertEquals(taskComments.subList(3, 5), rest.stream().map(Comment::getId).toList());
+
+        List<Comment> byAuthor = commentRepository.findCommentsByAuthorIdAfter(second.getId(), 0L, Limit.of(10));
+        assertEquals(List.of(taskComments.get(1), taskComments.get(3)), byAuthor.stream().map(Comment::getId).toList());
+    }
+
+    private static TaskEntity task(String title) {
+        return new TaskEntity(null, title, "Описание", Status.PENDING, Priority.LOW, new ArrayList<>(), new ArrayList<>());
+    }
+}
@@ -0,0 +1,118 @@
+package com.flawden.TaskForgeAPI.repository;
+
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignment;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.model.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.liquibase.enabled=false")
+class TaskAssignmentRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldInsertOnlyMissingAssignments() {
+        UserEntity user = entityManager.persist(new UserEntity(null, "user@example.com", "password", "John", "Doe", Role.USER, null));
+        TaskEntity first = entityManager.persist(task("Задача 1"));
+        TaskEntity second = entityManager.persist(task("Задача 2"));
+        entityManager.flush();
+
+        boolean[] inserted = taskRepository.insertAssignmentsIfAbsent(List.of(
+                new TaskAssignment(user.getId(), first.getId()),
+                new TaskAssignment(user.getId(), second.getId()),
+                new TaskAssignment(user.getId(), first.getId())));
+        assertArrayEquals(new boolean[]{true, true, false}, inserted);
+
+        boolean[] repeated = taskRepository.insertAssignmentsIfAbsent(List.of(new TaskAssignment(user.getId(), second.getId())));
+        assertArrayEquals(new boolean[]{false}, repeated);
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_user WHERE user_id = ?", Integer.class, user.getId()));
+    }
+
+    @Test
+    void shouldKeepExecutorsWhenTaskIsDeleted() {
+        UserEntity user = entityManager.persist(new UserEntity(null, "user@example.com", "password", "John", "Doe", Role.USER, null));
+        TaskEntity task = task("Задача");
+        task.getExecutors().add(user);
+        entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+
+        taskRepository.deleteById(task.getId());
+        entityManager.flush();
+
+        assertNotNull(entityManager.find(UserEntity.class, user.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_user WHERE user_id = ?", Integer.class, user.getId()));
+    }
+
+    @Test
+    void shouldFindExistingIds() {
+        TaskEntity task = entityManager.persist(task("Задача"));
+        entityManager.flush();
+        assertEquals(List.of(task.getId()), taskRepository.findExistingIds(List.of(task.getId(), task.getId() + 1000)));
+    }
+
+    @Test
+    void shouldIncrementVersionsWhenTaskRepresentationChanges() {
+        UserEntity user = entityManager.persist(new UserEntity(null, "user@example.com", "password", "John", "Doe", Role.USER, null));
+        TaskEntity assigned = entityManager.persist(task("Задача 1"));
+        TaskEntity other = entityManager.persist(task("Задача 2"));
+        entityManager.flush();
+        taskRepository.insertAssignmentsIfAbsent(List.of(new TaskAssignment(user.getId(), assigned.getId())));
+
+        taskRepository.addToExecutorCount(assigned.getId(), 1);
+        taskRepository.incrementVersionsByExecutorId(user.getId());
+        taskRepository.addToCommentCount(other.getId(), 1);
+        taskRepository.incrementVersion(other.getId());
+
+        assertEquals(2L, taskRepository.findVersionById(assigned.getId()).orElseThrow());
+        assertEquals(2L, taskRepository.findVersionById(other.getId()).orElseThrow());
+
+        entityManager.clear();
+        TaskEntity updated = taskRepository.findById(assigned.getId()).orElseThrow();
+        updated.setTitle("Новое название");
+        entityManager.flush();
+        assertEquals(3L, taskRepository.findVersionById(assigned.getId()).orElseThrow());
+    }
+
+    @Test
+    void shouldRemoveExecutorFromCountsOfItsTasks() {
+        UserEntity user = entityManager.persist(new UserEntity(null, "user@example.com", "password", "John", "Doe", Role.USER, null));
+        UserEntity other = entityManager.persist(new UserEntity(null, "other@example.com", "password", "Jane", "Doe", Role.USER, null));
+        TaskEntity assigned = entityManager.persist(task("Задача 1"));
+        TaskEntity foreign = entityManager.persist(task("Задача 2"));
+        entityManager.flush();
+        taskRepository.insertAssignmentsIfAbsent(List.of(new TaskAssignment(user.getId(), assigned.getId()),
+                new TaskAssignment(other.getId(), assigned.getId()), new TaskAssignment(other.getId(), foreign.getId())));
+        taskRepository.addToExecutorCount(assigned.getId(), 2);
+        taskRepository.addToExecutorCount(foreign.getId(), 1);
+
+        assertEquals(1, taskRepository.removeExecutorFromCounts(user.getId()));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT executor_count FROM task_entity WHERE id = ?", Integer.class, assigned.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT executor_count FROM task_entity WHERE id = ?", Integer.class, foreign.getId()));
+        assertEquals(2L, taskRepository.findVersionById(assigned.getId()).orElseThrow());
+    }
+
+    private static TaskEntity task(String title) {
+        return new TaskEntity(null, title, "Описание", Status.PENDING, Priority.LOW, new ArrayList<>(), new ArrayList<>());
+    }
+}
@@ -0,0 +1,102 @@
+package com.flawden.TaskForgeAPI.repository;
+
+import com.flawden.TaskForgeAPI.dto.EntityVersion;
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.TaskFilter;
+import com.flawden.TaskForgeAPI.dto.task.TaskSort;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.liquibase.enabled=false")
+class TaskQueryRepositoryTest {
+
+    private static final int TASKS = 24;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < TASKS; i++) {
+            entityManager.persist(new TaskEntity(null, "Задача " + i, "Описание задачи " + i,
+                    Status.values()[i % 3], Priority.values()[i % 4 % 3], new ArrayList<>(), new ArrayList<>()));
+        }
+        entityManager.persist(new TaskEntity(null, "Выполнено на 100%", "Описание", Status.COMPLETED, Priority.HIGH,
+                new ArrayList<>(), new ArrayList<>()));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldApplyOnlyGivenFilters() {
+        List<TaskEntity> inProgress = taskRepository.findTasks(TaskQuery.all(new TaskFilter(null, Status.IN_PROGRESS, null)));
+        assertEquals(TASKS / 3, inProgress.size());
+        assertTrue(inProgress.stream().allMatch(task -> task.getStatus() == Status.IN_PROGRESS));
+
+        List<TaskEntity> high = taskRepository.findTasks(TaskQuery.all(new TaskFilter(null, null, Priority.HIGH)));
+        assertTrue(high.stream().allMatch(task -> task.getPriority() == Priority.HIGH));
+
+        assertEquals(TASKS + 1, taskRepository.findTasks(TaskQuery.all(TaskFilter.NONE)).size());
+    }
+
+    @Test
+    void shouldSelectVersionsOfTheSamePage() {
+        TaskFilter filter = new TaskFilter("Задача", Status.PENDING, null);
+        List<TaskEntity> page = taskRepository.findTasks(TaskQuery.page(filter, 1, 5));
+        List<EntityVersion> versions = taskRepository.findTaskVersions(TaskQuery.page(filter, 1, 5));
+        assertEquals(page.stream().map(TaskEntity::getId).toList(), versions.stream().map(EntityVersion::id).toList());
+        assertTrue(versions.stream().allMatch(version -> version.version() == 0));
+    }
+
+    @Test
+    void shouldTreatLikeWildcardsLiterally() {
+        assertEquals(1, taskRepository.findTasks(TaskQuery.all(new TaskFilter("100%", null, null))).size());
+        assertTrue(taskRepository.findTasks(TaskQuery.all(new TaskFilter("_", null, null))).isEmpty());
+    }
+
+    @Test
+    void shouldPageFilteredTasksByOffset() {
+        TaskFilter filter = new TaskFilter("Задача", Status.PENDING, null);
+        List<TaskEntity> first = taskRepository.findTasks(TaskQuery.page(filter, 0, 5));
+        List<TaskEntity> second = taskRepository.findTasks(TaskQuery.page(filter, 1, 5));
+        assertEquals(5, first.size());
+        assertEquals(3, second.size());
+        assertTrue(first.get(4).getId() < second.get(0).getId());
+    }
+
+    @Test
+    void shouldWalkFilteredSummariesByPriorityKeyset() {
+        TaskFilter filter = new TaskFilter(null, Status.PENDING, null);
+        List<Long> seen = new ArrayList<>();
+        Priority priority = null;
+        Long id = null;
+        List<TaskSummary> page;
+        do {
+            page = taskRepository.findTaskSummaries(TaskQuery.after(filter, TaskSort.PRIORITY, priority, id, 3));
+            for (TaskSummary summary : page) {
+                assertEquals(Status.PENDING, summary.getStatus());
+                assertFalse(seen.contains(summary.getId()));
+                seen.add(summary.getId());
+            }
+            if (!page.isEmpty()) {
+                priority = page.get(page.size() - 1).getPriority();
+                id = page.get(page.size() - 1).getId();
+            }
+        } while (!page.isEmpty());
+        assertEquals(TASKS / 3, seen.size());
+    }
+}
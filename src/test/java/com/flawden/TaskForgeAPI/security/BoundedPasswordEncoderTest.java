@@ -0,0 +1,89 @@
+package com.flawden.TaskForgeAPI.security;
+
+import com.flawden.TaskForgeAPI.config.security.BoundedPasswordEncoder;
+import com.flawden.TaskForgeAPI.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void shouldEncodeAndRecordHashTime() {
+        encoder = new BoundedPasswordEncoder(new PlainEncoder(), 1, 1, Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+        release.countDown();
+        String encoded = encoder.encode("secret");
+        assertEquals("{plain}secret", encoded);
+        assertTrue(encoder.matches("secret", encoded));
+        assertEquals(1, registry.get("taskforge.password.hashing.time").tag("operation", "encode").timer().count());
+        assertEquals(1, registry.get("taskforge.password.hashing.time").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(new PlainEncoder(), 1, 1, Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while (registry.get("taskforge.password.hashing.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+        assertThrows(PasswordHashingOverloadedException.class, () -> encoder.encode("third"));
+        assertEquals(1.0, registry.get("taskforge.password.hashing.rejections").functionCounter().count());
+        release.countDown();
+        assertEquals("{plain}first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("{plain}second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldFailWhenOperationWaitsInQueueTooLong() throws Exception {
+        encoder = new BoundedPasswordEncoder(new PlainEncoder(), 1, 1, Duration.ofMillis(50));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("slow"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertThrows(PasswordHashingOverloadedException.class, () -> encoder.encode("queued"));
+        Thread.sleep(100);
+        release.countDown();
+        assertEquals("{plain}slow", running.get(5, TimeUnit.SECONDS));
+    }
+
+    private class PlainEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "{plain}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("{plain}" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.flawden.TaskForgeAPI.security;
+
+import com.flawden.TaskForgeAPI.config.security.JwtClaimsCache;
+import com.flawden.TaskForgeAPI.config.security.JwtService;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGFza2ZvcmdlLXRlc3RzLTMyLWJ5dGVzLWxvbmc=";
+
+    private JwtClaimsCache claimsCache;
+    private JwtService jwtService;
+    private SimpleMeterRegistry registry;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        claimsCache = new JwtClaimsCache(2, Duration.ofMinutes(5));
+        jwtService = new JwtService(claimsCache);
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        jwtService.init();
+        registry = new SimpleMeterRegistry();
+        claimsCache.bindTo(registry);
+        userDetails = User.builder()
+                .username("user@example.com")
+                .password("password")
+                .authorities("USER")
+                .build();
+    }
+
+    @Test
+    void shouldVerifySignatureOnlyOncePerToken() {
+        String token = jwtService.generateToken(userDetails);
+        assertEquals("user@example.com", jwtService.extractUsername(token));
+        assertTrue(jwtService.validateToken(token, userDetails));
+        assertEquals(1.0, registry.get("taskforge.jwt.cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(2.0, registry.get("taskforge.jwt.cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedTokenWhenFull() {
+        String first = jwtService.generateToken(userDetails);
+        String second = jwtService.generateToken(User.withUserDetails(userDetails).username("second@example.com").build());
+        String third = jwtService.generateToken(User.withUserDetails(userDetails).username("third@example.com").build());
+        jwtService.extractUsername(first);
+        jwtService.extractUsername(second);
+        jwtService.extractUsername(third);
+        assertEquals(2, claimsCache.size());
+        assertEquals(1.0, registry.get("taskforge.jwt.cache.evictions").functionCounter().count());
+    }
+
+    @Test
+    void shouldRejectTamperedTokenAndNotCacheIt() {
+        String token = jwtService.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThrows(SignatureException.class, () -> jwtService.extractUsername(tampered));
+        assertEquals(0, claimsCache.size());
+    }
+
+    @Test
+    void shouldRestorePrincipalFromRoleClaim() {
+        String token = jwtService.generateToken(userDetails);
+        UserDetails principal = jwtService.extractPrincipal(token);
+        assertNotNull(principal);
+        assertEquals("user@example.com", principal.getUsername());
+        assertEquals("USER", principal.getAuthorities().iterator().next().getAuthority());
+        assertNull(principal.getPassword());
+    }
+}
@@ -0,0 +1,95 @@
+package com.flawden.TaskForgeAPI.security;
+
+import com.flawden.TaskForgeAPI.config.security.PasswordEncoderConfig;
+import com.flawden.TaskForgeAPI.config.security.PersonDetailService;
+import com.flawden.TaskForgeAPI.config.security.PrincipalCache;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import com.flawden.TaskForgeAPI.model.UserEntity;
+import com.flawden.TaskForgeAPI.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PasswordMigrationTest {
+
+    private static final String EMAIL = "john@example.com";
+    private static final String PASSWORD = "password123";
+
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+    private DaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        passwordEncoder = PasswordEncoderConfig.delegatingPasswordEncoder("bcrypt", 5, argon2());
+        PersonDetailService personDetailService = new PersonDetailService(userRepository, new PrincipalCache(Duration.ofMinutes(1), 100));
+        provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(personDetailService);
+        provider.setUserDetailsPasswordService(personDetailService);
+        provider.setPasswordEncoder(passwordEncoder);
+    }
+
+    @Test
+    void shouldRehashLegacyHashWithoutPrefix() {
+        givenStoredHash(new BCryptPasswordEncoder(4).encode(PASSWORD));
+        provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+        String rehashed = savedHash();
+        assertTrue(rehashed.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(passwordEncoder.matches(PASSWORD, rehashed));
+    }
+
+    @Test
+    void shouldRehashOutdatedAlgorithm() {
+        givenStoredHash("{argon2}" + argon2().encode(PASSWORD));
+        provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+        assertTrue(savedHash().startsWith("{bcrypt}$2a$05$"));
+    }
+
+    @Test
+    void shouldRehashWhenCostDiffers() {
+        givenStoredHash("{bcrypt}" + new BCryptPasswordEncoder(6).encode(PASSWORD));
+        provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+        assertTrue(savedHash().startsWith("{bcrypt}$2a$05$"));
+    }
+
+    @Test
+    void shouldKeepCurrentHash() {
+        givenStoredHash(passwordEncoder.encode(PASSWORD));
+        provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+        verify(userRepository, never()).save(any(UserEntity.class));
+    }
+
+    @Test
+    void shouldPickMinimalStrengthForUnreachableTarget() {
+        assertEquals(10, PasswordEncoderConfig.benchmarkBcryptStrength(Duration.ZERO));
+    }
+
+    private void givenStoredHash(String hash) {
+        UserEntity user = new UserEntity(1L, EMAIL, hash, "John", "Doe", Role.USER, null);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    private String savedHash() {
+        ArgumentCaptor<UserEntity> captor = ArgumentCaptor.forClass(UserEntity.class);
+        verify(userRepository).save(captor.capture());
+        return captor.getValue().getPassword();
+    }
+
+    private static Argon2PasswordEncoder argon2() {
+        return new Argon2PasswordEncoder(16, 32, 1, 1024, 1);
+    }
+}
@@ -1,23 +1,35 @@
 package com.flawden.TaskForgeAPI.service;
 
 import com.flawden.TaskForgeAPI.dto.Comment;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeEvent;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
 import com.flawden.TaskForgeAPI.dto.user.Role;
 import com.flawden.TaskForgeAPI.exception.CommentNotFoundException;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
 import com.flawden.TaskForgeAPI.mapper.CommentMapper;
 import com.flawden.TaskForgeAPI.model.CommentEntity;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
 import com.flawden.TaskForgeAPI.model.UserEntity;
 import com.flawden.TaskForgeAPI.repository.CommentRepository;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
 import com.flawden.TaskForgeAPI.repository.UserRepository;
+import com.flawden.TaskForgeAPI.service.cache.EntityCache;
 import com.flawden.TaskForgeAPI.service.impl.CommentServiceImpl;
+import com.flawden.TaskForgeAPI.service.pagination.CursorCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,15 +43,25 @@ class CommentServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityCache entityCache;
+
     @Mock
     private CommentMapper commentMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private CommentServiceImpl commentService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        commentService = new CommentServiceImpl(commentRepository, userRepository, commentMapper);
+        commentService = new CommentServiceImpl(commentRepository, userRepository, taskRepository, commentMapper, entityCache, eventPublisher);
+        ReflectionTestUtils.setField(commentService, "maxListSize", 1000);
     }
 
     @Test
@@ -94,14 +116,18 @@ class CommentServiceImplTest {
 
     @Test
     void testAddComment() {
-        Comment comment = new Comment(1L, "new comment", null, null);
-        CommentEntity commentEntity = new CommentEntity(1L, "new comment", null, null);
+        TaskEntity task = new TaskEntity();
+        task.setId(2L);
+        Comment comment = new Comment(1L, "new comment", null, 2L);
+        CommentEntity commentEntity = new CommentEntity(1L, "new comment", null, task);
         when(commentMapper.mapCommentToCommentEntity(comment)).thenReturn(commentEntity);
         when(commentRepository.save(commentEntity)).thenReturn(commentEntity);
         when(commentMapper.mapCommentEntityToComment(commentEntity)).thenReturn(comment);
         var result = commentService.addComment(comment);
         assertNotNull(result);
         assertEquals("new comment", result.getText());
+        verify(taskRepository).addToCommentCount(2L, 1);
+        verify(eventPublisher).publishEvent(new TaskChangeEvent(TaskChangeType.COMMENT_CREATED, 2L, 1L));
     }
 
     @Test
@@ -116,7 +142,7 @@ class CommentServiceImplTest {
         testUser.setLastName("Doe");
         testUser.setRole(Role.USER);
         testUser.setTaskEntities(null);
-        CommentEntity existingComment = new CommentEntity(1L, "existing comment", testUser, null);
+        CommentEntity existingComment = new CommentEntity(1L, "existing comment", testUser, new TaskEntity());
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(authorId)).thenReturn(Optional.of(existingComment));
         when(commentRepository.save(existingComment)).thenReturn(existingComment);
@@ -128,7 +154,7 @@ class CommentServiceImplTest {
     void testUpdateCommentNotFound() {
         Long authorId = 1L;
         Comment comment = new Comment(1L, "updated comment", null, null);
-        when(commentRepository.findCommentEntityByAuthorId(authorId)).thenReturn(Optional.empty());
+        when(commentRepository.findById(comment.getId())).thenReturn(Optional.empty());
         CommentNotFoundException exception = assertThrows(CommentNotFoundException.class, () -> commentService.updateComment(comment, authorId));
         assertNotNull(exception);
     }
@@ -151,53 +177,45 @@ class CommentServiceImplTest {
         commentEntity.setId(1L);
         commentEntity.setText("Test Comment");
         commentEntity.setAuthor(userEntity);
+        commentEntity.setTask(new TaskEntity());
+        commentEntity.getTask().setId(2L);
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(commentEntity));
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(userEntity));
         doNothing().when(commentRepository).deleteById(1L);
         commentService.deleteComment(1L, "user@example.com");
         verify(commentRepository, times(1)).deleteById(1L);
+        verify(taskRepository).addToCommentCount(2L, -1);
     }
 
 
     @Test
-    void testGetCommentByTaskIdSuccess() {
-        Long taskId = 1L;
-        CommentEntity commentEntity = new CommentEntity(1L, "comment for task", null, null);
-        Comment comment = new Comment(1L, "comment for task", null, null);
-        when(commentRepository.findCommentEntitiesByTaskId(taskId)).thenReturn(Optional.of(commentEntity));
-        when(commentMapper.mapCommentEntityToComment(commentEntity)).thenReturn(comment);
-        var result = commentService.getCommentByTaskId(taskId);
-        assertNotNull(result);
-        assertEquals("comment for task", result.getText());
-    }
-
-    @Test
-    void testGetCommentByTaskIdNotFound() {
+    void testGetCommentsByTaskId() {
         Long taskId = 1L;
-        when(commentRepository.findCommentEntitiesByTaskId(taskId)).thenReturn(Optional.empty());
-        CommentNotFoundException exception = assertThrows(CommentNotFoundException.class, () -> commentService.getCommentByTaskId(taskId));
-        assertNotNull(exception);
+        List<Comment> comments = List.of(new Comment(1L, "comment 1", 2L, taskId), new Comment(5L, "comment 2", 2L, taskId),
+                new Comment(7L, "comment 3", 3L, taskId));
+        when(commentRepository.findCommentsByTaskIdAfter(taskId, 0L, Limit.of(3))).thenReturn(comments);
+        CursorPage<Comment> page = commentService.getCommentsByTaskId(taskId, null, 2);
+        assertEquals(comments.subList(0, 2), page.getItems());
+        assertEquals(CursorCodec.encode(5L), page.getNextCursor());
+
+        when(commentRepository.findCommentsByTaskIdAfter(taskId, 5L, Limit.of(3))).thenReturn(comments.subList(2, 3));
+        CursorPage<Comment> next = commentService.getCommentsByTaskId(taskId, page.getNextCursor(), 2);
+        assertEquals(comments.subList(2, 3), next.getItems());
+        assertNull(next.getNextCursor());
     }
 
     @Test
-    void testGetCommentByUserIdSuccess() {
+    void testGetCommentsByUserIdEmpty() {
         Long userId = 1L;
-        CommentEntity commentEntity = new CommentEntity(1L, "comment for user", null, null);
-        Comment comment = new Comment(1L, "comment for user", null, null);
-        when(commentRepository.findCommentEntityByAuthorId(userId)).thenReturn(Optional.of(commentEntity));
-        when(commentMapper.mapCommentEntityToComment(commentEntity)).thenReturn(comment);
-        var result = commentService.getCommentByUserId(userId);
-        assertNotNull(result);
-        assertEquals("comment for user", result.getText());
+        when(commentRepository.findCommentsByAuthorIdAfter(userId, 0L, Limit.of(21))).thenReturn(List.of());
+        CursorPage<Comment> page = commentService.getCommentsByUserId(userId, "", 20);
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    void testGetCommentByUserIdNotFound() {
-        Long userId = 1L;
-        when(commentRepository.findCommentEntityByAuthorId(userId)).thenReturn(Optional.empty());
-        CommentNotFoundException exception = assertThrows(CommentNotFoundException.class, () -> commentService.getCommentByUserId(userId));
-        assertNotNull(exception);
+    void testGetCommentsByUserIdInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> commentService.getCommentsByUserId(1L, "%%%", 20));
     }
 }
-
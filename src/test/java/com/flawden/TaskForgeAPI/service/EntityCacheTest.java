@@ -0,0 +1,91 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.flawden.TaskForgeAPI.config.CacheConfig;
+import com.flawden.TaskForgeAPI.config.security.PrincipalCache;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import com.flawden.TaskForgeAPI.dto.user.UpdateUser;
+import com.flawden.TaskForgeAPI.dto.user.User;
+import com.flawden.TaskForgeAPI.mapper.UserMapper;
+import com.flawden.TaskForgeAPI.model.UserEntity;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import com.flawden.TaskForgeAPI.repository.UserRepository;
+import com.flawden.TaskForgeAPI.service.cache.EntityCache;
+import com.flawden.TaskForgeAPI.service.coalescing.SingleFlight;
+import com.flawden.TaskForgeAPI.service.impl.UserServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.cache.CacheMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({CacheConfig.class, EntityCache.class, SingleFlight.class, UserServiceImpl.class, EntityCacheTest.Conversion.class})
+@ImportAutoConfiguration({CacheAutoConfiguration.class, MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class, CacheMetricsAutoConfiguration.class})
+class EntityCacheTest {
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private TaskRepository taskRepository;
+
+    @MockitoBean
+    private UserMapper userMapper;
+
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Configuration
+    static class Conversion {
+
+        @Bean
+        ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+    }
+
+    @Test
+    void shouldReadThroughAndInvalidateOnUpdate() {
+        UserEntity entity = new UserEntity(1L, "user@example.com", "password", "John", "Doe", Role.USER, null);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(entity));
+        when(userMapper.mapUserEntityToUser(entity)).thenReturn(new User(1L, "user@example.com", "John", "Doe", "USER"));
+
+        assertInstanceOf(CaffeineCacheManager.class, cacheManager);
+        assertEquals("John", userService.getUserById(1L).getFirstName());
+        assertEquals("John", userService.getUserById(1L).getFirstName());
+        verify(userRepository, times(1)).findById(1L);
+
+        userService.updateUser(new UpdateUser("Jack", "Doe", "user@example.com"), 1L);
+        userService.getUserById(1L);
+        verify(userRepository, times(3)).findById(1L);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", EntityCache.USERS).tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", EntityCache.USERS).tag("result", "miss").functionCounter().count());
+    }
+}
@@ -0,0 +1,103 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flawden.TaskForgeAPI.dto.ExportFormat;
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import com.flawden.TaskForgeAPI.model.CommentEntity;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.model.UserEntity;
+import com.flawden.TaskForgeAPI.service.impl.ExportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.liquibase.enabled=false", "export.fetch-size=3"})
+@Import(ExportServiceImpl.class)
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void shouldExportTasksAsCsv() throws IOException {
+        TaskEntity plain = entityManager.persist(task("Задача", "Описание"));
+        TaskEntity special = entityManager.persist(task("Отчет, \"квартальный\"", "Строка 1\nСтрока 2"));
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportTasks(ExportFormat.CSV, out);
+
+        assertEquals("id,title,description,status,priority\r\n"
+                        + plain.getId() + ",Задача,Описание,PENDING,LOW\r\n"
+                        + special.getId() + ",\"Отчет, \"\"квартальный\"\"\",\"Строка 1\nСтрока 2\",PENDING,LOW\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldExportCommentsAsNdjson() throws IOException {
+        UserEntity user = entityManager.persist(new UserEntity(null, "user@example.com", "password", "John", "Doe", Role.USER, null));
+        TaskEntity task = entityManager.persist(task("Задача", "Описание"));
+        for (int i = 0; i < 7; i++) {
+            entityManager.persist(new CommentEntity(null, "Комментарий " + i, user, task));
+        }
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportComments(ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(7, lines.length);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals("Комментарий 0", first.get("text").asText());
+        assertEquals(user.getId(), first.get("authorId").asLong());
+        assertEquals(task.getId(), first.get("taskId").asLong());
+    }
+
+    @Test
+    void shouldStopReadingWhenClientDisconnects() {
+        for (int i = 0; i < 20; i++) {
+            entityManager.persist(task("Задача " + i, "Описание"));
+        }
+        entityManager.flush();
+        AtomicInteger flushes = new AtomicInteger();
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public void flush() throws IOException {
+                flushes.incrementAndGet();
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> exportService.exportTasks(ExportFormat.NDJSON, disconnected));
+        assertEquals(1, flushes.get());
+    }
+
+    private static TaskEntity task(String title, String description) {
+        return new TaskEntity(null, title, description, Status.PENDING, Priority.LOW, new ArrayList<>(), new ArrayList<>());
+    }
+}
@@ -0,0 +1,48 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
+import com.flawden.TaskForgeAPI.service.outbox.FileOutboxSink;
+import com.flawden.TaskForgeAPI.service.outbox.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileOutboxSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldCreateMissingDirectoriesAndAppendEvents() throws Exception {
+        Path file = directory.resolve("reports").resolve("outbox.ndjson");
+        FileOutboxSink sink = new FileOutboxSink(objectMapper, file);
+
+        sink.publish(List.of(event(1L), event(2L)));
+        sink.publish(List.of(event(3L)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertEquals(List.of(1L, 2L, 3L), lines.stream().map(this::readId).toList());
+    }
+
+    private long readId(String line) {
+        try {
+            return objectMapper.readTree(line).get("id").asLong();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static OutboxEvent event(long id) {
+        return new OutboxEvent(id, TaskChangeType.TASK_UPDATED, id, null, Instant.now());
+    }
+}
@@ -0,0 +1,97 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeEvent;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
+import com.flawden.TaskForgeAPI.repository.OutboxEventRepository;
+import com.flawden.TaskForgeAPI.service.outbox.OutboxEvent;
+import com.flawden.TaskForgeAPI.service.outbox.OutboxRelay;
+import com.flawden.TaskForgeAPI.service.outbox.OutboxSink;
+import com.flawden.TaskForgeAPI.service.outbox.OutboxWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.liquibase.enabled=false")
+@Import(OutboxWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<List<OutboxEvent>> batches = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void shouldRelayEventsInBatchesAndRemoveThem() {
+        publish(5);
+        OutboxRelay relay = relay(batches::add);
+
+        assertEquals(5, relay.relay());
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), batches.stream().flatMap(List::stream).map(OutboxEvent::taskId).toList());
+        assertEquals(TaskChangeType.COMMENT_CREATED, batches.get(0).get(0).type());
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(0, relay.relay());
+    }
+
+    @Test
+    void shouldKeepEventsWhenSinkFails() {
+        publish(3);
+        OutboxRelay relay = relay(events -> {
+            throw new IllegalStateException("Получатель недоступен");
+        });
+
+        assertEquals(0, relay.relay());
+        assertEquals(3, outboxEventRepository.count());
+        assertTrue(relay.lag().toNanos() > 0);
+    }
+
+    @Test
+    void shouldRequireMutationTransaction() {
+        assertThrows(IllegalTransactionStateException.class,
+                () -> eventPublisher.publishEvent(TaskChangeEvent.task(TaskChangeType.TASK_UPDATED, 1L)));
+    }
+
+    private void publish(int count) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (long taskId = 1; taskId <= count; taskId++) {
+                eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeType.COMMENT_CREATED, taskId, taskId * 10));
+            }
+        });
+    }
+
+    private OutboxRelay relay(OutboxSink sink) {
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, sink, transactionManager);
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        return relay;
+    }
+}
@@ -0,0 +1,115 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.flawden.TaskForgeAPI.exception.TaskNotFoundException;
+import com.flawden.TaskForgeAPI.service.coalescing.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    void shouldShareOneCallBetweenConcurrentIdenticalReads() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(SingleFlight.key("getTasks", "отчет", null), () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return List.of("Задача 1");
+                })));
+            }
+            waitUntilJoined(CALLERS - 1);
+            release.countDown();
+            for (Future<List<String>> result : results) {
+                assertSame(results.get(0).get(5, TimeUnit.SECONDS), result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void shouldPropagateFailureToAllWaitersAndNotRememberIt() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.<String>execute(SingleFlight.key("getTaskById", 1L), () -> {
+                    await(release);
+                    throw new TaskNotFoundException();
+                })));
+            }
+            waitUntilJoined(CALLERS - 1);
+            release.countDown();
+            for (Future<String> result : results) {
+                Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(TaskNotFoundException.class, e.getCause());
+            }
+        }
+        assertEquals("найдено", singleFlight.execute(SingleFlight.key("getTaskById", 1L), () -> "найдено"));
+    }
+
+    @Test
+    void shouldNotShareCallsWithDifferentArguments() {
+        AtomicInteger calls = new AtomicInteger();
+        singleFlight.execute(SingleFlight.key("getTaskById", 1L), () -> singleFlight.execute(SingleFlight.key("getTaskById", 2L), calls::incrementAndGet));
+        singleFlight.execute(SingleFlight.key("getTaskById", 1L), calls::incrementAndGet);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldNotJoinCallStartedBeforeInvalidation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<String> stale = executor.submit(() -> singleFlight.execute(SingleFlight.key("getTaskById", 1L), () -> {
+                started.countDown();
+                await(release);
+                return "до изменения";
+            }));
+            await(started);
+            singleFlight.invalidate();
+
+            assertEquals("после изменения", singleFlight.execute(SingleFlight.key("getTaskById", 1L), () -> "после изменения"));
+            release.countDown();
+            assertEquals("до изменения", stale.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    private void waitUntilJoined(int waiters) throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        singleFlight.bindTo(registry);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("taskforge.singleflight.calls").tag("result", "shared").functionCounter().count() < waiters) {
+            assertTrue(System.nanoTime() < deadline, "Запросы не присоединились к выполняющемуся чтению");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.task.TaskBatchItemResult;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
+import com.flawden.TaskForgeAPI.mapper.CommentMapperImpl;
+import com.flawden.TaskForgeAPI.mapper.TaskMapperImpl;
+import com.flawden.TaskForgeAPI.model.OutboxEventEntity;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.repository.OutboxEventRepository;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import com.flawden.TaskForgeAPI.service.events.TaskEventBroadcaster;
+import com.flawden.TaskForgeAPI.service.impl.TaskBatchServiceImpl;
+import com.flawden.TaskForgeAPI.service.outbox.OutboxWriter;
+import com.flawden.TaskForgeAPI.service.search.TaskSearchIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "tasks.batch.chunk-size=40"
+})
+@Import({TaskBatchServiceImpl.class, TaskSearchIndex.class, TaskMapperImpl.class, CommentMapperImpl.class, OutboxWriter.class,
+        TaskEventBroadcaster.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskBatchServiceTest {
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private FunctionCounter publishedEvents;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        taskEventBroadcaster.bindTo(registry);
+        publishedEvents = registry.get("taskforge.events.published").functionCounter();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldInsertTasksInJdbcBatches() {
+        List<Task> tasks = IntStream.range(0, 200)
+                .mapToObj(i -> new Task(null, "Задача " + i, "Описание задачи " + i, "PENDING", "LOW", null, null))
+                .toList();
+        int indexed = taskSearchIndex.size();
+        double published = publishedEvents.count();
+
+        List<TaskBatchItemResult> results = taskBatchService.addTasks(tasks.iterator());
+
+        assertEquals(200, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getId() != null && result.getErrors().isEmpty()));
+        assertEquals(200, taskRepository.count());
+        assertEquals(200, statistics.getEntityStatistics(TaskEntity.class.getName()).getInsertCount());
+        assertEquals(400, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "Ожидались пачки вставок, подготовлено запросов: " + statistics.getPrepareStatementCount());
+        assertEquals(indexed + 200, taskSearchIndex.size());
+        List<OutboxEventEntity> events = outboxEventRepository.findAll();
+        assertEquals(200, events.size());
+        assertTrue(events.stream().allMatch(event -> event.getType() == TaskChangeType.TASK_CREATED));
+        assertEquals(results.stream().map(TaskBatchItemResult::getId).collect(Collectors.toSet()),
+                events.stream().map(OutboxEventEntity::getTaskId).collect(Collectors.toSet()));
+        assertEquals(published + 200, publishedEvents.count());
+    }
+
+    @Test
+    void shouldReportInvalidItemsAndCreateTheRest() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(null, "Задача 1", "Описание", "PENDING", "LOW", null, null));
+        tasks.add(new Task(null, null, "Описание", "PENDING", "LOW", null, null));
+        tasks.add(new Task(null, "Задача 3", "Описание", "UNKNOWN", "LOW", null, null));
+        tasks.add(new Task(null, "Задача 4", null, "PENDING", "HIGH", null, null));
+        tasks.add(new Task(null, "Задача 5", "Описание", "COMPLETED", "HIGH", null, null));
+
+        List<TaskBatchItemResult> results = taskBatchService.addTasks(tasks.iterator());
+
+        assertEquals(5, results.size());
+        assertNotNull(results.get(0).getId());
+        assertEquals(List.of("Название задачи не может быть пустым"), results.get(1).getErrors());
+        assertEquals(List.of("Некорректный статус или приоритет задачи"), results.get(2).getErrors());
+        assertEquals(List.of("Описание задачи не может быть пустым"), results.get(3).getErrors());
+        assertNotNull(results.get(4).getId());
+        assertEquals(2, taskRepository.count());
+        assertEquals(2, outboxEventRepository.count());
+    }
+
+    @Test
+    void shouldStopAtUnreadableItem() {
+        Iterator<Task> tasks = new Iterator<>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Task next() {
+                if (read++ == 2) {
+                    throw new IllegalStateException("Некорректный JSON");
+                }
+                return new Task(null, "Задача " + read, "Описание", "PENDING", "LOW", null, null);
+            }
+        };
+
+        List<TaskBatchItemResult> results = taskBatchService.addTasks(tasks);
+
+        assertEquals(3, results.size());
+        assertFalse(results.get(2).getErrors().isEmpty());
+        assertEquals(2, taskRepository.count());
+    }
+}
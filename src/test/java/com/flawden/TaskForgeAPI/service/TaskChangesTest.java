@@ -0,0 +1,109 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.task.TaskChanges;
+import com.flawden.TaskForgeAPI.exception.ChangesExpiredException;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
+import com.flawden.TaskForgeAPI.mapper.CommentMapperImpl;
+import com.flawden.TaskForgeAPI.mapper.TaskMapperImpl;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.model.TaskTombstoneEntity;
+import com.flawden.TaskForgeAPI.repository.TaskTombstoneRepository;
+import com.flawden.TaskForgeAPI.service.cache.EntityCache;
+import com.flawden.TaskForgeAPI.service.changes.TaskTombstoneCleaner;
+import com.flawden.TaskForgeAPI.service.coalescing.SingleFlight;
+import com.flawden.TaskForgeAPI.service.impl.TaskServiceImpl;
+import com.flawden.TaskForgeAPI.service.pagination.CursorCodec;
+import com.flawden.TaskForgeAPI.service.search.TaskSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "tasks.changes.settle-time=PT0S"
+})
+@Import({TaskServiceImpl.class, TaskSearchIndex.class, EntityCache.class, SingleFlight.class, ConcurrentMapCacheManager.class,
+        TaskMapperImpl.class, CommentMapperImpl.class, TaskTombstoneCleaner.class})
+class TaskChangesTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private TaskTombstoneCleaner taskTombstoneCleaner;
+
+    @Test
+    void shouldReturnChangedAndDeletedTasksSinceWatermark() {
+        entityManager.persist(new TaskTombstoneEntity(1000L, Instant.now().minusSeconds(60)));
+        TaskEntity first = entityManager.persist(task("Задача 1"));
+        TaskEntity second = entityManager.persist(task("Задача 2"));
+        TaskEntity third = entityManager.persist(task("Задача 3"));
+        entityManager.flush();
+        entityManager.clear();
+
+        TaskChanges firstPage = taskService.getTaskChanges(null, 2);
+        assertTrue(firstPage.isHasMore());
+        assertEquals(2, firstPage.getChanged().size());
+        assertTrue(firstPage.getDeleted().isEmpty());
+        TaskChanges secondPage = taskService.getTaskChanges(firstPage.getNext(), 2);
+        assertFalse(secondPage.isHasMore());
+        List<Long> synced = new ArrayList<>(firstPage.getChanged().stream().map(Task::getId).toList());
+        synced.addAll(secondPage.getChanged().stream().map(Task::getId).toList());
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()), synced.stream().sorted().toList());
+        assertTrue(secondPage.getDeleted().isEmpty());
+
+        TaskChanges idle = taskService.getTaskChanges(secondPage.getNext(), 10);
+        assertTrue(idle.getChanged().isEmpty());
+        assertTrue(idle.getDeleted().isEmpty());
+
+        entityManager.find(TaskEntity.class, first.getId()).setTitle("Новое название");
+        entityManager.flush();
+        taskService.deleteTask(second.getId());
+        entityManager.flush();
+
+        TaskChanges delta = taskService.getTaskChanges(idle.getNext(), 10);
+        assertEquals(List.of(first.getId()), delta.getChanged().stream().map(Task::getId).toList());
+        assertEquals("Новое название", delta.getChanged().get(0).getTitle());
+        assertEquals(List.of(second.getId()), delta.getDeleted());
+        assertFalse(delta.isHasMore());
+    }
+
+    @Test
+    void shouldRejectExpiredAndDamagedWatermarks() {
+        assertThrows(ChangesExpiredException.class, () -> taskService.getTaskChanges(CursorCodec.encode(0, 0, 0), 10));
+        assertThrows(InvalidCursorException.class, () -> taskService.getTaskChanges("не позиция", 10));
+    }
+
+    @Test
+    void shouldPurgeTombstonesOlderThanRetention() {
+        entityManager.persist(new TaskTombstoneEntity(1L, Instant.now().minus(Duration.ofDays(31))));
+        entityManager.persist(new TaskTombstoneEntity(2L, Instant.now()));
+        entityManager.flush();
+
+        assertEquals(1, taskTombstoneCleaner.purge());
+        assertEquals(List.of(2L), taskTombstoneRepository.findAll().stream().map(TaskTombstoneEntity::getTaskId).toList());
+    }
+
+    private static TaskEntity task(String title) {
+        return new TaskEntity(null, title, "Описание", Status.PENDING, Priority.LOW, new ArrayList<>(), new ArrayList<>());
+    }
+}
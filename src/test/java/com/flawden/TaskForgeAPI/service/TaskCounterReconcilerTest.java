@@ -0,0 +1,91 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignment;
+import com.flawden.TaskForgeAPI.dto.task.TaskFilter;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import com.flawden.TaskForgeAPI.model.CommentEntity;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.model.UserEntity;
+import com.flawden.TaskForgeAPI.repository.TaskQuery;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import com.flawden.TaskForgeAPI.service.counter.TaskCounterReconciler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.liquibase.enabled=false", "tasks.counters.reconcile-batch-size=2"})
+@Import(TaskCounterReconciler.class)
+class TaskCounterReconcilerTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldShowCountersInSummariesAndRepairDrift() {
+        UserEntity user = entityManager.persist(new UserEntity(null, "user@example.com", "password", "John", "Doe", Role.USER, null));
+        TaskEntity first = entityManager.persist(task("Задача 1"));
+        TaskEntity second = entityManager.persist(task("Задача 2"));
+        TaskEntity third = entityManager.persist(task("Задача 3"));
+        entityManager.persist(new CommentEntity(null, "Комментарий 1", user, first));
+        entityManager.persist(new CommentEntity(null, "Комментарий 2", user, first));
+        entityManager.flush();
+        taskRepository.insertAssignmentsIfAbsent(List.of(new TaskAssignment(user.getId(), first.getId())));
+        taskRepository.addToCommentCount(first.getId(), 2);
+        taskRepository.addToExecutorCount(first.getId(), 1);
+
+        List<TaskSummary> summaries = taskRepository.findTaskSummaries(TaskQuery.all(TaskFilter.NONE));
+        assertEquals(2, summaries.get(0).getCommentCount());
+        assertEquals(1, summaries.get(0).getExecutorCount());
+        assertEquals(0, summaries.get(1).getCommentCount());
+        assertEquals(0, reconciler.reconcile());
+
+        jdbcTemplate.update("UPDATE task_entity SET comment_count = 5 WHERE id = ?", first.getId());
+        jdbcTemplate.update("UPDATE task_entity SET executor_count = 3 WHERE id = ?", third.getId());
+        jdbcTemplate.update("UPDATE task_entity SET updated_at = ?", Timestamp.from(Instant.EPOCH));
+        List<Long> versions = versions();
+        assertEquals(2, reconciler.reconcile());
+        assertEquals(List.of(versions.get(0) + 1, versions.get(1), versions.get(2) + 1), versions());
+        assertEquals(List.of(false, true, false), jdbcTemplate.queryForList(
+                "SELECT updated_at = ? FROM task_entity ORDER BY id", Boolean.class, Timestamp.from(Instant.EPOCH)));
+
+        summaries = taskRepository.findTaskSummaries(TaskQuery.all(TaskFilter.NONE));
+        assertEquals(List.of(2, 0, 0), summaries.stream().map(TaskSummary::getCommentCount).toList());
+        assertEquals(List.of(1, 0, 0), summaries.stream().map(TaskSummary::getExecutorCount).toList());
+        assertEquals(second.getId(), summaries.get(1).getId());
+    }
+
+    @Test
+    void shouldReconcileEmptyTable() {
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    private List<Long> versions() {
+        return jdbcTemplate.queryForList("SELECT version FROM task_entity ORDER BY id", Long.class);
+    }
+
+    private static TaskEntity task(String title) {
+        return new TaskEntity(null, title, "Описание", Status.PENDING, Priority.LOW, new ArrayList<>(), new ArrayList<>());
+    }
+}
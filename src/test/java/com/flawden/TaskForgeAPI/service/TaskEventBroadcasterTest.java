@@ -0,0 +1,137 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeEvent;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import com.flawden.TaskForgeAPI.service.events.TaskEventBroadcaster;
+import com.flawden.TaskForgeAPI.service.events.TaskEventFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskEventBroadcasterTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+
+    private TaskEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    void shouldDeliverEventsMatchingSubscriberFilters() throws Exception {
+        broadcaster = new TaskEventBroadcaster(taskRepository, 16, Duration.ofMinutes(1));
+        when(taskRepository.findStatusById(1L)).thenReturn(Optional.of(Status.IN_PROGRESS));
+        when(taskRepository.findStatusById(2L)).thenReturn(Optional.of(Status.COMPLETED));
+        when(taskRepository.findExecutorIdsById(1L)).thenReturn(List.of(7L));
+        when(taskRepository.findExecutorIdsById(2L)).thenReturn(List.of());
+        RecordingEmitter all = subscribe(new TaskEventFilter(null, null, null));
+        RecordingEmitter byTask = subscribe(new TaskEventFilter(2L, null, null));
+        RecordingEmitter byAssignee = subscribe(new TaskEventFilter(null, 7L, null));
+        RecordingEmitter byStatus = subscribe(new TaskEventFilter(null, null, Status.COMPLETED));
+
+        TaskChangeEvent updated = TaskChangeEvent.task(TaskChangeType.TASK_UPDATED, 1L);
+        TaskChangeEvent commented = new TaskChangeEvent(TaskChangeType.COMMENT_CREATED, 2L, 5L);
+        TaskChangeEvent deleted = TaskChangeEvent.task(TaskChangeType.TASK_DELETED, 3L);
+        broadcaster.onChange(updated);
+        broadcaster.onChange(commented);
+        broadcaster.onChange(deleted);
+
+        assertEquals(List.of(updated, commented, deleted), all.take(3));
+        assertEquals(List.of(commented), byTask.take(1));
+        assertEquals(List.of(updated, deleted), byAssignee.take(2));
+        assertEquals(List.of(commented, deleted), byStatus.take(2));
+        assertNull(byTask.sent.poll(50, TimeUnit.MILLISECONDS));
+        verify(taskRepository, times(1)).findStatusById(1L);
+        verify(taskRepository, never()).findStatusById(3L);
+    }
+
+    @Test
+    void shouldDropSubscriberThatFallsBehind() throws Exception {
+        broadcaster = new TaskEventBroadcaster(taskRepository, 2, Duration.ofMinutes(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        broadcaster.bindTo(registry);
+        RecordingEmitter slow = new RecordingEmitter(new CountDownLatch(1));
+        broadcaster.subscribe(new TaskEventFilter(null, null, null), slow);
+
+        for (long id = 1; id <= 5; id++) {
+            broadcaster.onChange(TaskChangeEvent.task(TaskChangeType.TASK_CREATED, id));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broadcaster.subscribers() > 0) {
+            assertTrue(System.nanoTime() < deadline, "Отстающий подписчик не отключен");
+            Thread.sleep(5);
+        }
+        slow.gate.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertTrue(slow.overflowed);
+        assertEquals(1, registry.get("taskforge.events.dropped-subscribers").functionCounter().count());
+    }
+
+    private RecordingEmitter subscribe(TaskEventFilter filter) {
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+        broadcaster.subscribe(filter, emitter);
+        return emitter;
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<TaskChangeEvent> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch gate;
+        private volatile boolean overflowed;
+
+        private RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            for (var data : builder.build()) {
+                if (data.getData() instanceof TaskChangeEvent event) {
+                    sent.add(event);
+                } else if (data.getData().toString().contains("event:OVERFLOW")) {
+                    overflowed = true;
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private List<TaskChangeEvent> take(int count) throws InterruptedException {
+            List<TaskChangeEvent> events = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                TaskChangeEvent event = sent.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "Событие не доставлено");
+                events.add(event);
+            }
+            return events;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.flawden.TaskForgeAPI.dto.CursorPage;
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.task.TaskFilter;
+import com.flawden.TaskForgeAPI.dto.task.TaskSort;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
+import com.flawden.TaskForgeAPI.dto.user.Role;
+import com.flawden.TaskForgeAPI.mapper.CommentMapperImpl;
+import com.flawden.TaskForgeAPI.mapper.TaskMapperImpl;
+import com.flawden.TaskForgeAPI.model.CommentEntity;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.model.UserEntity;
+import com.flawden.TaskForgeAPI.service.cache.EntityCache;
+import com.flawden.TaskForgeAPI.service.coalescing.SingleFlight;
+import com.flawden.TaskForgeAPI.service.impl.TaskServiceImpl;
+import com.flawden.TaskForgeAPI.service.search.TaskSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TaskServiceImpl.class, TaskSearchIndex.class, EntityCache.class, SingleFlight.class, ConcurrentMapCacheManager.class,
+        TaskMapperImpl.class, CommentMapperImpl.class})
+class TaskListingQueryCountTest {
+
+    private static final int TASKS = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskService taskService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity first = entityManager.persist(new UserEntity(null, "first@example.com", "password", "John", "Doe", Role.USER, null));
+        UserEntity second = entityManager.persist(new UserEntity(null, "second@example.com", "password", "Jane", "Doe", Role.USER, null));
+        for (int i = 0; i < TASKS; i++) {
+            TaskEntity task = entityManager.persist(new TaskEntity(null, "Задача " + i, "Описание задачи " + i,
+                    Status.PENDING, Priority.values()[i % 3], new ArrayList<>(List.of(first, second)), new ArrayList<>()));
+            entityManager.persist(new CommentEntity(null, "Комментарий " + i, first, task));
+            entityManager.persist(new CommentEntity(null, "Ответ " + i, second, task));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadPageWithConstantNumberOfStatements() {
+        List<Task> small = taskService.getTasksWithPagination(0, 5);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+
+        List<Task> large = taskService.getTasksWithPagination(0, 25);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(5, small.size());
+        assertEquals(25, large.size());
+        assertEquals(3, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+        assertEquals(2, large.get(24).getExecutors().size());
+        assertEquals(2, large.get(24).getComments().size());
+    }
+
+    @Test
+    void shouldLoadAllTasksWithConstantNumberOfStatements() {
+        List<Task> tasks = taskService.getAllTasks();
+        assertEquals(TASKS, tasks.size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertNotNull(tasks.get(0).getComments().get(0).getAuthor());
+    }
+
+    @Test
+    void shouldBuildSummariesWithoutLoadingEntities() {
+        List<TaskSummary> summaries = taskService.getTaskSummaries(0, 25, TaskFilter.NONE);
+        assertEquals(25, summaries.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldWalkAllSummariesByPriorityCursor() {
+        Set<Long> seen = new HashSet<>();
+        List<Priority> order = new ArrayList<>();
+        String cursor = "";
+        TaskSummary previous = null;
+        do {
+            CursorPage<TaskSummary> page = taskService.getTaskSummariesAfterCursor(cursor, 7, TaskSort.PRIORITY, TaskFilter.NONE);
+            for (TaskSummary summary : page.getItems()) {
+                assertTrue(seen.add(summary.getId()));
+                if (previous == null || previous.getPriority() != summary.getPriority()) {
+                    order.add(summary.getPriority());
+                } else {
+                    assertTrue(previous.getId() < summary.getId());
+                }
+                previous = summary;
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(TASKS, seen.size());
+        assertEquals(List.of(Priority.LOW, Priority.MEDIUM, Priority.HIGH), order);
+    }
+}
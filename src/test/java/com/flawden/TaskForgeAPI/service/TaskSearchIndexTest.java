@@ -0,0 +1,96 @@
+package com.flawden.TaskForgeAPI.service;
+
+import com.flawden.TaskForgeAPI.dto.task.Priority;
+import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.TaskSummary;
+import com.flawden.TaskForgeAPI.model.TaskEntity;
+import com.flawden.TaskForgeAPI.repository.TaskQuery;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import com.flawden.TaskForgeAPI.service.search.TaskSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskSearchIndexTest {
+
+    private TaskRepository taskRepository;
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        index = new TaskSearchIndex(taskRepository);
+        index.index(task(1L, "Подготовить отчет", "Квартальный отчет для руководства"));
+        index.index(task(2L, "Исправить ошибку", "Ошибка в отчетах при экспорте"));
+        index.index(task(3L, "Обновить зависимости", "Плановое обновление библиотек"));
+    }
+
+    @Test
+    void shouldRankTitleMatchesAboveDescriptionMatches() {
+        List<Long> ids = ids(index.search("отчет", 10));
+        assertEquals(List.of(1L, 2L), ids);
+    }
+
+    @Test
+    void shouldMatchByPrefixAndRequireAllWords() {
+        assertEquals(List.of(3L), ids(index.search("обнов библ", 10)));
+        assertEquals(List.of(2L), ids(index.search("ОШИБ экспорт", 10)));
+        assertTrue(index.search("отчет библиотек", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void shouldApplyUpdatesAndRemovals() {
+        index.index(task(1L, "Подготовить презентацию", "Слайды"));
+        assertEquals(List.of(2L), ids(index.search("отчет", 10)));
+        assertEquals(List.of(1L), ids(index.search("презентац", 10)));
+
+        index.remove(2L);
+        assertTrue(index.search("ошибка", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void shouldIndexIdsOutOfOrder() {
+        index.index(task(10L, "Отчет по продажам", null));
+        index.index(task(5L, "Отчет по закупкам", null));
+        index.index(task(7L, "Отчет по складу", null));
+        index.index(task(10L, "Отчет по продажам", null));
+
+        assertEquals(List.of(1L, 5L, 7L, 10L, 2L), ids(index.search("отчет", 10)));
+        index.remove(5L);
+        assertEquals(List.of(1L, 7L, 10L, 2L), ids(index.search("отчет", 10)));
+    }
+
+    @Test
+    void shouldRebuildFromRepositoryInBatches() {
+        List<TaskEntity> full = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            full.add(task(id, "Задача " + id, null));
+        }
+        when(taskRepository.findTasks(any(TaskQuery.class)))
+                .thenReturn(full)
+                .thenReturn(List.of(task(1001L, "Последняя задача", "Итог")));
+
+        index.rebuild();
+
+        assertEquals(1001, index.size());
+        assertEquals(List.of(1001L), ids(index.search("последн", 10)));
+        assertEquals(5, index.search("задача", 5).size());
+        verify(taskRepository, times(2)).findTasks(any(TaskQuery.class));
+    }
+
+    private static TaskEntity task(Long id, String title, String description) {
+        return new TaskEntity(id, title, description, Status.PENDING, Priority.MEDIUM, new ArrayList<>(), new ArrayList<>());
+    }
+
+    private static List<Long> ids(List<TaskSummary> summaries) {
+        return summaries.stream().map(TaskSummary::getId).toList();
+    }
+}
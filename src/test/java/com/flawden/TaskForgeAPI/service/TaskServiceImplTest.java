@@ -1,24 +1,44 @@
 package com.flawden.TaskForgeAPI.service;
 
+import com.flawden.TaskForgeAPI.dto.CursorPage;
 import com.flawden.TaskForgeAPI.dto.task.Priority;
 import com.flawden.TaskForgeAPI.dto.task.Status;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeEvent;
+import com.flawden.TaskForgeAPI.dto.task.TaskChangeType;
+import com.flawden.TaskForgeAPI.dto.task.AssignmentStatus;
 import com.flawden.TaskForgeAPI.dto.task.Task;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignment;
+import com.flawden.TaskForgeAPI.dto.task.TaskAssignmentResult;
+import com.flawden.TaskForgeAPI.dto.task.TaskFilter;
+import com.flawden.TaskForgeAPI.dto.task.TaskSort;
 import com.flawden.TaskForgeAPI.dto.user.Role;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
+import com.flawden.TaskForgeAPI.exception.TaskNotFoundException;
+import com.flawden.TaskForgeAPI.exception.TaskVersionMismatchException;
 import com.flawden.TaskForgeAPI.exception.UserAlreadyHaveThisTaskException;
 import com.flawden.TaskForgeAPI.mapper.TaskMapper;
 import com.flawden.TaskForgeAPI.model.TaskEntity;
 import com.flawden.TaskForgeAPI.model.UserEntity;
+import com.flawden.TaskForgeAPI.repository.TaskQuery;
 import com.flawden.TaskForgeAPI.repository.TaskRepository;
+import com.flawden.TaskForgeAPI.repository.TaskTombstoneRepository;
 import com.flawden.TaskForgeAPI.repository.UserRepository;
+import com.flawden.TaskForgeAPI.service.cache.EntityCache;
+import com.flawden.TaskForgeAPI.service.coalescing.SingleFlight;
 import com.flawden.TaskForgeAPI.service.impl.TaskServiceImpl;
+import com.flawden.TaskForgeAPI.service.search.TaskSearchIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -34,12 +54,30 @@ class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private EntityCache entityCache;
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -59,8 +97,8 @@ class TaskServiceImplTest {
     void testGetTasksWithPagination() {
         TaskEntity taskEntity = new TaskEntity(1L, "Задача 1", "Описание задачи 1", Status.PENDING, Priority.MEDIUM, new ArrayList<>(), new ArrayList<>());
         Task task = new Task(1L, "Задача 1", "Описание задачи 1", "PENDING", "MEDIUM", new ArrayList<>(), new ArrayList<>());
-        Pageable pageable = PageRequest.of(0, 5);
-        when(taskRepository.findAll(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(taskEntity)));
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("id"));
+        when(taskRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(Collections.singletonList(taskEntity)));
         when(taskMapper.mapTaskEntityToTask(any(TaskEntity.class))).thenReturn(task);
         List<Task> tasks = taskService.getTasksWithPagination(0, 5);
         assertNotNull(tasks);
@@ -92,6 +130,7 @@ class TaskServiceImplTest {
         assertNotNull(result);
         assertEquals("Новая задача", result.getTitle());
         assertEquals("PENDING", result.getStatus());
+        verify(taskSearchIndex).index(taskEntity);
     }
 
     @Test
@@ -100,18 +139,47 @@ class TaskServiceImplTest {
         Task task = new Task(taskId, "Обновленная задача", "Описание обновленной задачи", "IN_PROGRESS", "HIGH", new ArrayList<>(), new ArrayList<>());
         TaskEntity existingTaskEntity = new TaskEntity(taskId, "Задача 1", "Описание задачи 1", Status.PENDING, Priority.MEDIUM, new ArrayList<>(), new ArrayList<>());
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTaskEntity));
-        taskService.updateTask(task, taskId);
+        taskService.updateTask(task, taskId, null);
         assertEquals("Обновленная задача", existingTaskEntity.getTitle());
         assertEquals("IN_PROGRESS", existingTaskEntity.getStatus().name());
         assertEquals("HIGH", existingTaskEntity.getPriority().name());
+        verify(taskSearchIndex).index(existingTaskEntity);
+    }
+
+    @Test
+    void testUpdateTaskWithStaleVersion() {
+        Long taskId = 1L;
+        Task task = new Task(taskId, "Обновленная задача", "Описание", "IN_PROGRESS", "HIGH", new ArrayList<>(), new ArrayList<>());
+        TaskEntity existingTaskEntity = new TaskEntity(taskId, "Задача 1", "Описание задачи 1", Status.PENDING, Priority.MEDIUM, new ArrayList<>(), new ArrayList<>());
+        existingTaskEntity.setVersion(3);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTaskEntity));
+        assertThrows(TaskVersionMismatchException.class, () -> taskService.updateTask(task, taskId, 2L));
+        assertEquals("Задача 1", existingTaskEntity.getTitle());
+        verify(taskRepository, never()).save(any());
     }
 
     @Test
     void testDeleteTask() {
         Long taskId = 1L;
+        when(taskRepository.existsById(taskId)).thenReturn(true);
         doNothing().when(taskRepository).deleteById(taskId);
         taskService.deleteTask(taskId);
         verify(taskRepository, times(1)).deleteById(taskId);
+        verify(entityCache).evict(EntityCache.TASKS, taskId);
+        verify(entityCache, never()).evict(eq(EntityCache.USERS), anyCollection());
+        verify(entityCache, never()).evictAll(anyString());
+        verify(taskTombstoneRepository).save(argThat(tombstone -> taskId.equals(tombstone.getTaskId())));
+        verify(taskSearchIndex).remove(taskId);
+        verify(eventPublisher).publishEvent(TaskChangeEvent.task(TaskChangeType.TASK_DELETED, taskId));
+    }
+
+    @Test
+    void testDeleteTaskNotFound() {
+        when(taskRepository.existsById(1L)).thenReturn(false);
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(1L));
+        verify(taskRepository, never()).deleteById(any());
+        verify(taskTombstoneRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(TaskChangeEvent.class));
     }
 
     @Test
@@ -130,26 +198,95 @@ class TaskServiceImplTest {
     void testAssignTaskToUser() {
         Long userId = 1L;
         Long taskId = 1L;
-        UserEntity userEntity = new UserEntity(1L, "user@example.com", "password", "John", "Doe", Role.USER, new ArrayList<>());
-        TaskEntity taskEntity = new TaskEntity(1L, "Задача 1", "Описание задачи 1", Status.PENDING, Priority.MEDIUM, new ArrayList<>(), new ArrayList<>());
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskEntity));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(userEntity));
+        when(taskRepository.existsById(taskId)).thenReturn(true);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(taskRepository.insertAssignmentsIfAbsent(List.of(new TaskAssignment(userId, taskId)))).thenReturn(new boolean[]{true});
         taskService.assignTaskToUser(userId, taskId);
-        assertTrue(userEntity.getTaskEntities().contains(taskEntity));
-        verify(userRepository, times(1)).save(userEntity);
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, never()).save(any(UserEntity.class));
+        verify(taskRepository).addToExecutorCount(taskId, 1);
     }
 
     @Test
     void testAssignTaskToUser_AlreadyAssigned() {
         Long userId = 1L;
         Long taskId = 1L;
-        UserEntity userEntity = new UserEntity(1L, "user@example.com", "password", "John", "Doe", Role.USER, new ArrayList<>());
-        TaskEntity taskEntity = new TaskEntity(1L, "Задача 1", "Описание задачи 1", Status.PENDING, Priority.MEDIUM, new ArrayList<>(), new ArrayList<>());
-        userEntity.getTaskEntities().add(taskEntity);
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskEntity));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(userEntity));
+        when(taskRepository.existsById(taskId)).thenReturn(true);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(taskRepository.insertAssignmentsIfAbsent(List.of(new TaskAssignment(userId, taskId)))).thenReturn(new boolean[]{false});
         assertThrows(UserAlreadyHaveThisTaskException.class, () -> taskService.assignTaskToUser(userId, taskId));
+        verify(taskRepository, never()).addToExecutorCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void testAssignTaskToUser_TaskNotFound() {
+        when(taskRepository.existsById(1L)).thenReturn(false);
+        assertThrows(TaskNotFoundException.class, () -> taskService.assignTaskToUser(1L, 1L));
+    }
+
+    @Test
+    void testAssignTasksToUsers() {
+        List<TaskAssignment> assignments = List.of(
+                new TaskAssignment(1L, 10L),
+                new TaskAssignment(1L, 11L),
+                new TaskAssignment(2L, 10L),
+                new TaskAssignment(3L, 99L));
+        when(taskRepository.findExistingIds(List.of(10L, 11L, 99L))).thenReturn(List.of(10L, 11L));
+        when(userRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
+        when(taskRepository.insertAssignmentsIfAbsent(List.of(new TaskAssignment(1L, 10L), new TaskAssignment(1L, 11L))))
+                .thenReturn(new boolean[]{true, false});
+
+        List<TaskAssignmentResult> results = taskService.assignTasksToUsers(assignments);
+
+        assertEquals(List.of(AssignmentStatus.ASSIGNED, AssignmentStatus.ALREADY_ASSIGNED,
+                        AssignmentStatus.USER_NOT_FOUND, AssignmentStatus.TASK_NOT_FOUND),
+                results.stream().map(TaskAssignmentResult::getStatus).toList());
+        verify(taskRepository).addToExecutorCount(10L, 1);
+        verify(taskRepository, never()).addToExecutorCount(eq(11L), anyInt());
     }
-}
 
+    @Test
+    void testGetTasksAfterCursor_FirstPageReturnsNextCursor() {
+        TaskEntity first = new TaskEntity(1L, "Задача 1", "Описание задачи 1", Status.PENDING, Priority.MEDIUM, new ArrayList<>(), new ArrayList<>());
+        TaskEntity second = new TaskEntity(2L, "Задача 2", "Описание задачи 2", Status.PENDING, Priority.HIGH, new ArrayList<>(), new ArrayList<>());
+        when(taskRepository.findTasks(TaskQuery.after(TaskFilter.NONE, TaskSort.ID, null, null, 2))).thenReturn(List.of(first, second));
+        when(taskMapper.mapTaskEntityToTask(first)).thenReturn(new Task());
+        CursorPage<Task> page = taskService.getTasksAfterCursor("", 1, TaskSort.ID, TaskFilter.NONE);
+        assertEquals(1, page.getItems().size());
+        assertNotNull(page.getNextCursor());
 
+        when(taskRepository.findTasks(TaskQuery.after(TaskFilter.NONE, TaskSort.ID, null, 1L, 2))).thenReturn(List.of(second));
+        when(taskMapper.mapTaskEntityToTask(second)).thenReturn(new Task());
+        CursorPage<Task> next = taskService.getTasksAfterCursor(page.getNextCursor(), 1, TaskSort.ID, TaskFilter.NONE);
+        assertEquals(1, next.getItems().size());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testGetTasksAfterCursor_ByPriority() {
+        TaskEntity first = new TaskEntity(7L, "Задача 7", "Описание задачи 7", Status.PENDING, Priority.LOW, new ArrayList<>(), new ArrayList<>());
+        TaskEntity second = new TaskEntity(3L, "Задача 3", "Описание задачи 3", Status.PENDING, Priority.MEDIUM, new ArrayList<>(), new ArrayList<>());
+        TaskFilter filter = new TaskFilter(null, Status.PENDING, null);
+        when(taskRepository.findTasks(TaskQuery.after(filter, TaskSort.PRIORITY, null, null, 2))).thenReturn(List.of(first, second));
+        CursorPage<Task> page = taskService.getTasksAfterCursor(null, 1, TaskSort.PRIORITY, filter);
+
+        when(taskRepository.findTasks(TaskQuery.after(filter, TaskSort.PRIORITY, Priority.LOW, 7L, 2))).thenReturn(List.of(second));
+        CursorPage<Task> next = taskService.getTasksAfterCursor(page.getNextCursor(), 1, TaskSort.PRIORITY, filter);
+        assertEquals(1, next.getItems().size());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testGetTasksAfterCursor_RejectsInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> taskService.getTasksAfterCursor("not a cursor!", 5, TaskSort.ID, TaskFilter.NONE));
+    }
+
+    @Test
+    void testGetTasksAfterCursor_RejectsCursorForOtherSort() {
+        TaskEntity first = new TaskEntity(1L, "Задача 1", "Описание задачи 1", Status.PENDING, Priority.MEDIUM, new ArrayList<>(), new ArrayList<>());
+        TaskEntity second = new TaskEntity(2L, "Задача 2", "Описание задачи 2", Status.PENDING, Priority.HIGH, new ArrayList<>(), new ArrayList<>());
+        when(taskRepository.findTasks(TaskQuery.after(TaskFilter.NONE, TaskSort.ID, null, null, 2))).thenReturn(List.of(first, second));
+        String cursor = taskService.getTasksAfterCursor(null, 1, TaskSort.ID, TaskFilter.NONE).getNextCursor();
+        assertThrows(InvalidCursorException.class, () -> taskService.getTasksAfterCursor(cursor, 1, TaskSort.PRIORITY, TaskFilter.NONE));
+    }
+}
@@ -1,18 +1,29 @@
 package com.flawden.TaskForgeAPI.service;
 
+import com.flawden.TaskForgeAPI.config.security.PrincipalCache;
+import com.flawden.TaskForgeAPI.dto.CursorPage;
 import com.flawden.TaskForgeAPI.dto.user.Role;
 import com.flawden.TaskForgeAPI.dto.user.UpdateUser;
 import com.flawden.TaskForgeAPI.dto.user.User;
+import com.flawden.TaskForgeAPI.dto.user.UserSort;
+import com.flawden.TaskForgeAPI.exception.InvalidCursorException;
 import com.flawden.TaskForgeAPI.exception.UserNotFoundException;
 import com.flawden.TaskForgeAPI.mapper.UserMapper;
 import com.flawden.TaskForgeAPI.model.UserEntity;
+import com.flawden.TaskForgeAPI.repository.TaskRepository;
 import com.flawden.TaskForgeAPI.repository.UserRepository;
+import com.flawden.TaskForgeAPI.service.cache.EntityCache;
 import com.flawden.TaskForgeAPI.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,9 +36,18 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private EntityCache entityCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -37,18 +57,50 @@ public class UserServiceImplTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(userService, "maxListSize", 2);
         userEntity = new UserEntity(1L, "user@mail.ru", "password123", "John", "Doe", Role.USER, null);
         user = new User(1L, "user@mail.ru", "John", "Doe", "USER");
     }
 
     @Test
     public void testGetAllUsers() {
-        when(userRepository.findAll()).thenReturn(List.of(userEntity));
+        when(userRepository.findAllByOrderByIdAsc(Limit.of(3))).thenReturn(List.of(userEntity));
         when(userMapper.mapUserEntityToUser(userEntity)).thenReturn(user);
-        List<User> users = userService.getAllUsers();
+        CursorPage<User> users = userService.getAllUsers();
         assertNotNull(users);
+        assertEquals(1, users.getItems().size());
+        assertEquals("user@mail.ru", users.getItems().get(0).getEmail());
+        assertNull(users.getNextCursor());
+    }
+
+    @Test
+    public void testGetAllUsers_CapsResultAndReturnsCursor() {
+        UserEntity second = new UserEntity(2L, "second@mail.ru", "password123", "Jane", "Doe", Role.USER, null);
+        UserEntity third = new UserEntity(3L, "third@mail.ru", "password123", "Jack", "Doe", Role.USER, null);
+        when(userRepository.findAllByOrderByIdAsc(Limit.of(3))).thenReturn(List.of(userEntity, second, third));
+        CursorPage<User> users = userService.getAllUsers();
+        assertEquals(2, users.getItems().size());
+        assertNotNull(users.getNextCursor());
+
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3))).thenReturn(List.of(third));
+        CursorPage<User> rest = userService.getUsersAfterCursor(users.getNextCursor(), 2);
+        assertEquals(1, rest.getItems().size());
+        assertNull(rest.getNextCursor());
+    }
+
+    @Test
+    public void testGetUsersAfterCursor_RejectsInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> userService.getUsersAfterCursor("bm90LWFuLWlk", 2));
+    }
+
+    @Test
+    public void testGetUsersWithPagination_UsesDatabasePageAndSort() {
+        PageRequest expected = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "email").and(Sort.by(Sort.Direction.ASC, "id")));
+        when(userRepository.findAllBy(expected)).thenReturn(new SliceImpl<>(List.of(userEntity)));
+        when(userMapper.mapUserEntityToUser(userEntity)).thenReturn(user);
+        List<User> users = userService.getUsersWithPagination(1, 50, UserSort.EMAIL, Sort.Direction.DESC);
         assertEquals(1, users.size());
-        assertEquals("user@mail.ru", users.get(0).getEmail());
+        verify(userRepository, never()).findAll();
     }
 
     @Test
@@ -83,6 +135,8 @@ public class UserServiceImplTest {
         userService.updateUser(updateUser, 1L);
         verify(userRepository, times(1)).save(userEntity);
         assertEquals("john.doe@example.com", userEntity.getEmail());
+        verify(principalCache).evict("user@mail.ru");
+        verify(principalCache).evict("john.doe@example.com");
     }
 
     @Test
@@ -98,6 +152,15 @@ public class UserServiceImplTest {
         verify(userRepository, times(1)).deleteById(1L);
     }
 
+    @Test
+    public void testDeleteUser_EvictsCachedPrincipal() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+        userService.deleteUser(1L);
+        verify(principalCache).evict("user@mail.ru");
+        verify(taskRepository).removeExecutorFromCounts(1L);
+        verify(userRepository, times(1)).deleteById(1L);
+    }
+
     @Test
     public void testGetUserByUsername() {
         when(userRepository.findByEmail("user@mail.ru")).thenReturn(Optional.of(userEntity));